@@ -0,0 +1,110 @@
+package bookrepo.cache;
+
+import bookrepo.dto.book.BookDto;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+@Component
+public class BookCache implements MeterBinder {
+    public static final String NAME = "books";
+    private static final int ENTRY_OVERHEAD = 256;
+    private static final int CATEGORY_ID_WEIGHT = 32;
+
+    private final Cache<Long, BookDto> books;
+    private final Duration replicaLag;
+
+    public BookCache(@Value("${book.cache.max-weight:67108864}") long maxWeight,
+                     @Value("${book.datasource.lag-window:2s}") Duration replicaLag) {
+        this.replicaLag = replicaLag;
+        this.books = Caffeine.newBuilder()
+                .maximumWeight(maxWeight)
+                .weigher(BookCache::weigh)
+                .recordStats()
+                .build();
+    }
+
+    public BookDto get(Long id, Function<Long, BookDto> loader) {
+        return books.get(id, loader);
+    }
+
+    public BookDto getIfPresent(Long id) {
+        return books.getIfPresent(id);
+    }
+
+    public Map<Long, BookDto> getAll(Collection<Long> ids,
+                                     Function<Set<? extends Long>, Map<Long, BookDto>> loader) {
+        return books.getAll(ids, loader);
+    }
+
+    public void evict(Long id) {
+        books.invalidate(id);
+        afterCommit(() -> books.invalidate(id));
+    }
+
+    public void evictByCategoryId(Long categoryId) {
+        Runnable eviction = () -> books.asMap().values().removeIf(book ->
+                book.getCategoryIds() != null && book.getCategoryIds().contains(categoryId));
+        eviction.run();
+        afterCommit(eviction);
+    }
+
+    public CacheStats stats() {
+        return books.stats();
+    }
+
+    public long size() {
+        return books.estimatedSize();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, books, NAME);
+    }
+
+    static int weigh(Long id, BookDto book) {
+        int chars = length(book.getTitle()) + length(book.getAuthor()) + length(book.getIsbn())
+                + length(book.getDescription()) + length(book.getCoverImage());
+        int categories = book.getCategoryIds() == null ? 0 : book.getCategoryIds().size();
+        return ENTRY_OVERHEAD + 2 * chars + CATEGORY_ID_WEIGHT * categories;
+    }
+
+    private static int length(String value) {
+        return value == null ? 0 : value.length();
+    }
+
+    private void afterCommit(Runnable eviction) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(
+                    new TransactionSynchronization() {
+                        @Override
+                        public void afterCommit() {
+                            eviction.run();
+                            evictAgainAfterReplicaLag(eviction);
+                        }
+                    });
+        }
+    }
+
+    // A read served by a lagging replica right after the commit may cache the old row again.
+    private void evictAgainAfterReplicaLag(Runnable eviction) {
+        if (!replicaLag.isZero()) {
+            CompletableFuture.runAsync(eviction, CompletableFuture.delayedExecutor(
+                    replicaLag.toMillis(), TimeUnit.MILLISECONDS));
+        }
+    }
+}
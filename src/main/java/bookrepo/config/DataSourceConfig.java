@@ -0,0 +1,75 @@
+package bookrepo.config;
+
+import bookrepo.datasource.ReadWriteRoutingDataSource;
+import bookrepo.datasource.ReadYourWritesGuard;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import javax.sql.DataSource;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.PhysicalConnectionHandlingMode;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+@Configuration
+@ConditionalOnProperty("book.datasource.replica-urls")
+public class DataSourceConfig {
+    private static final String REPLICA_POOL = "replica-";
+
+    @Bean
+    public DataSource dataSource(
+            DataSourceProperties properties,
+            @Value("${book.datasource.replica-urls}") String[] replicaUrls,
+            @Value("${book.datasource.replica-username:${spring.datasource.username:}}")
+            String replicaUsername,
+            @Value("${book.datasource.replica-password:${spring.datasource.password:}}")
+            String replicaPassword,
+            ReadYourWritesGuard readYourWritesGuard,
+            MeterRegistry meterRegistry) {
+        HikariDataSource primary = properties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .build();
+        configurePool(primary, ReadWriteRoutingDataSource.PRIMARY, meterRegistry);
+
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        for (int i = 0; i < replicaUrls.length; i++) {
+            HikariDataSource replica = DataSourceBuilder.create()
+                    .type(HikariDataSource.class)
+                    .driverClassName(properties.determineDriverClassName())
+                    .url(replicaUrls[i].trim())
+                    .username(replicaUsername)
+                    .password(replicaPassword)
+                    .build();
+            replica.setReadOnly(true);
+            configurePool(replica, REPLICA_POOL + i, meterRegistry);
+            replicas.put(replica.getPoolName(), replica);
+        }
+        // Hibernate and JpaTransactionManager take a connection before the transaction's
+        // read-only flag is published, so the physical connection has to be fetched lazily.
+        return new LazyConnectionDataSourceProxy(new ReadWriteRoutingDataSource(
+                primary, replicas, readYourWritesGuard, meterRegistry));
+    }
+
+    // Open-in-view keeps the session for the whole request and Spring's default handling
+    // holds its connection as long, so a write after a read-only transaction would keep
+    // the replica picked first. Releasing after each transaction routes each on its own.
+    @Bean
+    public HibernatePropertiesCustomizer connectionHandlingCustomizer() {
+        return properties -> properties.put(AvailableSettings.CONNECTION_HANDLING,
+                PhysicalConnectionHandlingMode.DELAYED_ACQUISITION_AND_RELEASE_AFTER_TRANSACTION);
+    }
+
+    private void configurePool(HikariDataSource pool, String name,
+                               MeterRegistry meterRegistry) {
+        pool.setPoolName(name);
+        pool.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+    }
+}
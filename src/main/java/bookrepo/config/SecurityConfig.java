@@ -2,8 +2,12 @@ package bookrepo.config;
 
 import static org.springframework.security.config.Customizer.withDefaults;
 
+import bookrepo.security.BoundedPasswordEncoder;
 import bookrepo.security.JwtAuthenticationFilter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -26,8 +30,14 @@ public class SecurityConfig {
     private final JwtAuthenticationFilter jwtAuthenticationFilter;
 
     @Bean
-    public PasswordEncoder getPasswordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder getPasswordEncoder(
+            @Value("${book.password-hashing.pool-size:0}") int poolSize,
+            @Value("${book.password-hashing.queue-capacity:64}") int queueCapacity,
+            @Value("${book.password-hashing.timeout:5s}") Duration timeout,
+            MeterRegistry meterRegistry) {
+        int workers = poolSize > 0 ? poolSize : Runtime.getRuntime().availableProcessors();
+        return new BoundedPasswordEncoder(new BCryptPasswordEncoder(), workers,
+                queueCapacity, timeout, meterRegistry);
     }
 
     @Bean
@@ -1,5 +1,6 @@
 package bookrepo.controller;
 
+import bookrepo.dto.user.RefreshTokenRequestDto;
 import bookrepo.dto.user.UserLoginRequestDto;
 import bookrepo.dto.user.UserLoginResponseDto;
 import bookrepo.dto.user.UserRegistrationRequestDto;
@@ -11,9 +12,13 @@ import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
 
 @RestController
@@ -38,5 +43,22 @@ public class AuthenticationController {
     public UserLoginResponseDto login(@RequestBody @Valid UserLoginRequestDto requestDto) {
         return authenticationService.authenticate(requestDto);
     }
+
+    @PostMapping("/refresh")
+    @Operation(summary = "Refresh tokens", description =
+            "Exchanges a refresh token for a new access token and a new refresh token")
+    public UserLoginResponseDto refresh(@RequestBody @Valid RefreshTokenRequestDto requestDto) {
+        return authenticationService.refresh(requestDto.getRefreshToken());
+    }
+
+    @PostMapping("/logout")
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    @Operation(summary = "Logout a user", description =
+            "Revokes the refresh token and the access token sent with the request")
+    public void logout(@RequestBody @Valid RefreshTokenRequestDto requestDto,
+                       @RequestHeader(value = HttpHeaders.AUTHORIZATION, required = false)
+                       String authorization) {
+        authenticationService.logout(requestDto.getRefreshToken(), authorization);
+    }
 }
 
@@ -1,17 +1,41 @@
 package bookrepo.controller;
 
+import bookrepo.cover.CoverFileWriter;
+import bookrepo.dto.book.BestsellerDto;
 import bookrepo.dto.book.BookDto;
+import bookrepo.dto.book.BookFacetedSearchDto;
+import bookrepo.dto.book.BookImportReportDto;
 import bookrepo.dto.book.BookSearchParameters;
+import bookrepo.dto.book.BookSuggestionDto;
 import bookrepo.dto.book.CreateBookRequestDto;
+import bookrepo.dto.page.CursorPageDto;
+import bookrepo.dto.page.ScrollRequestDto;
+import bookrepo.exception.DataProcessingException;
+import bookrepo.exporter.BookExportFormat;
+import bookrepo.importer.BookImportFormat;
+import bookrepo.recommendation.BestsellerWindow;
+import bookrepo.service.BookChangeFeedService;
+import bookrepo.service.BookExportService;
+import bookrepo.service.BookImportService;
 import bookrepo.service.BookService;
+import bookrepo.service.CoverImageService;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.List;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -19,16 +43,28 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 @RestController
 @RequestMapping("/books")
 @RequiredArgsConstructor
 @Tag(name = "Book Controller", description = "Endpoints for managing books")
 public class BookController {
+    public static final String CATALOG_VERSION_HEADER = "X-Catalog-Version";
+    private static final byte NEW_LINE = '\n';
     private final BookService bookService;
+    private final BookImportService bookImportService;
+    private final BookExportService bookExportService;
+    private final BookChangeFeedService bookChangeFeedService;
+    private final CoverImageService coverImageService;
+    private final CoverFileWriter coverFileWriter;
+    private final ObjectMapper objectMapper;
 
     @PreAuthorize("hasAuthority('USER')")
     @GetMapping
@@ -37,13 +73,57 @@ public class BookController {
         return bookService.findAll(pageable);
     }
 
+    @PreAuthorize("hasAuthority('USER')")
+    @GetMapping("/scroll")
+    @Operation(summary = "Scroll through books", description = "Returns the next slice of "
+            + "books after the given cursor, optionally filtered by search parameters")
+    public CursorPageDto<BookDto> scroll(BookSearchParameters searchParams,
+                                         ScrollRequestDto scrollRequest) {
+        return bookService.scroll(searchParams, scrollRequest);
+    }
+
     @PreAuthorize("hasAuthority('USER')")
     @GetMapping("/{id}")
-    @Operation(summary = "Get book by ID", description = "Returns a book by its unique identifier")
-    public BookDto getBookById(@PathVariable Long id) {
+    @Operation(summary = "Get book by ID", description = "Returns a book by its unique "
+            + "identifier. Responds with 304 when If-None-Match carries the current ETag")
+    public BookDto getBookById(@PathVariable Long id, WebRequest webRequest) {
+        if (webRequest.checkNotModified(bookService.getETag(id))) {
+            return null;
+        }
         return bookService.getById(id);
     }
 
+    @PreAuthorize("hasAuthority('USER')")
+    @GetMapping("/{id}/cover")
+    @Operation(summary = "Get book cover", description = "Serves the book's cover image from "
+            + "a local disk cache, fetching it from the origin on first use. Supports byte "
+            + "range and conditional requests")
+    public void getBookCover(@PathVariable Long id, HttpServletRequest request,
+                             HttpServletResponse response) throws IOException {
+        coverFileWriter.write(coverImageService.getCover(id), request, response);
+    }
+
+    @PreAuthorize("hasAuthority('USER')")
+    @GetMapping("/bestsellers")
+    @Operation(summary = "Get best sellers", description = "Returns the most sold books in "
+            + "the last hour, day or week, overall or within one category. Copy counts are "
+            + "streaming estimates and may slightly overstate the tail of the list")
+    public List<BestsellerDto> getBestsellers(
+            @RequestParam(defaultValue = "DAY") BestsellerWindow window,
+            @RequestParam(required = false) Long categoryId,
+            @RequestParam(defaultValue = "10") int limit) {
+        return bookService.findBestsellers(window, categoryId, limit);
+    }
+
+    @PreAuthorize("hasAuthority('USER')")
+    @GetMapping("/{id}/related")
+    @Operation(summary = "Get related books", description = "Returns the books most often "
+            + "bought together with the given book, most frequent first")
+    public List<BookDto> getRelatedBooks(@PathVariable Long id,
+                                         @RequestParam(defaultValue = "10") int limit) {
+        return bookService.findRelated(id, limit);
+    }
+
     @PreAuthorize("hasAuthority('USER')")
     @GetMapping("/search")
     @Operation(summary = "Search books", description = "Search books by title, "
@@ -52,6 +132,104 @@ public class BookController {
         return bookService.search(searchParams);
     }
 
+    @PreAuthorize("hasAuthority('USER')")
+    @GetMapping("/search/faceted")
+    @Operation(summary = "Search books with facets", description = "Search books by title, "
+            + "author, or other parameters and count the hits per category, author "
+            + "and price band")
+    public BookFacetedSearchDto searchBooksWithFacets(BookSearchParameters searchParams) {
+        return bookService.searchWithFacets(searchParams);
+    }
+
+    @PreAuthorize("hasAuthority('USER')")
+    @GetMapping(value = "/search", params = "fuzzy")
+    @Operation(summary = "Fuzzy search books", description = "Returns books whose title or "
+            + "author is similar to the query, tolerating typos, most similar first")
+    public List<BookDto> searchBooksFuzzy(@RequestParam String fuzzy,
+                                          @RequestParam(defaultValue = "10") int limit) {
+        return bookService.searchFuzzy(fuzzy, limit);
+    }
+
+    @PreAuthorize("hasAuthority('USER')")
+    @GetMapping(value = "/search/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(summary = "Stream search results", description = "Search books by title, "
+            + "author, or other parameters and stream the matches as newline-delimited JSON")
+    public ResponseEntity<StreamingResponseBody> searchBooksStream(
+            BookSearchParameters searchParams) {
+        StreamingResponseBody body = outputStream ->
+                bookService.searchStream(searchParams, book -> {
+                    try {
+                        outputStream.write(objectMapper.writeValueAsBytes(book));
+                        outputStream.write(NEW_LINE);
+                    } catch (IOException e) {
+                        throw new DataProcessingException("Can't write search result", e);
+                    }
+                });
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+
+    @PreAuthorize("hasAuthority('USER')")
+    @GetMapping(value = "/changes", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(summary = "Stream book changes", description = "Streams books changed or "
+            + "deleted after the given catalog version as newline-delimited JSON. The "
+            + CATALOG_VERSION_HEADER + " header holds the version to pass as since next time")
+    public ResponseEntity<StreamingResponseBody> getBookChanges(@RequestParam long since) {
+        long until = bookChangeFeedService.getSyncVersion(since);
+        StreamingResponseBody body = outputStream ->
+                bookChangeFeedService.streamChanges(since, until, outputStream);
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .header(CATALOG_VERSION_HEADER, String.valueOf(until))
+                .body(body);
+    }
+
+    @PreAuthorize("hasAuthority('USER')")
+    @GetMapping("/search/ranked")
+    @Operation(summary = "Full-text search books", description = "Returns a paginated list "
+            + "of books matching the query in title, author or description, most relevant first")
+    public Page<BookDto> searchBooksRanked(@RequestParam String query, Pageable pageable) {
+        return bookService.searchRanked(query, pageable);
+    }
+
+    @PreAuthorize("hasAuthority('USER')")
+    @GetMapping("/suggest")
+    @Operation(summary = "Suggest completions", description = "Returns the most popular "
+            + "titles and authors starting with the given prefix")
+    public List<BookSuggestionDto> suggest(@RequestParam String prefix,
+                                           @RequestParam(defaultValue = "10") int limit) {
+        return bookService.suggest(prefix, limit);
+    }
+
+    @PreAuthorize("hasAuthority('ADMIN')")
+    @GetMapping("/export")
+    @Operation(summary = "Export all books", description = "Streams every book with its "
+            + "category ids as CSV or newline-delimited JSON")
+    public ResponseEntity<StreamingResponseBody> exportBooks(
+            @RequestParam(defaultValue = "NDJSON") BookExportFormat format) {
+        StreamingResponseBody body = outputStream ->
+                bookExportService.export(format, outputStream);
+        return ResponseEntity.ok()
+                .contentType(format.getMediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename("books." + format.getExtension())
+                        .build()
+                        .toString())
+                .body(body);
+    }
+
+    @PreAuthorize("hasAuthority('ADMIN')")
+    @PostMapping(value = "/import",
+            consumes = {BookImportFormat.CSV_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    @Operation(summary = "Bulk import books", description = "Streams books from a CSV or "
+            + "NDJSON body, inserts them in batches and reports rows that were rejected")
+    public BookImportReportDto importBooks(
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+            InputStream body) {
+        return bookImportService.importBooks(body, BookImportFormat.of(contentType));
+    }
+
     @PreAuthorize("hasAuthority('ADMIN')")
     @PostMapping
     @ResponseStatus(HttpStatus.CREATED)
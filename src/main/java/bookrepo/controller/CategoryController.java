@@ -2,12 +2,13 @@ package bookrepo.controller;
 
 import bookrepo.dto.book.BookDtoWithoutCategoryIds;
 import bookrepo.dto.category.CategoryDto;
+import bookrepo.dto.page.CursorPageDto;
+import bookrepo.dto.page.ScrollRequestDto;
 import bookrepo.service.BookService;
 import bookrepo.service.CategoryService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
-import java.util.List;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -22,6 +23,7 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 @RestController
 @RequestMapping("/categories")
@@ -43,11 +45,24 @@ public class CategoryController {
     @GetMapping
     @PreAuthorize("hasAuthority('USER')")
     @Operation(summary = "Get all categories",
-            description = "Returns paginated list of categories. Requires USER role.")
-    public Page<CategoryDto> getAll(Pageable pageable) {
+            description = "Returns paginated list of categories. Responds with 304 when "
+                    + "If-None-Match carries the current ETag. Requires USER role.")
+    public Page<CategoryDto> getAll(Pageable pageable, WebRequest webRequest) {
+        if (webRequest.checkNotModified(categoryService.getPageETag(pageable))) {
+            return null;
+        }
         return categoryService.findAll(pageable);
     }
 
+    @GetMapping("/scroll")
+    @PreAuthorize("hasAuthority('USER')")
+    @Operation(summary = "Scroll through categories",
+            description = "Returns the next slice of categories after the given cursor. "
+                    + "Requires USER role.")
+    public CursorPageDto<CategoryDto> scroll(ScrollRequestDto scrollRequest) {
+        return categoryService.scroll(scrollRequest);
+    }
+
     @GetMapping("/{id}")
     @PreAuthorize("hasAuthority('USER')")
     @Operation(summary = "Get category by ID",
@@ -77,8 +92,14 @@ public class CategoryController {
     @GetMapping("/{id}/books")
     @PreAuthorize("hasAuthority('USER')")
     @Operation(summary = "Get books by category",
-            description = "Returns books linked to category. Requires USER role.")
-    public List<BookDtoWithoutCategoryIds> getBooksByCategoryId(@PathVariable Long id) {
-        return bookService.findAllByCategoryId(id);
+            description = "Returns the next slice of books linked to category after the "
+                    + "given cursor. Responds with 304 when If-None-Match carries the "
+                    + "current ETag of the slice. Requires USER role.")
+    public CursorPageDto<BookDtoWithoutCategoryIds> getBooksByCategoryId(
+            @PathVariable Long id, ScrollRequestDto scrollRequest, WebRequest webRequest) {
+        if (webRequest.checkNotModified(bookService.getCategoryPageETag(id, scrollRequest))) {
+            return null;
+        }
+        return bookService.findAllByCategoryId(id, scrollRequest);
     }
 }
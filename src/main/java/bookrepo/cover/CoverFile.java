@@ -0,0 +1,8 @@
+package bookrepo.cover;
+
+import java.nio.file.Path;
+import java.time.Instant;
+
+public record CoverFile(Path path, String contentType, long size, String etag,
+                        Instant lastModified) {
+}
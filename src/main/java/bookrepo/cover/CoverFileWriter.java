@@ -0,0 +1,100 @@
+package bookrepo.cover;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.List;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRange;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.ServletWebRequest;
+
+@Component
+public class CoverFileWriter {
+    public static final String CACHE_CONTROL = CacheControl.maxAge(Duration.ofDays(1))
+            .cachePublic()
+            .getHeaderValue();
+    private static final String CONTENT_TYPE_OPTIONS = "X-Content-Type-Options";
+    private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    public void write(CoverFile cover, HttpServletRequest request, HttpServletResponse response)
+            throws IOException {
+        response.setHeader(HttpHeaders.CACHE_CONTROL, CACHE_CONTROL);
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+        response.setHeader(CONTENT_TYPE_OPTIONS, "nosniff");
+        if (new ServletWebRequest(request, response).checkNotModified(cover.etag(),
+                cover.lastModified().toEpochMilli())) {
+            return;
+        }
+
+        long start = 0;
+        long end = cover.size() - 1;
+        List<HttpRange> ranges = requestedRanges(cover, request);
+        if (ranges.size() == 1) {
+            try {
+                start = ranges.get(0).getRangeStart(cover.size());
+                end = ranges.get(0).getRangeEnd(cover.size());
+            } catch (IllegalArgumentException e) {
+                start = cover.size();
+            }
+            if (start >= cover.size() || start > end) {
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + cover.size());
+                response.setStatus(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+                return;
+            }
+            response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+            response.setHeader(HttpHeaders.CONTENT_RANGE,
+                    "bytes " + start + "-" + end + "/" + cover.size());
+        }
+        long count = end - start + 1;
+        response.setContentType(cover.contentType());
+        response.setContentLengthLong(count);
+        if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))) {
+            request.setAttribute(SENDFILE_FILENAME, cover.path().toAbsolutePath().toString());
+            request.setAttribute(SENDFILE_START, start);
+            request.setAttribute(SENDFILE_END, end + 1);
+            return;
+        }
+        transfer(cover, start, count, response);
+    }
+
+    private List<HttpRange> requestedRanges(CoverFile cover, HttpServletRequest request) {
+        String range = request.getHeader(HttpHeaders.RANGE);
+        String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+        if (range == null || ifRange != null && !ifRange.equals(cover.etag())) {
+            return List.of();
+        }
+        try {
+            return HttpRange.parseRanges(range);
+        } catch (IllegalArgumentException e) {
+            return List.of();
+        }
+    }
+
+    private void transfer(CoverFile cover, long start, long count, HttpServletResponse response)
+            throws IOException {
+        try (FileChannel file = FileChannel.open(cover.path(), StandardOpenOption.READ)) {
+            WritableByteChannel output = Channels.newChannel(response.getOutputStream());
+            long position = start;
+            long remaining = count;
+            while (remaining > 0) {
+                long written = file.transferTo(position, remaining, output);
+                if (written <= 0) {
+                    break;
+                }
+                position += written;
+                remaining -= written;
+            }
+        }
+        response.flushBuffer();
+    }
+}
@@ -0,0 +1,330 @@
+package bookrepo.cover;
+
+import bookrepo.exception.CoverUnavailableException;
+import bookrepo.exception.DataProcessingException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.Inet6Address;
+import java.net.InetAddress;
+import java.net.URI;
+import java.net.UnknownHostException;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Slf4j
+@Component
+public class CoverImageCache {
+    private static final String DEFAULT_CONTENT_TYPE = "application/octet-stream";
+    // Only raster formats: an SVG served from the API origin could run script.
+    private static final Set<String> RASTER_CONTENT_TYPES = Set.of(
+            "image/jpeg", "image/png", "image/gif", "image/webp", "image/avif");
+    private static final String TEMP_SUFFIX = ".part";
+    private static final int KEY_HASH_BYTES = 8;
+    private static final int COPY_BUFFER_SIZE = 8192;
+    private static final Pattern CACHE_FILE =
+            Pattern.compile("\\d+-\\p{XDigit}{16}\\.(\\d+|part)");
+
+    private final Path directory;
+    private final long maxBytes;
+    private final Duration timeout;
+    private final Set<String> allowedHosts;
+    private final boolean allowPrivateAddresses;
+    private final Duration evictionGrace;
+    private final HttpClient httpClient;
+    private final Map<String, CoverFile> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private final Queue<EvictedCover> evicted = new ArrayDeque<>();
+    private final Map<String, CompletableFuture<CoverFile>> downloads =
+            new ConcurrentHashMap<>();
+    private final AtomicLong fileSequence = new AtomicLong();
+    private long totalBytes;
+
+    public CoverImageCache(
+            @Value("${book.cover.cache-dir:${java.io.tmpdir}/book-covers}") Path directory,
+            @Value("${book.cover.cache-max-bytes:268435456}") long maxBytes,
+            @Value("${book.cover.fetch-timeout:5s}") Duration timeout,
+            @Value("${book.cover.allowed-hosts:}") Set<String> allowedHosts,
+            @Value("${book.cover.allow-private-addresses:false}") boolean allowPrivateAddresses,
+            @Value("${book.cover.eviction-grace:PT1M}") Duration evictionGrace) {
+        this.directory = directory;
+        this.maxBytes = maxBytes;
+        this.timeout = timeout;
+        this.allowedHosts = allowedHosts.stream()
+                .map(host -> host.trim().toLowerCase(Locale.ROOT))
+                .filter(host -> !host.isEmpty())
+                .collect(Collectors.toUnmodifiableSet());
+        this.allowPrivateAddresses = allowPrivateAddresses;
+        if (this.allowedHosts.isEmpty()) {
+            log.warn("No cover hosts are allowed, set book.cover.allowed-hosts to serve covers");
+        }
+        this.evictionGrace = evictionGrace;
+        this.httpClient = HttpClient.newBuilder()
+                .connectTimeout(timeout)
+                .followRedirects(HttpClient.Redirect.NEVER)
+                .build();
+        clearDirectory();
+    }
+
+    public CoverFile get(Long bookId, String url) {
+        String key = bookId + "-" + hash(url);
+        synchronized (entries) {
+            CoverFile cached = entries.get(key);
+            if (cached != null) {
+                return cached;
+            }
+        }
+        CompletableFuture<CoverFile> download = new CompletableFuture<>();
+        CompletableFuture<CoverFile> running = downloads.putIfAbsent(key, download);
+        if (running != null) {
+            return await(running);
+        }
+        try {
+            CoverFile file = download(key, url);
+            store(bookId, key, file);
+            download.complete(file);
+            return file;
+        } catch (RuntimeException e) {
+            download.completeExceptionally(e);
+            throw e;
+        } finally {
+            downloads.remove(key);
+        }
+    }
+
+    public long getTotalBytes() {
+        synchronized (entries) {
+            return totalBytes;
+        }
+    }
+
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    /**
+     * Deletes evicted covers once their grace period is over. Tomcat opens a cover for
+     * sendfile only after the request returns, so an evicted file stays on disk long
+     * enough for responses that already point at it.
+     */
+    @Scheduled(fixedDelayString = "${book.cover.eviction-grace:PT1M}")
+    public void deleteEvicted() {
+        long deadline = System.nanoTime() - evictionGrace.toNanos();
+        List<Path> expired = new ArrayList<>();
+        synchronized (entries) {
+            while (!evicted.isEmpty() && evicted.peek().evictedAt() - deadline <= 0) {
+                expired.add(evicted.remove().path());
+            }
+        }
+        expired.forEach(this::deleteQuietly);
+    }
+
+    private CoverFile download(String key, String url) {
+        URI uri = toUri(url);
+        Path temp = directory.resolve(key + TEMP_SUFFIX);
+        try {
+            HttpResponse<InputStream> response = httpClient.send(
+                    HttpRequest.newBuilder(uri).timeout(timeout).GET().build(),
+                    HttpResponse.BodyHandlers.ofInputStream());
+            try (InputStream body = response.body()) {
+                String contentType = checkResponse(response, url);
+                long size = copy(body, temp, url);
+                // A fresh name per download, so a replaced file can be deleted lazily.
+                Path path = Files.move(temp,
+                        directory.resolve(key + "." + fileSequence.incrementAndGet()),
+                        StandardCopyOption.ATOMIC_MOVE);
+                return new CoverFile(path, contentType, size, "\"" + key + "-" + size + "\"",
+                        Instant.now());
+            }
+        } catch (IOException e) {
+            throw new CoverUnavailableException("Can't fetch cover from " + url, e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CoverUnavailableException("Interrupted while fetching cover from " + url,
+                    e);
+        } finally {
+            deleteQuietly(temp);
+        }
+    }
+
+    private String checkResponse(HttpResponse<InputStream> response, String url) {
+        if (response.statusCode() != 200) {
+            throw new CoverUnavailableException("Cover origin responded with "
+                    + response.statusCode() + " for " + url);
+        }
+        String contentType = response.headers().firstValue("Content-Type")
+                .map(value -> value.split(";", 2)[0].trim().toLowerCase(Locale.ROOT))
+                .orElse(DEFAULT_CONTENT_TYPE);
+        if (!RASTER_CONTENT_TYPES.contains(contentType)) {
+            throw new CoverUnavailableException("Cover origin returned " + contentType
+                    + " instead of a raster image for " + url);
+        }
+        OptionalLong length = response.headers().firstValueAsLong("Content-Length");
+        if (length.isPresent() && length.getAsLong() > maxBytes) {
+            throw new CoverUnavailableException("Cover of " + length.getAsLong()
+                    + " bytes exceeds the cache size for " + url);
+        }
+        return contentType;
+    }
+
+    private long copy(InputStream body, Path temp, String url) throws IOException {
+        byte[] buffer = new byte[COPY_BUFFER_SIZE];
+        long size = 0;
+        try (OutputStream output = Files.newOutputStream(temp)) {
+            int read;
+            while ((read = body.read(buffer)) != -1) {
+                size += read;
+                if (size > maxBytes) {
+                    throw new CoverUnavailableException("Cover exceeds the cache size of "
+                            + maxBytes + " bytes for " + url);
+                }
+                output.write(buffer, 0, read);
+            }
+        }
+        return size;
+    }
+
+    private void store(Long bookId, String key, CoverFile file) {
+        String bookPrefix = bookId + "-";
+        synchronized (entries) {
+            Iterator<Map.Entry<String, CoverFile>> iterator = entries.entrySet().iterator();
+            while (iterator.hasNext()) {
+                Map.Entry<String, CoverFile> entry = iterator.next();
+                boolean staleCover = entry.getKey().startsWith(bookPrefix);
+                if (staleCover || totalBytes + file.size() > maxBytes) {
+                    iterator.remove();
+                    totalBytes -= entry.getValue().size();
+                    evicted.add(new EvictedCover(entry.getValue().path(), System.nanoTime()));
+                }
+            }
+            entries.put(key, file);
+            totalBytes += file.size();
+        }
+        deleteEvicted();
+    }
+
+    private CoverFile await(CompletableFuture<CoverFile> download) {
+        try {
+            return download.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private URI toUri(String url) {
+        try {
+            URI uri = URI.create(url);
+            if (("http".equalsIgnoreCase(uri.getScheme())
+                    || "https".equalsIgnoreCase(uri.getScheme())) && isAllowedHost(uri)) {
+                checkAddresses(uri, url);
+                return uri;
+            }
+        } catch (IllegalArgumentException e) {
+            log.debug("Invalid cover URL {}", url, e);
+        }
+        throw new CoverUnavailableException("Cover image is not an http(s) URL of an allowed host: "
+                + url);
+    }
+
+    private boolean isAllowedHost(URI uri) {
+        return uri.getHost() != null
+                && allowedHosts.contains(uri.getHost().toLowerCase(Locale.ROOT));
+    }
+
+    // The client resolves the host again, so this narrows rather than closes the window for
+    // an allowed host that changes its answer; the allow-list stays the first line.
+    private void checkAddresses(URI uri, String url) {
+        if (allowPrivateAddresses) {
+            return;
+        }
+        InetAddress[] addresses;
+        try {
+            addresses = InetAddress.getAllByName(uri.getHost());
+        } catch (UnknownHostException e) {
+            throw new CoverUnavailableException("Can't resolve the host of cover " + url, e);
+        }
+        for (InetAddress address : addresses) {
+            if (isInternal(address)) {
+                throw new CoverUnavailableException("Cover host resolves to internal address "
+                        + address.getHostAddress() + ": " + url);
+            }
+        }
+    }
+
+    private static boolean isInternal(InetAddress address) {
+        return address.isLoopbackAddress() || address.isLinkLocalAddress()
+                || address.isSiteLocalAddress() || address.isAnyLocalAddress()
+                // IPv6 unique local addresses (fc00::/7), which isSiteLocalAddress misses
+                || address instanceof Inet6Address && (address.getAddress()[0] & 0xfe) == 0xfc;
+    }
+
+    private void clearDirectory() {
+        try {
+            Files.createDirectories(directory);
+            try (Stream<Path> files = Files.list(directory)) {
+                files.filter(file -> CACHE_FILE.matcher(file.getFileName().toString())
+                                .matches())
+                        .forEach(this::deleteQuietly);
+            }
+        } catch (IOException e) {
+            throw new DataProcessingException("Can't prepare cover cache directory "
+                    + directory, e);
+        }
+    }
+
+    private void deleteQuietly(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            log.warn("Can't delete cached cover {}", path, e);
+        }
+    }
+
+    private static String hash(String url) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256")
+                    .digest(url.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest, 0, KEY_HASH_BYTES);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private record EvictedCover(Path path, long evictedAt) {
+    }
+}
@@ -0,0 +1,60 @@
+package bookrepo.datasource;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.sql.DataSource;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource {
+    public static final String PRIMARY = "primary";
+    public static final String ROUTED_METRIC = "datasource.routed";
+
+    private final List<String> replicas;
+    private final ReadYourWritesGuard readYourWritesGuard;
+    private final Map<String, Counter> routed = new HashMap<>();
+    private final AtomicInteger next = new AtomicInteger();
+
+    public ReadWriteRoutingDataSource(DataSource primary, Map<String, DataSource> replicas,
+                                      ReadYourWritesGuard readYourWritesGuard,
+                                      MeterRegistry meterRegistry) {
+        this.replicas = new ArrayList<>(replicas.keySet());
+        this.readYourWritesGuard = readYourWritesGuard;
+        Map<Object, Object> targets = new HashMap<>(replicas);
+        targets.put(PRIMARY, primary);
+        targets.keySet().forEach(pool -> routed.put((String) pool, Counter
+                .builder(ROUTED_METRIC)
+                .description("Connections handed out per datasource pool")
+                .tag("pool", (String) pool)
+                .register(meterRegistry)));
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        String pool = route();
+        routed.get(pool).increment();
+        return pool;
+    }
+
+    private String route() {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            return PRIMARY;
+        }
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            readYourWritesGuard.pinAfterCommit();
+            return PRIMARY;
+        }
+        if (replicas.isEmpty() || readYourWritesGuard.isPinned()) {
+            return PRIMARY;
+        }
+        return replicas.get(Math.floorMod(next.getAndIncrement(), replicas.size()));
+    }
+}
@@ -0,0 +1,59 @@
+package bookrepo.datasource;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import java.time.Duration;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+@Component
+public class ReadYourWritesGuard {
+    private static final long MAX_PINNED_USERS = 100_000;
+
+    private final Cache<String, Boolean> pinnedUsers;
+
+    public ReadYourWritesGuard(@Value("${book.datasource.lag-window:2s}") Duration lagWindow) {
+        this.pinnedUsers = Caffeine.newBuilder()
+                .expireAfterWrite(lagWindow)
+                .maximumSize(MAX_PINNED_USERS)
+                .build();
+    }
+
+    public boolean isPinned() {
+        String user = currentUser();
+        return user != null && pinnedUsers.getIfPresent(user) != null;
+    }
+
+    public void pinAfterCommit() {
+        String user = currentUser();
+        if (user == null || !TransactionSynchronizationManager.isSynchronizationActive()
+                || TransactionSynchronizationManager.hasResource(this)) {
+            return;
+        }
+        TransactionSynchronizationManager.bindResource(this, user);
+        TransactionSynchronizationManager.registerSynchronization(
+                new TransactionSynchronization() {
+                    @Override
+                    public void afterCommit() {
+                        pinnedUsers.put(user, Boolean.TRUE);
+                    }
+
+                    @Override
+                    public void afterCompletion(int status) {
+                        TransactionSynchronizationManager.unbindResourceIfPossible(
+                                ReadYourWritesGuard.this);
+                    }
+                });
+    }
+
+    private String currentUser() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication == null || !authentication.isAuthenticated()
+                ? null
+                : authentication.getName();
+    }
+}
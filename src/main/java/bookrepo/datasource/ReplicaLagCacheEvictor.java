@@ -0,0 +1,151 @@
+package bookrepo.datasource;
+
+import jakarta.persistence.EntityManagerFactory;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashSet;
+import java.util.Set;
+import org.hibernate.Cache;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.AbstractCollectionEvent;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostCollectionRecreateEvent;
+import org.hibernate.event.spi.PostCollectionRecreateEventListener;
+import org.hibernate.event.spi.PostCollectionRemoveEvent;
+import org.hibernate.event.spi.PostCollectionRemoveEventListener;
+import org.hibernate.event.spi.PostCollectionUpdateEvent;
+import org.hibernate.event.spi.PostCollectionUpdateEventListener;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostDeleteEventListener;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostInsertEventListener;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.event.spi.PostUpdateEventListener;
+import org.hibernate.persister.collection.CollectionPersister;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Evicts the second-level cache regions a transaction wrote to once the replica lag window
+ * has passed. Until then a read-only transaction on a lagging replica can put the old rows
+ * back into the shared cache, where they would outlive the lag.
+ */
+@Component
+@ConditionalOnProperty("book.datasource.replica-urls")
+public class ReplicaLagCacheEvictor implements PostInsertEventListener,
+        PostUpdateEventListener, PostDeleteEventListener, PostCollectionRecreateEventListener,
+        PostCollectionUpdateEventListener, PostCollectionRemoveEventListener {
+    private final Cache cache;
+    private final TaskScheduler taskScheduler;
+    private final Duration lagWindow;
+
+    public ReplicaLagCacheEvictor(
+            EntityManagerFactory entityManagerFactory,
+            TaskScheduler taskScheduler,
+            @Value("${book.datasource.lag-window:2s}") Duration lagWindow) {
+        SessionFactoryImplementor sessionFactory =
+                entityManagerFactory.unwrap(SessionFactoryImplementor.class);
+        this.cache = sessionFactory.getCache();
+        this.taskScheduler = taskScheduler;
+        this.lagWindow = lagWindow;
+        EventListenerRegistry registry = sessionFactory.getServiceRegistry()
+                .requireService(EventListenerRegistry.class);
+        registry.appendListeners(EventType.POST_INSERT, this);
+        registry.appendListeners(EventType.POST_UPDATE, this);
+        registry.appendListeners(EventType.POST_DELETE, this);
+        registry.appendListeners(EventType.POST_COLLECTION_RECREATE, this);
+        registry.appendListeners(EventType.POST_COLLECTION_UPDATE, this);
+        registry.appendListeners(EventType.POST_COLLECTION_REMOVE, this);
+    }
+
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        entityWritten(event.getPersister());
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        entityWritten(event.getPersister());
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        entityWritten(event.getPersister());
+    }
+
+    @Override
+    public boolean requiresPostCommitHandling(EntityPersister persister) {
+        return false;
+    }
+
+    @Override
+    public void onPostRecreateCollection(PostCollectionRecreateEvent event) {
+        collectionWritten(event);
+    }
+
+    @Override
+    public void onPostUpdateCollection(PostCollectionUpdateEvent event) {
+        collectionWritten(event);
+    }
+
+    @Override
+    public void onPostRemoveCollection(PostCollectionRemoveEvent event) {
+        collectionWritten(event);
+    }
+
+    private void entityWritten(EntityPersister persister) {
+        if (persister.canWriteToCache()) {
+            regionWritten(persister.getCacheAccessStrategy().getRegion().getName());
+        }
+    }
+
+    private void collectionWritten(AbstractCollectionEvent event) {
+        CollectionPersister persister = event.getSession().getFactory().getMappingMetamodel()
+                .getCollectionDescriptor(event.getCollection().getRole());
+        if (persister.hasCache()) {
+            regionWritten(persister.getCacheAccessStrategy().getRegion().getName());
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void regionWritten(String region) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            scheduleEviction(Set.of(region));
+            return;
+        }
+        Set<String> regions = (Set<String>) TransactionSynchronizationManager.getResource(this);
+        if (regions == null) {
+            Set<String> written = new HashSet<>();
+            TransactionSynchronizationManager.bindResource(this, written);
+            TransactionSynchronizationManager.registerSynchronization(
+                    new TransactionSynchronization() {
+                        @Override
+                        public void afterCommit() {
+                            scheduleEviction(written);
+                        }
+
+                        @Override
+                        public void afterCompletion(int status) {
+                            TransactionSynchronizationManager.unbindResourceIfPossible(
+                                    ReplicaLagCacheEvictor.this);
+                        }
+                    });
+            regions = written;
+        }
+        regions.add(region);
+    }
+
+    private void scheduleEviction(Set<String> regions) {
+        taskScheduler.schedule(() -> {
+            regions.forEach(cache::evictRegion);
+            // Cached query results may list rows the replica had not received yet.
+            cache.evictDefaultQueryRegion();
+        }, Instant.now().plus(lagWindow));
+    }
+}
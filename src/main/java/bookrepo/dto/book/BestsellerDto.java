@@ -0,0 +1,4 @@
+package bookrepo.dto.book;
+
+public record BestsellerDto(BookDto book, long copiesSold) {
+}
@@ -0,0 +1,4 @@
+package bookrepo.dto.book;
+
+public record BookChangeDto(long version, Long id, boolean deleted, BookDto book) {
+}
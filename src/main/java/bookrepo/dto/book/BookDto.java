@@ -1,5 +1,6 @@
 package bookrepo.dto.book;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import java.math.BigDecimal;
 import java.util.Set;
 import lombok.Data;
@@ -14,4 +15,6 @@ public class BookDto {
     private String description;
     private String coverImage;
     private Set<Long> categoryIds;
+    @JsonIgnore
+    private Long version;
 }
@@ -0,0 +1,6 @@
+package bookrepo.dto.book;
+
+import java.util.List;
+
+public record BookFacetedSearchDto(List<BookDto> books, BookFacetsDto facets) {
+}
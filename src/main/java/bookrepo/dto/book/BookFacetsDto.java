@@ -0,0 +1,8 @@
+package bookrepo.dto.book;
+
+import java.util.List;
+
+public record BookFacetsDto(List<FacetCountDto> categories,
+                            List<FacetCountDto> authors,
+                            List<FacetCountDto> priceBands) {
+}
@@ -0,0 +1,4 @@
+package bookrepo.dto.book;
+
+public record BookImportErrorDto(long line, String isbn, String error) {
+}
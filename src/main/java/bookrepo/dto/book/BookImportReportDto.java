@@ -0,0 +1,11 @@
+package bookrepo.dto.book;
+
+import java.util.List;
+
+public record BookImportReportDto(long processed,
+                                  long imported,
+                                  long failed,
+                                  int batches,
+                                  long elapsedMillis,
+                                  List<BookImportErrorDto> errors) {
+}
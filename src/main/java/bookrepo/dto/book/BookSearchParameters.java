@@ -1,9 +1,15 @@
 package bookrepo.dto.book;
 
+import java.math.BigDecimal;
+import org.springframework.data.domain.Sort;
+
 public record BookSearchParameters(String[] authors,
                                    String[] titles,
                                    String[] isbns,
                                    String[] descriptions,
                                    String[] coverImages,
-                                   String[] prices) {
+                                   String[] prices,
+                                   BigDecimal minPrice,
+                                   BigDecimal maxPrice,
+                                   Sort.Direction priceSort) {
 }
@@ -0,0 +1,10 @@
+package bookrepo.dto.book;
+
+public record BookSuggestionDto(String text,
+                                Type type,
+                                long weight) {
+    public enum Type {
+        TITLE,
+        AUTHOR
+    }
+}
@@ -0,0 +1,12 @@
+package bookrepo.dto.book;
+
+import java.math.BigDecimal;
+
+public record BookView(Long id,
+                       String title,
+                       String author,
+                       String isbn,
+                       BigDecimal price,
+                       String description,
+                       String coverImage) {
+}
@@ -0,0 +1,4 @@
+package bookrepo.dto.book;
+
+public record FacetCountDto(String value, long count) {
+}
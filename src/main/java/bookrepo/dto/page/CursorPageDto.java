@@ -0,0 +1,8 @@
+package bookrepo.dto.page;
+
+import java.util.List;
+
+public record CursorPageDto<T>(List<T> content,
+                               String nextCursor,
+                               boolean hasNext) {
+}
@@ -0,0 +1,18 @@
+package bookrepo.dto.page;
+
+import org.springframework.data.domain.Sort;
+
+public record ScrollRequestDto(String cursor,
+                               String sort,
+                               Sort.Direction direction,
+                               Integer size) {
+    private static final String DEFAULT_SORT = "id";
+    private static final int DEFAULT_SIZE = 20;
+    private static final int MAX_SIZE = 100;
+
+    public ScrollRequestDto {
+        sort = sort == null || sort.isBlank() ? DEFAULT_SORT : sort;
+        direction = direction == null ? Sort.Direction.ASC : direction;
+        size = size == null ? DEFAULT_SIZE : Math.min(Math.max(size, 1), MAX_SIZE);
+    }
+}
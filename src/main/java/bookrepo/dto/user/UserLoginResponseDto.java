@@ -1,4 +1,4 @@
 package bookrepo.dto.user;
 
-public record UserLoginResponseDto(String token) {
+public record UserLoginResponseDto(String token, String refreshToken) {
 }
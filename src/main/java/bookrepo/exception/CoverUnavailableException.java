@@ -0,0 +1,11 @@
+package bookrepo.exception;
+
+public class CoverUnavailableException extends RuntimeException {
+    public CoverUnavailableException(String message) {
+        super(message);
+    }
+
+    public CoverUnavailableException(String message, Exception e) {
+        super(message, e);
+    }
+}
@@ -0,0 +1,11 @@
+package bookrepo.exception;
+
+public class PasswordHashingUnavailableException extends RuntimeException {
+    public PasswordHashingUnavailableException(String message) {
+        super(message);
+    }
+
+    public PasswordHashingUnavailableException(String message, Exception e) {
+        super(message, e);
+    }
+}
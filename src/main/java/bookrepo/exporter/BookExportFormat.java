@@ -0,0 +1,24 @@
+package bookrepo.exporter;
+
+import org.springframework.http.MediaType;
+
+public enum BookExportFormat {
+    CSV(MediaType.parseMediaType("text/csv"), "csv"),
+    NDJSON(MediaType.APPLICATION_NDJSON, "ndjson");
+
+    private final MediaType mediaType;
+    private final String extension;
+
+    BookExportFormat(MediaType mediaType, String extension) {
+        this.mediaType = mediaType;
+        this.extension = extension;
+    }
+
+    public MediaType getMediaType() {
+        return mediaType;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+}
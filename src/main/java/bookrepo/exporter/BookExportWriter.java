@@ -0,0 +1,9 @@
+package bookrepo.exporter;
+
+import bookrepo.dto.book.BookDto;
+import java.io.Flushable;
+import java.io.IOException;
+
+public interface BookExportWriter extends Flushable {
+    void write(BookDto book) throws IOException;
+}
@@ -0,0 +1,56 @@
+package bookrepo.exporter;
+
+import bookrepo.dto.book.BookDto;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.stream.Collectors;
+
+public class CsvBookExportWriter implements BookExportWriter {
+    private static final String HEADER =
+            "id,title,author,isbn,price,description,cover_image,category_ids\n";
+    private static final char SEPARATOR = ',';
+    private static final char QUOTE = '"';
+    private static final String CATEGORY_SEPARATOR = ";";
+
+    private final Writer writer;
+
+    public CsvBookExportWriter(Writer writer) throws IOException {
+        this.writer = writer;
+        writer.write(HEADER);
+    }
+
+    @Override
+    public void write(BookDto book) throws IOException {
+        writer.write(String.valueOf(book.getId()));
+        writeValue(book.getTitle());
+        writeValue(book.getAuthor());
+        writeValue(book.getIsbn());
+        writeValue(book.getPrice() == null ? null : book.getPrice().toPlainString());
+        writeValue(book.getDescription());
+        writeValue(book.getCoverImage());
+        writeValue(book.getCategoryIds().stream()
+                .map(String::valueOf)
+                .collect(Collectors.joining(CATEGORY_SEPARATOR)));
+        writer.write('\n');
+    }
+
+    @Override
+    public void flush() throws IOException {
+        writer.flush();
+    }
+
+    private void writeValue(String value) throws IOException {
+        writer.write(SEPARATOR);
+        if (value == null) {
+            return;
+        }
+        if (value.indexOf(SEPARATOR) < 0 && value.indexOf(QUOTE) < 0
+                && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            writer.write(value);
+            return;
+        }
+        writer.write(QUOTE);
+        writer.write(value.replace("\"", "\"\""));
+        writer.write(QUOTE);
+    }
+}
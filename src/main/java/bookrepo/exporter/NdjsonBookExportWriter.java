@@ -0,0 +1,36 @@
+package bookrepo.exporter;
+
+import bookrepo.dto.book.BookDto;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.io.Writer;
+
+public class NdjsonBookExportWriter implements BookExportWriter {
+    private static final char NEW_LINE = '\n';
+
+    private final Writer writer;
+    private final JsonGenerator generator;
+    private final ObjectMapper objectMapper;
+
+    public NdjsonBookExportWriter(Writer writer, ObjectMapper objectMapper) throws IOException {
+        this.writer = writer;
+        this.objectMapper = objectMapper;
+        this.generator = objectMapper.getFactory().createGenerator(writer)
+                .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                .disable(JsonGenerator.Feature.FLUSH_PASSED_TO_STREAM)
+                .setRootValueSeparator(null);
+    }
+
+    @Override
+    public void write(BookDto book) throws IOException {
+        objectMapper.writeValue(generator, book);
+        generator.flush();
+        writer.write(NEW_LINE);
+    }
+
+    @Override
+    public void flush() throws IOException {
+        writer.flush();
+    }
+}
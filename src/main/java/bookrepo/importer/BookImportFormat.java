@@ -0,0 +1,27 @@
+package bookrepo.importer;
+
+import bookrepo.exception.InvalidRequestException;
+import java.util.Arrays;
+import org.springframework.http.MediaType;
+
+public enum BookImportFormat {
+    CSV(MediaType.parseMediaType("text/csv")),
+    NDJSON(MediaType.APPLICATION_NDJSON);
+
+    public static final String CSV_VALUE = "text/csv";
+
+    private final MediaType mediaType;
+
+    BookImportFormat(MediaType mediaType) {
+        this.mediaType = mediaType;
+    }
+
+    public static BookImportFormat of(String contentType) {
+        MediaType requested = MediaType.parseMediaType(contentType);
+        return Arrays.stream(values())
+                .filter(format -> format.mediaType.isCompatibleWith(requested))
+                .findFirst()
+                .orElseThrow(() -> new InvalidRequestException(
+                        "Unsupported import format: " + contentType));
+    }
+}
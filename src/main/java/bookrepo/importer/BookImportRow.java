@@ -0,0 +1,13 @@
+package bookrepo.importer;
+
+import bookrepo.dto.book.CreateBookRequestDto;
+
+public record BookImportRow(long line, CreateBookRequestDto book, String error) {
+    public static BookImportRow valid(long line, CreateBookRequestDto book) {
+        return new BookImportRow(line, book, null);
+    }
+
+    public static BookImportRow invalid(long line, String error) {
+        return new BookImportRow(line, null, error);
+    }
+}
@@ -0,0 +1,8 @@
+package bookrepo.importer;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+public interface BookRowReader extends Closeable {
+    BookImportRow next() throws IOException;
+}
@@ -0,0 +1,139 @@
+package bookrepo.importer;
+
+import bookrepo.dto.book.CreateBookRequestDto;
+import bookrepo.exception.InvalidRequestException;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+public class CsvBookRowReader implements BookRowReader {
+    private static final char SEPARATOR = ',';
+    private static final char QUOTE = '"';
+    private static final String CATEGORY_SEPARATOR = ";";
+    private static final String TITLE = "title";
+    private static final String AUTHOR = "author";
+    private static final String ISBN = "isbn";
+    private static final String PRICE = "price";
+    private static final String DESCRIPTION = "description";
+    private static final String COVER_IMAGE = "coverimage";
+    private static final String CATEGORY_IDS = "categoryids";
+
+    private final BufferedReader reader;
+    private final Map<String, Integer> columns = new HashMap<>();
+    private long line;
+
+    public CsvBookRowReader(BufferedReader reader) throws IOException {
+        this.reader = reader;
+        String header = reader.readLine();
+        line++;
+        if (header == null) {
+            throw new InvalidRequestException("CSV import is missing a header line");
+        }
+        List<String> names = split(header);
+        if (names == null) {
+            throw new InvalidRequestException("CSV header has an unterminated quoted value");
+        }
+        for (int i = 0; i < names.size(); i++) {
+            columns.put(names.get(i).trim().replace("_", "").toLowerCase(Locale.ROOT), i);
+        }
+        for (String required : List.of(TITLE, AUTHOR, ISBN, PRICE, CATEGORY_IDS)) {
+            if (!columns.containsKey(required)) {
+                throw new InvalidRequestException("CSV header is missing column: " + required);
+            }
+        }
+    }
+
+    @Override
+    public BookImportRow next() throws IOException {
+        String text;
+        do {
+            text = reader.readLine();
+            line++;
+        } while (text != null && text.isBlank());
+        if (text == null) {
+            return null;
+        }
+        List<String> values = split(text);
+        if (values == null) {
+            return BookImportRow.invalid(line, "Unterminated quoted value");
+        }
+        try {
+            CreateBookRequestDto book = new CreateBookRequestDto();
+            book.setTitle(value(values, TITLE));
+            book.setAuthor(value(values, AUTHOR));
+            book.setIsbn(value(values, ISBN));
+            String price = value(values, PRICE);
+            book.setPrice(price == null ? null : new BigDecimal(price));
+            book.setDescription(value(values, DESCRIPTION));
+            book.setCoverImage(value(values, COVER_IMAGE));
+            book.setCategoryIds(categoryIds(value(values, CATEGORY_IDS)));
+            return BookImportRow.valid(line, book);
+        } catch (NumberFormatException e) {
+            return BookImportRow.invalid(line, "Invalid number: " + e.getMessage());
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    private String value(List<String> values, String column) {
+        Integer index = columns.get(column);
+        if (index == null || index >= values.size()) {
+            return null;
+        }
+        String value = values.get(index).trim();
+        return value.isEmpty() ? null : value;
+    }
+
+    private Set<Long> categoryIds(String value) {
+        Set<Long> ids = new LinkedHashSet<>();
+        if (value != null) {
+            for (String id : value.split(CATEGORY_SEPARATOR)) {
+                if (!id.isBlank()) {
+                    ids.add(Long.valueOf(id.trim()));
+                }
+            }
+        }
+        return ids;
+    }
+
+    private static List<String> split(String text) {
+        List<String> values = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (quoted) {
+                if (c == QUOTE && i + 1 < text.length() && text.charAt(i + 1) == QUOTE) {
+                    current.append(QUOTE);
+                    i++;
+                } else if (c == QUOTE) {
+                    quoted = false;
+                } else {
+                    current.append(c);
+                }
+            } else if (c == QUOTE) {
+                quoted = true;
+            } else if (c == SEPARATOR) {
+                values.add(current.toString());
+                current.setLength(0);
+            } else {
+                current.append(c);
+            }
+        }
+        if (quoted) {
+            return null;
+        }
+        values.add(current.toString());
+        return values;
+    }
+}
@@ -0,0 +1,40 @@
+package bookrepo.importer;
+
+import bookrepo.dto.book.CreateBookRequestDto;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectReader;
+import java.io.BufferedReader;
+import java.io.IOException;
+
+public class NdjsonBookRowReader implements BookRowReader {
+    private final BufferedReader reader;
+    private final ObjectReader objectReader;
+    private long line;
+
+    public NdjsonBookRowReader(BufferedReader reader, ObjectReader objectReader) {
+        this.reader = reader;
+        this.objectReader = objectReader.forType(CreateBookRequestDto.class);
+    }
+
+    @Override
+    public BookImportRow next() throws IOException {
+        String text;
+        do {
+            text = reader.readLine();
+            line++;
+        } while (text != null && text.isBlank());
+        if (text == null) {
+            return null;
+        }
+        try {
+            return BookImportRow.valid(line, objectReader.readValue(text));
+        } catch (JsonProcessingException e) {
+            return BookImportRow.invalid(line, "Malformed JSON: " + e.getOriginalMessage());
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+}
@@ -3,6 +3,7 @@ package bookrepo.mapper;
 import bookrepo.config.MapperConfig;
 import bookrepo.dto.book.BookDto;
 import bookrepo.dto.book.BookDtoWithoutCategoryIds;
+import bookrepo.dto.book.BookView;
 import bookrepo.dto.book.CreateBookRequestDto;
 import bookrepo.model.Book;
 import bookrepo.model.Category;
@@ -12,6 +13,7 @@ import java.util.stream.Collectors;
 import org.mapstruct.AfterMapping;
 import org.mapstruct.Context;
 import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
 import org.mapstruct.MappingTarget;
 import org.mapstruct.Named;
 
@@ -19,12 +21,18 @@ import org.mapstruct.Named;
 public interface BookMapper {
     BookDto toDto(Book book);
 
+    @Mapping(target = "categoryIds", ignore = true)
+    @Mapping(target = "version", ignore = true)
+    BookDto toDto(BookView view);
+
     Book toModel(CreateBookRequestDto requestDto);
 
     void updateModelFromDto(CreateBookRequestDto requestDto, @MappingTarget Book book);
 
     BookDtoWithoutCategoryIds toDtoWithoutCategories(Book book);
 
+    BookDtoWithoutCategoryIds toDtoWithoutCategories(BookView view);
+
     @Named("bookFromId")
     default Book bookFromId(Long id, @Context BookRepository bookRepository) {
         return bookRepository.getReferenceById(id);
@@ -1,7 +1,9 @@
 package bookrepo.model;
 
+import bookrepo.repository.catalog.CatalogChangeListener;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
@@ -9,18 +11,23 @@ import jakarta.persistence.JoinColumn;
 import jakarta.persistence.JoinTable;
 import jakarta.persistence.ManyToMany;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import java.math.BigDecimal;
 import java.util.HashSet;
 import java.util.Set;
 import lombok.Getter;
 import lombok.Setter;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.SQLDelete;
 import org.hibernate.annotations.SQLRestriction;
 
 @Getter
 @Setter
-@SQLDelete(sql = "UPDATE books SET is_deleted = true WHERE id = ?")
+@SQLDelete(sql = "UPDATE books SET is_deleted = true, version = version + 1 "
+        + "WHERE id = ? AND version = ?")
 @SQLRestriction("is_deleted = false")
+@EntityListeners(CatalogChangeListener.class)
 @Table(name = "books")
 @Entity
 public class Book {
@@ -45,6 +52,7 @@ public class Book {
     private String coverImage;
 
     @ManyToMany
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "books-categories")
     @JoinTable(
             name = "books_categories",
             joinColumns = @JoinColumn(name = "book_id"),
@@ -54,4 +62,7 @@ public class Book {
 
     @Column(nullable = false)
     private boolean isDeleted = false;
+
+    @Version
+    private Long version;
 }
@@ -0,0 +1,6 @@
+package bookrepo.model;
+
+public enum CatalogEntityType {
+    BOOK,
+    CATEGORY
+}
@@ -1,21 +1,29 @@
 package bookrepo.model;
 
+import bookrepo.repository.catalog.CatalogChangeListener;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import lombok.Getter;
 import lombok.Setter;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.SQLDelete;
 import org.hibernate.annotations.SQLRestriction;
 
 @Entity
 @Getter
 @Setter
-@SQLDelete(sql = "UPDATE categories SET is_deleted = true WHERE id = ?")
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "categories")
+@SQLDelete(sql = "UPDATE categories SET is_deleted = true, version = version + 1 "
+        + "WHERE id = ? AND version = ?")
 @SQLRestriction("is_deleted = false")
+@EntityListeners(CatalogChangeListener.class)
 @Table(name = "categories")
 public class Category {
     @Id
@@ -26,4 +34,6 @@ public class Category {
     private String description;
     @Column(nullable = false)
     private boolean isDeleted;
+    @Version
+    private Long version;
 }
@@ -0,0 +1,24 @@
+package bookrepo.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import java.time.LocalDateTime;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Setter
+@Getter
+@NoArgsConstructor
+@Table(name = "refresh_sessions")
+@Entity
+public class RefreshSession {
+    @Id
+    private String id;
+    @Column(nullable = false)
+    private long generation;
+    @Column(nullable = false)
+    private LocalDateTime expiresAt;
+}
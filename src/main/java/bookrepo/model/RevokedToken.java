@@ -0,0 +1,30 @@
+package bookrepo.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import java.time.LocalDateTime;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Setter
+@Getter
+@NoArgsConstructor
+@Table(name = "revoked_tokens")
+@Entity
+public class RevokedToken {
+    @Id
+    private String jti;
+    @Column(nullable = false)
+    private LocalDateTime expiresAt;
+    @Column(nullable = false)
+    private LocalDateTime revokedAt;
+
+    public RevokedToken(String jti, LocalDateTime expiresAt, LocalDateTime revokedAt) {
+        this.jti = jti;
+        this.expiresAt = expiresAt;
+        this.revokedAt = revokedAt;
+    }
+}
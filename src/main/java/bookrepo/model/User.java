@@ -1,7 +1,9 @@
 package bookrepo.model;
 
+import bookrepo.security.UserStatusCache;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
@@ -23,6 +25,7 @@ import org.springframework.security.core.userdetails.UserDetails;
 
 @Setter
 @Getter
+@EntityListeners(UserStatusCache.class)
 @SQLDelete(sql = "UPDATE users SET is_deleted = true WHERE id = ?")
 @SQLRestriction("is_deleted = false")
 @Table(name = "users")
@@ -0,0 +1,126 @@
+package bookrepo.recommendation;
+
+import bookrepo.repository.book.BookCategoryId;
+import bookrepo.repository.book.BookRepository;
+import bookrepo.repository.order.BookSale;
+import bookrepo.repository.order.OrderItemRepository;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Stream;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+@Component
+@RequiredArgsConstructor
+public class BestsellerFeed {
+    private static final int CATEGORY_BATCH_SIZE = 1000;
+
+    private final BestsellerTracker bestsellerTracker;
+    private final BookRepository bookRepository;
+    private final OrderItemRepository orderItemRepository;
+    private Map<Long, OrderChange> pending;
+
+    @TransactionalEventListener
+    public void onOrderItemsChanged(OrderItemsChangedEvent event) {
+        synchronized (this) {
+            if (pending != null) {
+                pending.merge(event.orderId(),
+                        new OrderChange(event.previousQuantities(), event.quantities()),
+                        (earlier, later) -> new OrderChange(earlier.previous(), later.current()));
+                return;
+            }
+        }
+        // An order is saved again whenever its cart changes, so only added copies are sales.
+        Map<Long, Integer> added = added(event.previousQuantities(), event.quantities());
+        if (added.isEmpty()) {
+            return;
+        }
+        Map<Long, List<Long>> categories = findCategoryIds(added.keySet());
+        Instant now = Instant.now();
+        added.forEach((bookId, copies) -> bestsellerTracker.record(bookId,
+                categories.getOrDefault(bookId, List.of()), copies, now));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void replayLastWeek() {
+        synchronized (this) {
+            pending = new HashMap<>();
+        }
+        List<BookSale> sales;
+        Map<Long, OrderChange> changed;
+        try (Stream<BookSale> rows = orderItemRepository.streamSalesSince(
+                LocalDateTime.now().minus(BestsellerWindow.WEEK.length()))) {
+            sales = rows.toList();
+        } finally {
+            changed = takePending();
+        }
+
+        // Orders changed while the sales were read only add what the snapshot did not see.
+        Map<Long, Map<Long, Integer>> snapshot = new HashMap<>();
+        sales.forEach(sale -> snapshot
+                .computeIfAbsent(sale.orderId(), orderId -> new HashMap<>())
+                .merge(sale.bookId(), sale.quantity(), Integer::sum));
+        Map<Long, Integer> added = new HashMap<>();
+        changed.forEach((orderId, change) -> added(
+                snapshot.getOrDefault(orderId, change.previous()), change.current())
+                .forEach((bookId, copies) -> added.merge(bookId, copies, Integer::sum)));
+
+        Set<Long> bookIds = new HashSet<>(added.keySet());
+        sales.forEach(sale -> bookIds.add(sale.bookId()));
+        Map<Long, List<Long>> categories = findCategoryIds(bookIds);
+        ZoneId zone = ZoneId.systemDefault();
+        sales.forEach(sale -> bestsellerTracker.record(sale.bookId(),
+                categories.getOrDefault(sale.bookId(), List.of()), sale.quantity(),
+                sale.orderDate().atZone(zone).toInstant()));
+        Instant now = Instant.now();
+        added.forEach((bookId, copies) -> bestsellerTracker.record(bookId,
+                categories.getOrDefault(bookId, List.of()), copies, now));
+    }
+
+    private synchronized Map<Long, OrderChange> takePending() {
+        Map<Long, OrderChange> changed = pending;
+        pending = null;
+        return changed;
+    }
+
+    private static Map<Long, Integer> added(Map<Long, Integer> previous,
+                                            Map<Long, Integer> current) {
+        Map<Long, Integer> added = new HashMap<>();
+        current.forEach((bookId, quantity) -> {
+            int copies = quantity - previous.getOrDefault(bookId, 0);
+            if (copies > 0) {
+                added.put(bookId, copies);
+            }
+        });
+        return added;
+    }
+
+    private Map<Long, List<Long>> findCategoryIds(Collection<Long> bookIds) {
+        List<Long> ids = new ArrayList<>(Set.copyOf(bookIds));
+        Map<Long, List<Long>> categories = new HashMap<>();
+        for (int from = 0; from < ids.size(); from += CATEGORY_BATCH_SIZE) {
+            List<BookCategoryId> rows = bookRepository.findCategoryIdsByBookIds(
+                    ids.subList(from, Math.min(from + CATEGORY_BATCH_SIZE, ids.size())));
+            rows.forEach(row -> categories
+                    .computeIfAbsent(row.bookId(), bookId -> new ArrayList<>())
+                    .add(row.categoryId()));
+        }
+        return categories;
+    }
+
+    private record OrderChange(Map<Long, Integer> previous, Map<Long, Integer> current) {
+    }
+}
@@ -0,0 +1,67 @@
+package bookrepo.recommendation;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.springframework.stereotype.Component;
+
+@Component
+public class BestsellerTracker {
+    public static final int MAX_RESULTS = 50;
+    private static final int CAPACITY = 4 * MAX_RESULTS;
+    private static final Comparator<BookSales> BY_COPIES = Comparator
+            .comparingLong(BookSales::copies).reversed()
+            .thenComparing(BookSales::bookId);
+
+    private final Clock clock;
+    private final Map<BestsellerWindow, SlidingWindowTopK> overall =
+            new EnumMap<>(BestsellerWindow.class);
+    private final Map<Long, Map<BestsellerWindow, SlidingWindowTopK>> byCategory =
+            new HashMap<>();
+
+    public BestsellerTracker() {
+        this(Clock.systemUTC());
+    }
+
+    BestsellerTracker(Clock clock) {
+        this.clock = clock;
+    }
+
+    public synchronized void record(Long bookId, Collection<Long> categoryIds, long copies,
+                                    Instant soldAt) {
+        Instant now = clock.instant();
+        offer(overall, bookId, copies, soldAt, now);
+        categoryIds.forEach(categoryId -> offer(
+                byCategory.computeIfAbsent(categoryId,
+                        key -> new EnumMap<>(BestsellerWindow.class)),
+                bookId, copies, soldAt, now));
+    }
+
+    public synchronized List<BookSales> top(BestsellerWindow window, Long categoryId,
+                                            int limit) {
+        Map<BestsellerWindow, SlidingWindowTopK> windows =
+                categoryId == null ? overall : byCategory.get(categoryId);
+        SlidingWindowTopK topK = windows == null ? null : windows.get(window);
+        if (topK == null) {
+            return List.of();
+        }
+        return topK.totals(clock.instant()).entrySet().stream()
+                .map(entry -> new BookSales(entry.getKey(), entry.getValue()))
+                .sorted(BY_COPIES)
+                .limit(Math.max(0, Math.min(limit, MAX_RESULTS)))
+                .toList();
+    }
+
+    private void offer(Map<BestsellerWindow, SlidingWindowTopK> windows, Long bookId,
+                       long copies, Instant soldAt, Instant now) {
+        for (BestsellerWindow window : BestsellerWindow.values()) {
+            windows.computeIfAbsent(window, key -> key.newTopK(CAPACITY))
+                    .offer(bookId, copies, soldAt, now);
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package bookrepo.recommendation;
+
+import java.time.Duration;
+
+public enum BestsellerWindow {
+    HOUR(Duration.ofMinutes(5), 12),
+    DAY(Duration.ofHours(1), 24),
+    WEEK(Duration.ofHours(6), 28);
+
+    private final Duration bucket;
+    private final int buckets;
+
+    BestsellerWindow(Duration bucket, int buckets) {
+        this.bucket = bucket;
+        this.buckets = buckets;
+    }
+
+    public Duration length() {
+        return bucket.multipliedBy(buckets);
+    }
+
+    SlidingWindowTopK newTopK(int capacity) {
+        return new SlidingWindowTopK(bucket, buckets, capacity);
+    }
+}
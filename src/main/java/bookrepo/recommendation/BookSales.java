@@ -0,0 +1,4 @@
+package bookrepo.recommendation;
+
+public record BookSales(Long bookId, long copies) {
+}
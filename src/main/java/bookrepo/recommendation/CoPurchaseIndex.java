@@ -0,0 +1,140 @@
+package bookrepo.recommendation;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Collectors;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+@Component
+public class CoPurchaseIndex {
+    public static final int MAX_RELATED = 20;
+    private static final Comparator<Map.Entry<Long, Integer>> BY_COUNT =
+            Map.Entry.<Long, Integer>comparingByValue().reversed()
+                    .thenComparing(Map.Entry.comparingByKey());
+
+    private Map<Long, Map<Long, Integer>> counts = new HashMap<>();
+    private Map<Long, List<Long>> related = new HashMap<>();
+    private Map<Long, Set<Long>> pending;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    @TransactionalEventListener
+    public void onOrderItemsChanged(OrderItemsChangedEvent event) {
+        record(event.orderId(), event.previousBookIds(), event.bookIds());
+    }
+
+    public void record(Long orderId, Set<Long> previousBookIds, Set<Long> bookIds) {
+        Set<Long> previous = Set.copyOf(previousBookIds);
+        Set<Long> books = Set.copyOf(bookIds);
+        lock.writeLock().lock();
+        try {
+            if (pending != null) {
+                pending.put(orderId, books);
+            }
+            apply(previous, books);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public List<Long> related(Long bookId, int limit) {
+        lock.readLock().lock();
+        try {
+            List<Long> top = related.getOrDefault(bookId, List.of());
+            return top.subList(0, Math.max(0, Math.min(limit, top.size())));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public void beginRebuild() {
+        lock.writeLock().lock();
+        try {
+            pending = new HashMap<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void rebuild(Map<Long, Set<Long>> orders) {
+        Map<Long, Map<Long, Integer>> rebuiltCounts = orders.values().parallelStream()
+                .collect(HashMap::new,
+                        (matrix, books) -> addPairs(matrix, books, 1),
+                        CoPurchaseIndex::merge);
+        Map<Long, List<Long>> rebuiltRelated = rebuiltCounts.entrySet().parallelStream()
+                .collect(Collectors.toMap(Map.Entry::getKey, entry -> top(entry.getValue())));
+
+        lock.writeLock().lock();
+        try {
+            counts = rebuiltCounts;
+            related = new HashMap<>(rebuiltRelated);
+            // Orders changed while the snapshot was read move from the state the snapshot
+            // saw to their latest one, so a change it already contains is not counted twice.
+            if (pending != null) {
+                pending.forEach((orderId, books) ->
+                        apply(orders.getOrDefault(orderId, Set.of()), books));
+                pending = null;
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void apply(Set<Long> previous, Set<Long> books) {
+        if (previous.equals(books)) {
+            return;
+        }
+        addPairs(counts, previous, -1);
+        addPairs(counts, books, 1);
+
+        Set<Long> touched = new HashSet<>(previous);
+        touched.addAll(books);
+        touched.forEach(bookId -> {
+            Map<Long, Integer> row = counts.get(bookId);
+            if (row == null) {
+                related.remove(bookId);
+            } else {
+                related.put(bookId, top(row));
+            }
+        });
+    }
+
+    private static void addPairs(Map<Long, Map<Long, Integer>> matrix, Set<Long> books,
+                                 int delta) {
+        for (Long book : books) {
+            for (Long other : books) {
+                if (book.equals(other)) {
+                    continue;
+                }
+                Map<Long, Integer> row = matrix.computeIfAbsent(book, key -> new HashMap<>());
+                row.merge(other, delta, (count, change) ->
+                        count + change == 0 ? null : count + change);
+                if (row.isEmpty()) {
+                    matrix.remove(book);
+                }
+            }
+        }
+    }
+
+    private static void merge(Map<Long, Map<Long, Integer>> target,
+                              Map<Long, Map<Long, Integer>> source) {
+        source.forEach((book, row) -> {
+            Map<Long, Integer> targetRow = target.computeIfAbsent(book, key -> new HashMap<>());
+            row.forEach((other, count) -> targetRow.merge(other, count, Integer::sum));
+        });
+    }
+
+    private static List<Long> top(Map<Long, Integer> row) {
+        return row.entrySet().stream()
+                .sorted(BY_COUNT)
+                .limit(MAX_RELATED)
+                .map(Map.Entry::getKey)
+                .toList();
+    }
+}
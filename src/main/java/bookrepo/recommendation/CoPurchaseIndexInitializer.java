@@ -0,0 +1,36 @@
+package bookrepo.recommendation;
+
+import bookrepo.repository.order.OrderBookId;
+import bookrepo.repository.order.OrderItemRepository;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Stream;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+@Component
+@RequiredArgsConstructor
+public class CoPurchaseIndexInitializer {
+    private final OrderItemRepository orderItemRepository;
+    private final CoPurchaseIndex coPurchaseIndex;
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${book.recommendation.rebuild-cron:0 30 3 * * *}")
+    @Transactional(readOnly = true)
+    public synchronized void rebuild() {
+        coPurchaseIndex.beginRebuild();
+        Map<Long, Set<Long>> orders = new HashMap<>();
+        try (Stream<OrderBookId> rows = orderItemRepository.streamAllOrderBookIds()) {
+            rows.forEach(row -> orders
+                    .computeIfAbsent(row.orderId(), orderId -> new HashSet<>())
+                    .add(row.bookId()));
+        }
+        coPurchaseIndex.rebuild(orders);
+    }
+}
@@ -0,0 +1,15 @@
+package bookrepo.recommendation;
+
+import java.util.Map;
+import java.util.Set;
+
+public record OrderItemsChangedEvent(Long orderId, Map<Long, Integer> previousQuantities,
+                                     Map<Long, Integer> quantities) {
+    public Set<Long> previousBookIds() {
+        return previousQuantities.keySet();
+    }
+
+    public Set<Long> bookIds() {
+        return quantities.keySet();
+    }
+}
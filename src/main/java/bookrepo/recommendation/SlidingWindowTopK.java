@@ -0,0 +1,55 @@
+package bookrepo.recommendation;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+final class SlidingWindowTopK {
+    private final long bucketMillis;
+    private final long[] epochs;
+    private final SpaceSaving[] buckets;
+
+    SlidingWindowTopK(Duration bucket, int bucketCount, int capacity) {
+        this.bucketMillis = bucket.toMillis();
+        this.epochs = new long[bucketCount];
+        this.buckets = new SpaceSaving[bucketCount];
+        Arrays.fill(epochs, Long.MIN_VALUE);
+        for (int i = 0; i < bucketCount; i++) {
+            buckets[i] = new SpaceSaving(capacity);
+        }
+    }
+
+    void offer(Long item, long amount, Instant at, Instant now) {
+        long current = epoch(now);
+        long epoch = Math.min(epoch(at), current);
+        if (epoch <= current - buckets.length) {
+            return;
+        }
+        int slot = (int) Math.floorMod(epoch, (long) buckets.length);
+        if (epochs[slot] != epoch) {
+            if (epochs[slot] > epoch) {
+                return;
+            }
+            buckets[slot].clear();
+            epochs[slot] = epoch;
+        }
+        buckets[slot].offer(item, amount);
+    }
+
+    Map<Long, Long> totals(Instant now) {
+        long current = epoch(now);
+        Map<Long, Long> totals = new HashMap<>();
+        for (int i = 0; i < buckets.length; i++) {
+            if (epochs[i] > current - buckets.length && epochs[i] <= current) {
+                buckets[i].addTo(totals);
+            }
+        }
+        return totals;
+    }
+
+    private long epoch(Instant instant) {
+        return Math.floorDiv(instant.toEpochMilli(), bucketMillis);
+    }
+}
@@ -0,0 +1,48 @@
+package bookrepo.recommendation;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeSet;
+
+final class SpaceSaving {
+    private final int capacity;
+    private final Map<Long, Counter> counters = new HashMap<>();
+    private final TreeSet<Counter> byCount = new TreeSet<>(Comparator
+            .comparingLong(Counter::count)
+            .thenComparing(Counter::item));
+
+    SpaceSaving(int capacity) {
+        this.capacity = capacity;
+    }
+
+    void offer(Long item, long amount) {
+        Counter counter = counters.get(item);
+        if (counter != null) {
+            byCount.remove(counter);
+            counter = new Counter(item, counter.count() + amount);
+        } else if (counters.size() < capacity) {
+            counter = new Counter(item, amount);
+        } else {
+            // Evict the smallest counter; its count bounds the new item's overestimate.
+            Counter smallest = byCount.pollFirst();
+            counters.remove(smallest.item());
+            counter = new Counter(item, smallest.count() + amount);
+        }
+        counters.put(item, counter);
+        byCount.add(counter);
+    }
+
+    void addTo(Map<Long, Long> totals) {
+        counters.values().forEach(counter ->
+                totals.merge(counter.item(), counter.count(), Long::sum));
+    }
+
+    void clear() {
+        counters.clear();
+        byCount.clear();
+    }
+
+    private record Counter(Long item, long count) {
+    }
+}
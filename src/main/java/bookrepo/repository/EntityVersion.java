@@ -0,0 +1,4 @@
+package bookrepo.repository;
+
+public record EntityVersion(Long id, Long version) {
+}
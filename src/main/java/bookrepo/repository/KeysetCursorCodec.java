@@ -0,0 +1,69 @@
+package bookrepo.repository;
+
+import bookrepo.exception.InvalidRequestException;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.stereotype.Component;
+
+@Component
+public class KeysetCursorCodec {
+    private static final String ID = "id";
+    private static final String SEPARATOR = "|";
+    private static final int PARTS = 4;
+
+    public ScrollPosition decode(String cursor, Sort.Order order,
+                                 Function<String, Object> keyParser) {
+        if (cursor == null || cursor.isBlank()) {
+            return ScrollPosition.keyset();
+        }
+        String[] parts = decodeParts(cursor);
+        if (!parts[0].equals(order.getProperty())
+                || !parts[1].equals(order.getDirection().name())) {
+            throw new InvalidRequestException("Cursor was issued for a different sort order");
+        }
+        try {
+            Map<String, Object> keys = new LinkedHashMap<>();
+            keys.put(order.getProperty(), keyParser.apply(parts[3]));
+            keys.put(ID, Long.valueOf(parts[2]));
+            return ScrollPosition.forward(keys);
+        } catch (IllegalArgumentException e) {
+            throw new InvalidRequestException("Invalid cursor: " + cursor);
+        }
+    }
+
+    public String encode(Window<?> window, Sort.Order order) {
+        if (!window.hasNext() || window.isEmpty()) {
+            return null;
+        }
+        Map<String, Object> keys =
+                ((KeysetScrollPosition) window.positionAt(window.size() - 1)).getKeys();
+        String token = String.join(SEPARATOR,
+                order.getProperty(),
+                order.getDirection().name(),
+                String.valueOf(keys.get(ID)),
+                String.valueOf(keys.get(order.getProperty())));
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(token.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private String[] decodeParts(String cursor) {
+        try {
+            String token = new String(Base64.getUrlDecoder().decode(cursor),
+                    StandardCharsets.UTF_8);
+            String[] parts = token.split("\\" + SEPARATOR, PARTS);
+            if (parts.length != PARTS) {
+                throw new InvalidRequestException("Invalid cursor: " + cursor);
+            }
+            return parts;
+        } catch (IllegalArgumentException e) {
+            throw new InvalidRequestException("Invalid cursor: " + cursor);
+        }
+    }
+}
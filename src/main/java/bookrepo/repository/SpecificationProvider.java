@@ -1,10 +1,15 @@
 package bookrepo.repository;
 
 import bookrepo.model.Book;
+import jakarta.persistence.Query;
 import org.springframework.data.jpa.domain.Specification;
 
 public interface SpecificationProvider<T> {
     String getKey();
 
     Specification<Book> getSpecification(String[] params);
+
+    String getCondition(String alias, String[] params);
+
+    void bindParameters(Query query, String[] params);
 }
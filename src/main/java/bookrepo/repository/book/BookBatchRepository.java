@@ -0,0 +1,129 @@
+package bookrepo.repository.book;
+
+import bookrepo.dto.book.BookDto;
+import bookrepo.dto.book.CreateBookRequestDto;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+@Repository
+@RequiredArgsConstructor
+public class BookBatchRepository {
+    private static final String INSERT_BOOK = "INSERT INTO books "
+            + "(title, author, isbn, price, description, cover_image, is_deleted) "
+            + "VALUES (?, ?, ?, ?, ?, ?, false)";
+    private static final String INSERT_BOOK_CATEGORY =
+            "INSERT INTO books_categories (book_id, category_id) VALUES (?, ?)";
+    private static final String SELECT_CATEGORY_IDS =
+            "SELECT id FROM categories WHERE is_deleted = false AND id IN (:ids)";
+    private static final String SELECT_ISBNS = "SELECT isbn FROM books WHERE isbn IN (:isbns)";
+    private static final String SELECT_IDS_BY_ISBN =
+            "SELECT id, isbn FROM books WHERE isbn IN (:isbns)";
+
+    private static final String SELECT_LIVE_BOOKS_WITH_CATEGORIES = "SELECT b.id, b.title, "
+            + "b.author, b.isbn, b.price, b.description, b.cover_image, c.id AS category_id "
+            + "FROM books b "
+            + "LEFT JOIN books_categories bc ON bc.book_id = b.id "
+            + "LEFT JOIN categories c ON c.id = bc.category_id AND c.is_deleted = false "
+            + "WHERE b.is_deleted = false "
+            + "ORDER BY b.id";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+
+    public Set<Long> findExistingCategoryIds(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return Set.of();
+        }
+        return new HashSet<>(namedParameterJdbcTemplate.queryForList(SELECT_CATEGORY_IDS,
+                Map.of("ids", ids), Long.class));
+    }
+
+    public Set<String> findExistingIsbns(Collection<String> isbns) {
+        if (isbns.isEmpty()) {
+            return Set.of();
+        }
+        return new HashSet<>(namedParameterJdbcTemplate.queryForList(SELECT_ISBNS,
+                Map.of("isbns", isbns), String.class));
+    }
+
+    public Map<String, Long> findIdsByIsbn(Collection<String> isbns) {
+        Map<String, Long> ids = new HashMap<>();
+        if (!isbns.isEmpty()) {
+            namedParameterJdbcTemplate.query(SELECT_IDS_BY_ISBN, Map.of("isbns", isbns),
+                    resultSet -> {
+                        ids.put(resultSet.getString("isbn"), resultSet.getLong("id"));
+                    });
+        }
+        return ids;
+    }
+
+    public void forEachLiveBook(int fetchSize, Consumer<BookDto> consumer) {
+        BookDto[] current = new BookDto[1];
+        jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(
+                    SELECT_LIVE_BOOKS_WITH_CATEGORIES,
+                    ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            statement.setFetchSize(fetchSize);
+            return statement;
+        }, resultSet -> {
+            long id = resultSet.getLong("id");
+            BookDto book = current[0];
+            if (book == null || book.getId() != id) {
+                if (book != null) {
+                    consumer.accept(book);
+                }
+                book = new BookDto();
+                book.setId(id);
+                book.setTitle(resultSet.getString("title"));
+                book.setAuthor(resultSet.getString("author"));
+                book.setIsbn(resultSet.getString("isbn"));
+                book.setPrice(resultSet.getBigDecimal("price"));
+                book.setDescription(resultSet.getString("description"));
+                book.setCoverImage(resultSet.getString("cover_image"));
+                book.setCategoryIds(new LinkedHashSet<>());
+                current[0] = book;
+            }
+            long categoryId = resultSet.getLong("category_id");
+            if (!resultSet.wasNull()) {
+                book.getCategoryIds().add(categoryId);
+            }
+        });
+        if (current[0] != null) {
+            consumer.accept(current[0]);
+        }
+    }
+
+    public void insertBooks(List<CreateBookRequestDto> books, int batchSize) {
+        jdbcTemplate.batchUpdate(INSERT_BOOK, books, batchSize, (statement, book) -> {
+            statement.setString(1, book.getTitle());
+            statement.setString(2, book.getAuthor());
+            statement.setString(3, book.getIsbn());
+            statement.setBigDecimal(4, book.getPrice());
+            statement.setString(5, book.getDescription());
+            statement.setString(6, book.getCoverImage());
+        });
+    }
+
+    public void insertBookCategories(Map<Long, Set<Long>> categoryIdsByBookId, int batchSize) {
+        List<long[]> rows = new ArrayList<>();
+        categoryIdsByBookId.forEach((bookId, categoryIds) ->
+                categoryIds.forEach(categoryId -> rows.add(new long[]{bookId, categoryId})));
+        jdbcTemplate.batchUpdate(INSERT_BOOK_CATEGORY, rows, batchSize, (statement, row) -> {
+            statement.setLong(1, row[0]);
+            statement.setLong(2, row[1]);
+        });
+    }
+}
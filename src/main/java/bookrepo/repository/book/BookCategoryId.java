@@ -0,0 +1,4 @@
+package bookrepo.repository.book;
+
+public record BookCategoryId(Long bookId, Long categoryId) {
+}
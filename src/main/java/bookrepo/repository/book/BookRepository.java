@@ -1,17 +1,62 @@
 package bookrepo.repository.book;
 
+import bookrepo.dto.book.BookView;
 import bookrepo.model.Book;
+import jakarta.persistence.QueryHint;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
-public interface BookRepository extends JpaRepository<Book, Long>, JpaSpecificationExecutor<Book> {
+public interface BookRepository extends JpaRepository<Book, Long>, JpaSpecificationExecutor<Book>,
+        BookSearchRepository {
+    String BOOK_VIEW = "SELECT new bookrepo.dto.book.BookView(b.id, b.title, b.author, "
+            + "b.isbn, b.price, b.description, b.coverImage) ";
+
     List<Book> findAllByCategories_Id(Long categoryId);
 
+    @Query(value = BOOK_VIEW + "FROM Book b",
+            countQuery = "SELECT COUNT(b) FROM Book b")
+    Page<BookView> findAllViews(Pageable pageable);
+
+    @Query(BOOK_VIEW + "FROM Book b WHERE b.id IN :ids")
+    List<BookView> findAllViewsById(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT new bookrepo.repository.book.BookCategoryId(b.id, c.id) "
+            + "FROM Book b JOIN b.categories c WHERE b.id IN :bookIds")
+    List<BookCategoryId> findCategoryIdsByBookIds(@Param("bookIds") Collection<Long> bookIds);
+
+    @Query("SELECT b.coverImage FROM Book b WHERE b.id = :id")
+    Optional<String> findCoverImageById(@Param("id") Long id);
+
+    @Query("SELECT b.version FROM Book b WHERE b.id = :id")
+    Optional<Long> findVersionById(@Param("id") Long id);
+
+    @Query("SELECT b.id FROM Book b JOIN b.categories c WHERE c.id = :categoryId")
+    List<Long> findIdsByCategoryId(@Param("categoryId") Long categoryId);
+
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE Book b SET b.version = b.version + 1 WHERE b.id IN :ids")
+    int incrementVersions(@Param("ids") Collection<Long> ids);
+
     @Query("SELECT b FROM Book b JOIN FETCH b.categories WHERE b.id = :id")
     Optional<Book> findByIdWithCategories(@Param("id") Long id);
 
+    @Query("SELECT b FROM Book b LEFT JOIN FETCH b.categories WHERE b.id IN :ids")
+    List<Book> findAllByIdWithCategories(@Param("ids") Collection<? extends Long> ids);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    Stream<Book> streamAllBy();
 }
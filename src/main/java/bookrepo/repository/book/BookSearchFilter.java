@@ -0,0 +1,43 @@
+package bookrepo.repository.book;
+
+import bookrepo.dto.book.BookSearchParameters;
+import java.math.BigDecimal;
+import java.util.function.Function;
+
+public enum BookSearchFilter {
+    AUTHOR("author", BookSearchParameters::authors),
+    TITLE("title", BookSearchParameters::titles),
+    ISBN("isbn", BookSearchParameters::isbns),
+    DESCRIPTION("description", BookSearchParameters::descriptions),
+    COVER_IMAGE("coverImage", BookSearchParameters::coverImages),
+    PRICE("price", BookSearchParameters::prices),
+    PRICE_RANGE("priceRange", BookSearchFilter::priceRange);
+
+    private final String key;
+    private final Function<BookSearchParameters, String[]> values;
+
+    BookSearchFilter(String key, Function<BookSearchParameters, String[]> values) {
+        this.key = key;
+        this.values = values;
+    }
+
+    public String getKey() {
+        return key;
+    }
+
+    public String[] values(BookSearchParameters params) {
+        String[] result = values.apply(params);
+        return result == null || result.length == 0 ? null : result;
+    }
+
+    private static String[] priceRange(BookSearchParameters params) {
+        if (params.minPrice() == null && params.maxPrice() == null) {
+            return null;
+        }
+        return new String[]{toPlainString(params.minPrice()), toPlainString(params.maxPrice())};
+    }
+
+    private static String toPlainString(BigDecimal value) {
+        return value == null ? null : value.toPlainString();
+    }
+}
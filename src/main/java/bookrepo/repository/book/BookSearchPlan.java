@@ -0,0 +1,145 @@
+package bookrepo.repository.book;
+
+import bookrepo.dto.book.BookSearchParameters;
+import bookrepo.dto.book.BookView;
+import bookrepo.model.Book;
+import bookrepo.repository.SpecificationProvider;
+import bookrepo.repository.SpecificationProviderManager;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import org.springframework.data.domain.Sort;
+
+public final class BookSearchPlan {
+    private static final String SELECT_BOOK = "SELECT b ";
+    private static final String ALIAS = "b";
+    private static final String FROM = "FROM Book " + ALIAS;
+    private static final String ID = "id";
+    private static final String ID_PATH = ALIAS + ".id";
+    private static final Map<String, String> SCROLL_PATHS = Map.of(
+            ID, ID_PATH,
+            "title", ALIAS + ".title",
+            "author", ALIAS + ".author",
+            "price", ALIAS + ".price"
+    );
+
+    private final List<Filter> filters;
+    private final List<String> conditions;
+    private final String body;
+
+    private BookSearchPlan(List<Filter> filters, List<String> conditions, String body) {
+        this.filters = filters;
+        this.conditions = conditions;
+        this.body = body;
+    }
+
+    public static BookSearchPlan compile(BookSearchParameters params,
+                                         SpecificationProviderManager<Book> providers) {
+        List<Filter> filters = new ArrayList<>();
+        List<String> conditions = new ArrayList<>();
+        for (BookSearchFilter filter : BookSearchFilter.values()) {
+            String[] values = filter.values(params);
+            if (values != null) {
+                SpecificationProvider<Book> provider =
+                        providers.getSpecificationProvider(filter.getKey());
+                filters.add(new Filter(filter, provider));
+                conditions.add(provider.getCondition(ALIAS, values));
+            }
+        }
+
+        StringBuilder body = new StringBuilder(FROM).append(where(conditions));
+        if (params.priceSort() != null) {
+            body.append(" ORDER BY b.price ").append(params.priceSort().name())
+                    .append(", b.id ASC");
+        }
+        return new BookSearchPlan(List.copyOf(filters), List.copyOf(conditions),
+                body.toString());
+    }
+
+    public TypedQuery<Book> createQuery(EntityManager entityManager,
+                                        BookSearchParameters params) {
+        return createQuery(entityManager, params, SELECT_BOOK + body, Book.class);
+    }
+
+    public TypedQuery<BookView> createViewQuery(EntityManager entityManager,
+                                                BookSearchParameters params) {
+        return createQuery(entityManager, params, BookRepository.BOOK_VIEW + body,
+                BookView.class);
+    }
+
+    // Orders by the scroll property and then id; the price sort of the search is ignored.
+    public TypedQuery<BookView> createScrollQuery(EntityManager entityManager,
+                                                  BookSearchParameters params,
+                                                  Sort.Order order,
+                                                  Map<String, Object> after) {
+        String path = SCROLL_PATHS.get(order.getProperty());
+        if (path == null) {
+            throw new IllegalArgumentException("Can't scroll books by: " + order.getProperty());
+        }
+        boolean byId = path.equals(ID_PATH);
+        String comparison = order.isAscending() ? " > " : " < ";
+        String direction = " " + order.getDirection().name();
+        boolean afterKeyset = after != null && !after.isEmpty();
+
+        List<String> scrollConditions = new ArrayList<>(conditions);
+        if (afterKeyset) {
+            scrollConditions.add(byId
+                    ? ID_PATH + comparison + ":afterId"
+                    : "(" + path + comparison + ":afterKey OR (" + path + " = :afterKey AND "
+                            + ID_PATH + comparison + ":afterId))");
+        }
+        String orderBy = byId
+                ? ID_PATH + direction
+                : path + direction + ", " + ID_PATH + direction;
+        TypedQuery<BookView> query = createQuery(entityManager, params,
+                BookRepository.BOOK_VIEW + FROM + where(scrollConditions)
+                        + " ORDER BY " + orderBy,
+                BookView.class);
+        if (afterKeyset) {
+            query.setParameter("afterId", after.get(ID));
+            if (!byId) {
+                query.setParameter("afterKey", after.get(order.getProperty()));
+            }
+        }
+        return query;
+    }
+
+    public String getJpql() {
+        return SELECT_BOOK + body;
+    }
+
+    private <T> TypedQuery<T> createQuery(EntityManager entityManager,
+                                          BookSearchParameters params,
+                                          String jpql, Class<T> resultType) {
+        TypedQuery<T> query = entityManager.createQuery(jpql, resultType);
+        filters.forEach(filter -> filter.provider()
+                .bindParameters(query, filter.filter().values(params)));
+        return query;
+    }
+
+    private static String where(List<String> conditions) {
+        return conditions.isEmpty() ? "" : " WHERE " + String.join(" AND ", conditions);
+    }
+
+    public record Shape(List<List<Boolean>> filters, Sort.Direction priceSort) {
+        public static Shape of(BookSearchParameters params) {
+            List<List<Boolean>> filters = new ArrayList<>();
+            for (BookSearchFilter filter : BookSearchFilter.values()) {
+                String[] values = filter.values(params);
+                List<Boolean> present = new ArrayList<>();
+                if (values != null) {
+                    for (String value : values) {
+                        present.add(value != null);
+                    }
+                }
+                filters.add(present);
+            }
+            return new Shape(List.copyOf(filters), params.priceSort());
+        }
+    }
+
+    private record Filter(BookSearchFilter filter, SpecificationProvider<Book> provider) {
+    }
+}
@@ -0,0 +1,78 @@
+package bookrepo.repository.book;
+
+import bookrepo.dto.book.BookSearchParameters;
+import bookrepo.model.Book;
+import bookrepo.repository.SpecificationProviderManager;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import java.util.concurrent.atomic.LongAdder;
+import org.springframework.stereotype.Component;
+
+@Component
+public class BookSearchPlanCache implements MeterBinder {
+    public static final int MAX_PLANS = 256;
+    private static final String METRIC_PREFIX = "book.search.plan.cache";
+
+    private final SpecificationProviderManager<Book> bookSpecificationProviderManager;
+    private final Cache<BookSearchPlan.Shape, BookSearchPlan> plans = Caffeine.newBuilder()
+            .maximumSize(MAX_PLANS)
+            .executor(Runnable::run)
+            .build();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    public BookSearchPlanCache(
+            SpecificationProviderManager<Book> bookSpecificationProviderManager) {
+        this.bookSpecificationProviderManager = bookSpecificationProviderManager;
+    }
+
+    public BookSearchPlan getPlan(BookSearchParameters params) {
+        BookSearchPlan.Shape shape = BookSearchPlan.Shape.of(params);
+        BookSearchPlan plan = plans.getIfPresent(shape);
+        if (plan != null) {
+            hits.increment();
+            return plan;
+        }
+        misses.increment();
+        return plans.get(shape, key ->
+                BookSearchPlan.compile(params, bookSpecificationProviderManager));
+    }
+
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    public double getHitRatio() {
+        long hitCount = hits.sum();
+        long total = hitCount + misses.sum();
+        return total == 0 ? 0 : (double) hitCount / total;
+    }
+
+    public int size() {
+        return (int) plans.estimatedSize();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder(METRIC_PREFIX + ".gets", hits, LongAdder::sum)
+                .tag("result", "hit")
+                .description("Search plan lookups served from the cache")
+                .register(registry);
+        FunctionCounter.builder(METRIC_PREFIX + ".gets", misses, LongAdder::sum)
+                .tag("result", "miss")
+                .description("Search plan lookups that compiled a new query")
+                .register(registry);
+        Gauge.builder(METRIC_PREFIX + ".hit.ratio", this, BookSearchPlanCache::getHitRatio)
+                .register(registry);
+        Gauge.builder(METRIC_PREFIX + ".size", this, BookSearchPlanCache::size)
+                .register(registry);
+    }
+}
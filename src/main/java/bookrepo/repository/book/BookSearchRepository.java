@@ -0,0 +1,18 @@
+package bookrepo.repository.book;
+
+import bookrepo.dto.book.BookSearchParameters;
+import bookrepo.dto.book.BookView;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import org.springframework.data.domain.Sort;
+
+public interface BookSearchRepository {
+    List<BookView> search(BookSearchParameters params);
+
+    List<BookView> scroll(BookSearchParameters params, Sort.Order order,
+                          Map<String, Object> after, int limit);
+
+    void forEachWindow(BookSearchParameters params, int fetchSize,
+                       Consumer<List<BookView>> consumer);
+}
@@ -0,0 +1,58 @@
+package bookrepo.repository.book;
+
+import bookrepo.dto.book.BookSearchParameters;
+import bookrepo.dto.book.BookView;
+import jakarta.persistence.EntityManager;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Sort;
+
+@RequiredArgsConstructor
+public class BookSearchRepositoryImpl implements BookSearchRepository {
+    private final EntityManager entityManager;
+    private final BookSearchPlanCache bookSearchPlanCache;
+
+    @Override
+    public List<BookView> search(BookSearchParameters params) {
+        return bookSearchPlanCache.getPlan(params)
+                .createViewQuery(entityManager, params)
+                .getResultList();
+    }
+
+    @Override
+    public List<BookView> scroll(BookSearchParameters params, Sort.Order order,
+                                 Map<String, Object> after, int limit) {
+        return bookSearchPlanCache.getPlan(params)
+                .createScrollQuery(entityManager, params, order, after)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    @Override
+    public void forEachWindow(BookSearchParameters params, int fetchSize,
+                              Consumer<List<BookView>> consumer) {
+        try (Stream<BookView> views = bookSearchPlanCache.getPlan(params)
+                .createViewQuery(entityManager, params)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, fetchSize)
+                .getResultStream()) {
+            List<BookView> window = new ArrayList<>(fetchSize);
+            Iterator<BookView> iterator = views.iterator();
+            while (iterator.hasNext()) {
+                window.add(iterator.next());
+                if (window.size() == fetchSize) {
+                    consumer.accept(window);
+                    window = new ArrayList<>(fetchSize);
+                }
+            }
+            if (!window.isEmpty()) {
+                consumer.accept(window);
+            }
+        }
+    }
+}
@@ -4,6 +4,9 @@ import bookrepo.model.Book;
 import bookrepo.repository.SpecificationProvider;
 import bookrepo.repository.SpecificationProviderManager;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
 
@@ -11,13 +14,25 @@ import org.springframework.stereotype.Component;
 @Component
 public class BookSpecificationProviderManager implements SpecificationProviderManager<Book> {
     private final List<SpecificationProvider<Book>> bookSpecificationProviders;
+    private volatile Map<String, SpecificationProvider<Book>> providersByKey;
 
     @Override
     public SpecificationProvider<Book> getSpecificationProvider(String key) {
-        return bookSpecificationProviders.stream()
-                .filter(b -> b.getKey().equals(key))
-                .findFirst()
-                .orElseThrow(() ->
-                        new RuntimeException("No specification provider found for key: " + key));
+        SpecificationProvider<Book> provider = getProvidersByKey().get(key);
+        if (provider == null) {
+            throw new RuntimeException("No specification provider found for key: " + key);
+        }
+        return provider;
+    }
+
+    private Map<String, SpecificationProvider<Book>> getProvidersByKey() {
+        Map<String, SpecificationProvider<Book>> providers = providersByKey;
+        if (providers == null) {
+            providers = bookSpecificationProviders.stream()
+                    .collect(Collectors.toUnmodifiableMap(SpecificationProvider::getKey,
+                            Function.identity(), (first, second) -> first));
+            providersByKey = providers;
+        }
+        return providers;
     }
 }
@@ -0,0 +1,104 @@
+package bookrepo.repository.book;
+
+import bookrepo.dto.book.BookView;
+import bookrepo.repository.EntityVersion;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+@Repository
+@RequiredArgsConstructor
+public class CategoryBookRepository {
+    private static final String ID = "id";
+    private static final String BOOK_ID_COLUMN = "bc.book_id";
+    private static final Map<String, String> SORT_COLUMNS = Map.of(
+            ID, BOOK_ID_COLUMN,
+            "title", "b.title",
+            "author", "b.author",
+            "price", "b.price"
+    );
+    private static final String BOOK_COLUMNS = "b.id, b.title, b.author, b.isbn, b.price, "
+            + "b.description, b.cover_image";
+    private static final String VERSION_COLUMNS = "b.id, b.version";
+    private static final String SELECT_PAGE = "SELECT c.id AS category_id, %s "
+            + "FROM categories c "
+            + "LEFT JOIN (books_categories bc "
+            + "JOIN books b ON b.id = bc.book_id AND b.is_deleted = false) "
+            + "ON bc.category_id = c.id%s "
+            + "WHERE c.id = :categoryId AND c.is_deleted = false "
+            + "ORDER BY %s "
+            + "LIMIT :limit";
+
+    private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+
+    public Optional<List<BookView>> findPage(Long categoryId, Sort.Order order,
+                                             Map<String, Object> after, int limit) {
+        return query(BOOK_COLUMNS, categoryId, order, after, limit,
+                (resultSet, id) -> new BookView(id,
+                        resultSet.getString("title"),
+                        resultSet.getString("author"),
+                        resultSet.getString("isbn"),
+                        resultSet.getBigDecimal("price"),
+                        resultSet.getString("description"),
+                        resultSet.getString("cover_image")));
+    }
+
+    // Reads the same slice as findPage, without the columns a conditional request never needs.
+    public Optional<List<EntityVersion>> findVersions(Long categoryId, Sort.Order order,
+                                                      Map<String, Object> after, int limit) {
+        return query(VERSION_COLUMNS, categoryId, order, after, limit,
+                (resultSet, id) -> new EntityVersion(id, resultSet.getLong("version")));
+    }
+
+    private <T> Optional<List<T>> query(String columns, Long categoryId, Sort.Order order,
+                                        Map<String, Object> after, int limit,
+                                        BookRowMapper<T> rowMapper) {
+        String column = SORT_COLUMNS.get(order.getProperty());
+        String direction = order.getDirection().name();
+        String comparison = order.isAscending() ? " > " : " < ";
+        Map<String, Object> params = new HashMap<>();
+        params.put("categoryId", categoryId);
+        params.put("limit", limit);
+
+        String keyset = "";
+        if (after != null && !after.isEmpty()) {
+            params.put("afterId", after.get(ID));
+            if (column.equals(BOOK_ID_COLUMN)) {
+                keyset = " AND " + BOOK_ID_COLUMN + comparison + ":afterId";
+            } else {
+                params.put("afterKey", after.get(order.getProperty()));
+                keyset = " AND (" + column + comparison + ":afterKey OR (" + column
+                        + " = :afterKey AND " + BOOK_ID_COLUMN + comparison + ":afterId))";
+            }
+        }
+        String orderBy = column.equals(BOOK_ID_COLUMN)
+                ? BOOK_ID_COLUMN + " " + direction
+                : column + " " + direction + ", " + BOOK_ID_COLUMN + " " + direction;
+
+        boolean[] categoryFound = new boolean[1];
+        List<T> books = new ArrayList<>();
+        namedParameterJdbcTemplate.query(SELECT_PAGE.formatted(columns, keyset, orderBy), params,
+                resultSet -> {
+                    categoryFound[0] = true;
+                    long id = resultSet.getLong("id");
+                    if (resultSet.wasNull()) {
+                        return;
+                    }
+                    books.add(rowMapper.map(resultSet, id));
+                });
+        return categoryFound[0] ? Optional.of(books) : Optional.empty();
+    }
+
+    @FunctionalInterface
+    private interface BookRowMapper<T> {
+        T map(ResultSet resultSet, long id) throws SQLException;
+    }
+}
@@ -1,23 +1,12 @@
 package bookrepo.repository.book.spec;
 
-import bookrepo.model.Book;
-import bookrepo.repository.SpecificationProvider;
-import java.util.Arrays;
-import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Component;
 
 @Component
-public class IsbnSpecificationProvider implements SpecificationProvider<Book> {
+public class IsbnSpecificationProvider extends ValueInSpecificationProvider {
     private static final String ISBN = "isbn";
 
-    @Override
-    public String getKey() {
-        return ISBN;
-    }
-
-    @Override
-    public Specification<Book> getSpecification(String[] params) {
-        return (root, query, criteriaBuilder) ->
-                root.get(ISBN).in(Arrays.stream(params).toArray());
+    public IsbnSpecificationProvider() {
+        super(ISBN);
     }
 }
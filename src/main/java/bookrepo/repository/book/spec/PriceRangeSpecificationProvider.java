@@ -0,0 +1,79 @@
+package bookrepo.repository.book.spec;
+
+import bookrepo.exception.InvalidRequestException;
+import bookrepo.model.Book;
+import bookrepo.repository.SpecificationProvider;
+import jakarta.persistence.Query;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Component;
+
+@Component
+public class PriceRangeSpecificationProvider implements SpecificationProvider<Book> {
+    private static final String PRICE_RANGE = "priceRange";
+    private static final String PRICE = "price";
+    private static final String MIN_PRICE = "minPrice";
+    private static final String MAX_PRICE = "maxPrice";
+
+    @Override
+    public String getKey() {
+        return PRICE_RANGE;
+    }
+
+    @Override
+    public Specification<Book> getSpecification(String[] params) {
+        Bounds bounds = Bounds.parse(params);
+        return (root, query, criteriaBuilder) -> {
+            Path<BigDecimal> price = root.get(PRICE);
+            List<Predicate> predicates = new ArrayList<>(2);
+            if (bounds.min() != null) {
+                predicates.add(criteriaBuilder.greaterThanOrEqualTo(price, bounds.min()));
+            }
+            if (bounds.max() != null) {
+                predicates.add(criteriaBuilder.lessThanOrEqualTo(price, bounds.max()));
+            }
+            return criteriaBuilder.and(predicates.toArray(Predicate[]::new));
+        };
+    }
+
+    @Override
+    public String getCondition(String alias, String[] params) {
+        List<String> conditions = new ArrayList<>(2);
+        if (params.length > 0 && params[0] != null) {
+            conditions.add(alias + "." + PRICE + " >= :" + MIN_PRICE);
+        }
+        if (params.length > 1 && params[1] != null) {
+            conditions.add(alias + "." + PRICE + " <= :" + MAX_PRICE);
+        }
+        return String.join(" AND ", conditions);
+    }
+
+    @Override
+    public void bindParameters(Query query, String[] params) {
+        Bounds bounds = Bounds.parse(params);
+        if (bounds.min() != null) {
+            query.setParameter(MIN_PRICE, bounds.min());
+        }
+        if (bounds.max() != null) {
+            query.setParameter(MAX_PRICE, bounds.max());
+        }
+    }
+
+    private record Bounds(BigDecimal min, BigDecimal max) {
+        private static Bounds parse(String[] params) {
+            BigDecimal min = params.length > 0 && params[0] != null
+                    ? PriceSpecificationProvider.parsePrice(params[0]) : null;
+            BigDecimal max = params.length > 1 && params[1] != null
+                    ? PriceSpecificationProvider.parsePrice(params[1]) : null;
+            if (min != null && max != null && min.compareTo(max) > 0) {
+                throw new InvalidRequestException("Min price " + min
+                        + " must not be greater than max price " + max);
+            }
+            return new Bounds(min, max);
+        }
+    }
+}
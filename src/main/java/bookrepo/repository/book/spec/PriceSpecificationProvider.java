@@ -1,23 +1,27 @@
 package bookrepo.repository.book.spec;
 
-import bookrepo.model.Book;
-import bookrepo.repository.SpecificationProvider;
-import java.util.Arrays;
-import org.springframework.data.jpa.domain.Specification;
+import bookrepo.exception.InvalidRequestException;
+import java.math.BigDecimal;
 import org.springframework.stereotype.Component;
 
 @Component
-public class PriceSpecificationProvider implements SpecificationProvider<Book> {
+public class PriceSpecificationProvider extends ValueInSpecificationProvider {
     private static final String PRICE = "price";
 
-    @Override
-    public String getKey() {
-        return PRICE;
+    public PriceSpecificationProvider() {
+        super(PRICE);
     }
 
     @Override
-    public Specification<Book> getSpecification(String[] params) {
-        return (root, query, criteriaBuilder) ->
-                root.get(PRICE).in(Arrays.stream(params).toArray());
+    protected Object convert(String param) {
+        return parsePrice(param);
+    }
+
+    public static BigDecimal parsePrice(String price) {
+        try {
+            return new BigDecimal(price.trim());
+        } catch (NumberFormatException e) {
+            throw new InvalidRequestException("Invalid price: " + price);
+        }
     }
 }
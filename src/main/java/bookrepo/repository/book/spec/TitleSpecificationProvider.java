@@ -1,23 +1,12 @@
 package bookrepo.repository.book.spec;
 
-import bookrepo.model.Book;
-import bookrepo.repository.SpecificationProvider;
-import java.util.Arrays;
-import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Component;
 
 @Component
-public class TitleSpecificationProvider implements SpecificationProvider<Book> {
+public class TitleSpecificationProvider extends ValueInSpecificationProvider {
     private static final String TITLE = "title";
 
-    @Override
-    public String getKey() {
-        return TITLE;
-    }
-
-    @Override
-    public Specification<Book> getSpecification(String[] params) {
-        return (root, query, criteriaBuilder) ->
-                root.get(TITLE).in(Arrays.stream(params).toArray());
+    public TitleSpecificationProvider() {
+        super(TITLE);
     }
 }
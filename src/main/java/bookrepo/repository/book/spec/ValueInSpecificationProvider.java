@@ -0,0 +1,52 @@
+package bookrepo.repository.book.spec;
+
+import bookrepo.model.Book;
+import bookrepo.repository.SpecificationProvider;
+import jakarta.persistence.Query;
+import java.util.Arrays;
+import java.util.StringJoiner;
+import org.springframework.data.jpa.domain.Specification;
+
+public abstract class ValueInSpecificationProvider implements SpecificationProvider<Book> {
+    private final String property;
+
+    protected ValueInSpecificationProvider(String property) {
+        this.property = property;
+    }
+
+    @Override
+    public String getKey() {
+        return property;
+    }
+
+    @Override
+    public Specification<Book> getSpecification(String[] params) {
+        Object[] values = convert(params);
+        return (root, query, criteriaBuilder) -> root.get(property).in(values);
+    }
+
+    @Override
+    public String getCondition(String alias, String[] params) {
+        StringJoiner placeholders = new StringJoiner(", ", alias + "." + property + " IN (", ")");
+        for (int i = 0; i < params.length; i++) {
+            placeholders.add(":" + property + i);
+        }
+        return placeholders.toString();
+    }
+
+    @Override
+    public void bindParameters(Query query, String[] params) {
+        Object[] values = convert(params);
+        for (int i = 0; i < values.length; i++) {
+            query.setParameter(property + i, values[i]);
+        }
+    }
+
+    protected Object convert(String param) {
+        return param;
+    }
+
+    private Object[] convert(String[] params) {
+        return Arrays.stream(params).map(this::convert).toArray();
+    }
+}
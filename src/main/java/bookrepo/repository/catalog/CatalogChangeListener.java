@@ -0,0 +1,37 @@
+package bookrepo.repository.catalog;
+
+import bookrepo.model.Book;
+import bookrepo.model.CatalogEntityType;
+import bookrepo.model.Category;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+public class CatalogChangeListener {
+    private final CatalogChangeRepository catalogChangeRepository;
+
+    @PostPersist
+    @PostUpdate
+    public void onSave(Object entity) {
+        record(entity, false);
+    }
+
+    @PostRemove
+    public void onRemove(Object entity) {
+        record(entity, true);
+    }
+
+    private void record(Object entity, boolean deleted) {
+        if (entity instanceof Book book) {
+            catalogChangeRepository.record(CatalogEntityType.BOOK, List.of(book.getId()), deleted);
+        } else if (entity instanceof Category category) {
+            catalogChangeRepository.record(CatalogEntityType.CATEGORY,
+                    List.of(category.getId()), deleted);
+        }
+    }
+}
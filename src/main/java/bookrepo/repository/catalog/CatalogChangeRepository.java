@@ -0,0 +1,103 @@
+package bookrepo.repository.catalog;
+
+import bookrepo.dto.book.BookChangeDto;
+import bookrepo.dto.book.BookDto;
+import bookrepo.model.CatalogEntityType;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.function.Consumer;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+@Repository
+@RequiredArgsConstructor
+public class CatalogChangeRepository {
+    private static final String INCREMENT_VERSION = "UPDATE catalog_version "
+            + "SET version = LAST_INSERT_ID(version + 1) WHERE id = 1";
+    private static final String SELECT_INCREMENTED_VERSION = "SELECT LAST_INSERT_ID()";
+    private static final String SELECT_VERSION = "SELECT version FROM catalog_version WHERE id = 1";
+    private static final String UPSERT_CHANGE = "INSERT INTO catalog_changes "
+            + "(entity_type, entity_id, version, deleted) VALUES (?, ?, ?, ?) "
+            + "ON DUPLICATE KEY UPDATE version = VALUES(version), deleted = VALUES(deleted)";
+    private static final String SELECT_BOOK_CHANGES = "SELECT cc.version, cc.entity_id, "
+            + "cc.deleted OR COALESCE(b.is_deleted, true) AS deleted, b.title, b.author, "
+            + "b.isbn, b.price, b.description, b.cover_image, c.id AS category_id "
+            + "FROM catalog_changes cc "
+            + "LEFT JOIN books b ON b.id = cc.entity_id "
+            + "LEFT JOIN books_categories bc ON bc.book_id = b.id "
+            + "LEFT JOIN categories c ON c.id = bc.category_id AND c.is_deleted = false "
+            + "WHERE cc.entity_type = 'BOOK' AND cc.version > ? AND cc.version <= ? "
+            + "ORDER BY cc.version, cc.entity_id";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public long getCurrentVersion() {
+        return jdbcTemplate.queryForObject(SELECT_VERSION, Long.class);
+    }
+
+    public long record(CatalogEntityType type, Collection<Long> ids, boolean deleted) {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            throw new IllegalStateException("Catalog changes must be recorded in a transaction");
+        }
+        jdbcTemplate.update(INCREMENT_VERSION);
+        long version = jdbcTemplate.queryForObject(SELECT_INCREMENTED_VERSION, Long.class);
+        jdbcTemplate.batchUpdate(UPSERT_CHANGE, ids, ids.size(), (statement, id) -> {
+            statement.setString(1, type.name());
+            statement.setLong(2, id);
+            statement.setLong(3, version);
+            statement.setBoolean(4, deleted);
+        });
+        return version;
+    }
+
+    public void forEachBookChange(long since, long until, int fetchSize,
+                                  Consumer<BookChangeDto> consumer) {
+        BookChangeDto[] current = new BookChangeDto[1];
+        jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(SELECT_BOOK_CHANGES,
+                    ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            statement.setFetchSize(fetchSize);
+            statement.setLong(1, since);
+            statement.setLong(2, until);
+            return statement;
+        }, resultSet -> {
+            long id = resultSet.getLong("entity_id");
+            BookChangeDto change = current[0];
+            if (change == null || change.id() != id) {
+                if (change != null) {
+                    consumer.accept(change);
+                }
+                change = resultSet.getBoolean("deleted")
+                        ? new BookChangeDto(resultSet.getLong("version"), id, true, null)
+                        : new BookChangeDto(resultSet.getLong("version"), id, false,
+                                toBook(id, resultSet));
+                current[0] = change;
+            }
+            long categoryId = resultSet.getLong("category_id");
+            if (!resultSet.wasNull() && change.book() != null) {
+                change.book().getCategoryIds().add(categoryId);
+            }
+        });
+        if (current[0] != null) {
+            consumer.accept(current[0]);
+        }
+    }
+
+    private BookDto toBook(long id, ResultSet resultSet) throws SQLException {
+        BookDto book = new BookDto();
+        book.setId(id);
+        book.setTitle(resultSet.getString("title"));
+        book.setAuthor(resultSet.getString("author"));
+        book.setIsbn(resultSet.getString("isbn"));
+        book.setPrice(resultSet.getBigDecimal("price"));
+        book.setDescription(resultSet.getString("description"));
+        book.setCoverImage(resultSet.getString("cover_image"));
+        book.setCategoryIds(new LinkedHashSet<>());
+        return book;
+    }
+}
@@ -1,7 +1,25 @@
 package bookrepo.repository.category;
 
 import bookrepo.model.Category;
+import bookrepo.repository.EntityVersion;
+import jakarta.persistence.QueryHint;
+import java.util.List;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 
-public interface CategoryRepository extends JpaRepository<Category, Long> {
+public interface CategoryRepository extends JpaRepository<Category, Long>,
+        JpaSpecificationExecutor<Category> {
+    @Override
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    List<Category> findAllById(Iterable<Long> ids);
+
+    @Query(value = "SELECT new bookrepo.repository.EntityVersion(c.id, c.version) "
+            + "FROM Category c",
+            countQuery = "SELECT COUNT(c) FROM Category c")
+    Page<EntityVersion> findAllVersions(Pageable pageable);
 }
@@ -0,0 +1,6 @@
+package bookrepo.repository.order;
+
+import java.time.LocalDateTime;
+
+public record BookSale(Long orderId, Long bookId, int quantity, LocalDateTime orderDate) {
+}
@@ -0,0 +1,4 @@
+package bookrepo.repository.order;
+
+public record OrderBookId(Long orderId, Long bookId) {
+}
@@ -1,9 +1,14 @@
 package bookrepo.repository.order;
 
 import bookrepo.model.OrderItem;
+import jakarta.persistence.QueryHint;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.stream.Stream;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
 public interface OrderItemRepository extends JpaRepository<OrderItem, Long> {
@@ -15,4 +20,14 @@ public interface OrderItemRepository extends JpaRepository<OrderItem, Long> {
                                           @Param("userId") Long userId);
 
     List<OrderItem> findAllByOrderId(Long orderId);
+
+    @Query("SELECT new bookrepo.repository.order.OrderBookId(oi.order.id, oi.book.id) "
+            + "FROM OrderItem oi")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    Stream<OrderBookId> streamAllOrderBookIds();
+
+    @Query("SELECT new bookrepo.repository.order.BookSale(o.id, oi.book.id, oi.quantity, "
+            + "o.orderDate) FROM OrderItem oi JOIN oi.order o WHERE o.orderDate >= :since")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    Stream<BookSale> streamSalesSince(@Param("since") LocalDateTime since);
 }
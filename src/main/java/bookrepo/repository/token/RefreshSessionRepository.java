@@ -0,0 +1,35 @@
+package bookrepo.repository.token;
+
+import bookrepo.model.RefreshSession;
+import java.time.LocalDateTime;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+public interface RefreshSessionRepository extends JpaRepository<RefreshSession, String> {
+    @Modifying
+    @Transactional
+    @Query(value = "INSERT INTO refresh_sessions (id, generation, expires_at)"
+            + " VALUES (:id, 0, :expiresAt)", nativeQuery = true)
+    void create(@Param("id") String id, @Param("expiresAt") LocalDateTime expiresAt);
+
+    // Of two requests presenting the same refresh token exactly one moves the generation.
+    @Modifying
+    @Transactional
+    @Query("UPDATE RefreshSession s SET s.generation = s.generation + 1,"
+            + " s.expiresAt = :expiresAt WHERE s.id = :id AND s.generation = :generation")
+    int rotate(@Param("id") String id, @Param("generation") long generation,
+               @Param("expiresAt") LocalDateTime expiresAt);
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM RefreshSession s WHERE s.id = :id")
+    int revoke(@Param("id") String id);
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM RefreshSession s WHERE s.expiresAt <= :now")
+    int deleteExpired(@Param("now") LocalDateTime now);
+}
@@ -0,0 +1,227 @@
+package bookrepo.search;
+
+import bookrepo.dto.book.FacetCountDto;
+import bookrepo.model.Book;
+import bookrepo.model.Category;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Collectors;
+import lombok.extern.slf4j.Slf4j;
+import org.roaringbitmap.RoaringBitmap;
+import org.springframework.stereotype.Component;
+
+@Slf4j
+@Component
+public class BookFacetIndex implements BookIndex {
+    public static final int MAX_AUTHOR_FACETS = 20;
+    private static final BigDecimal[] PRICE_BOUNDS = {
+            BigDecimal.valueOf(10), BigDecimal.valueOf(25),
+            BigDecimal.valueOf(50), BigDecimal.valueOf(100)
+    };
+    private static final String[] PRICE_BANDS = {"0-10", "10-25", "25-50", "50-100", "100+"};
+    private static final Comparator<FacetCountDto> BY_COUNT = Comparator
+            .comparingLong(FacetCountDto::count)
+            .reversed()
+            .thenComparing(FacetCountDto::value);
+
+    private final Map<Long, RoaringBitmap> categories = new HashMap<>();
+    private final Map<String, RoaringBitmap> authors = new HashMap<>();
+    private final RoaringBitmap[] priceBands = new RoaringBitmap[PRICE_BANDS.length];
+    private final Map<Long, FacetKeys> bookKeys = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public BookFacetIndex() {
+        for (int i = 0; i < priceBands.length; i++) {
+            priceBands[i] = new RoaringBitmap();
+        }
+    }
+
+    @Override
+    public void index(Book book) {
+        if (!isIndexable(book.getId())) {
+            log.warn("Book {} is above the facet index id limit and has no facet counts",
+                    book.getId());
+            return;
+        }
+        int id = toBitmapId(book.getId());
+        FacetKeys keys = new FacetKeys(
+                book.getCategories().stream().map(Category::getId).collect(Collectors.toSet()),
+                book.getAuthor() == null ? null : book.getAuthor().trim(),
+                priceBand(book.getPrice()));
+
+        lock.writeLock().lock();
+        try {
+            removeKeys(id, bookKeys.remove(book.getId()));
+            keys.categoryIds().forEach(categoryId ->
+                    categories.computeIfAbsent(categoryId, key -> new RoaringBitmap()).add(id));
+            if (keys.author() != null) {
+                authors.computeIfAbsent(keys.author(), key -> new RoaringBitmap()).add(id);
+            }
+            if (keys.priceBand() >= 0) {
+                priceBands[keys.priceBand()].add(id);
+            }
+            bookKeys.put(book.getId(), keys);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void remove(Long bookId) {
+        if (!isIndexable(bookId)) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            removeKeys(toBitmapId(bookId), bookKeys.remove(bookId));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public Counts count(Collection<Long> bookIds) {
+        lock.readLock().lock();
+        try {
+            Map<Long, Long> categoryHits = new HashMap<>();
+            Map<String, Long> authorHits = new HashMap<>();
+            long[] priceHits = new long[PRICE_BANDS.length];
+            // Walking every facet bitmap costs the same for three hits as for three thousand,
+            // so small hit sets are counted from their own keys instead.
+            if (bookIds.size() < categories.size() + authors.size()) {
+                countKeys(bookIds, categoryHits, authorHits, priceHits);
+            } else {
+                countBitmaps(bookIds, categoryHits, authorHits, priceHits);
+            }
+            return toCounts(categoryHits, authorHits, priceHits);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void countKeys(Collection<Long> bookIds, Map<Long, Long> categoryHits,
+                           Map<String, Long> authorHits, long[] priceHits) {
+        for (Long bookId : new HashSet<>(bookIds)) {
+            FacetKeys keys = bookKeys.get(bookId);
+            if (keys == null) {
+                continue;
+            }
+            keys.categoryIds().forEach(categoryId -> categoryHits.merge(categoryId, 1L, Long::sum));
+            if (keys.author() != null) {
+                authorHits.merge(keys.author(), 1L, Long::sum);
+            }
+            if (keys.priceBand() >= 0) {
+                priceHits[keys.priceBand()]++;
+            }
+        }
+    }
+
+    private void countBitmaps(Collection<Long> bookIds, Map<Long, Long> categoryHits,
+                              Map<String, Long> authorHits, long[] priceHits) {
+        RoaringBitmap hits = new RoaringBitmap();
+        bookIds.stream()
+                .filter(BookFacetIndex::isIndexable)
+                .forEach(bookId -> hits.add(toBitmapId(bookId)));
+        hits.runOptimize();
+
+        categories.forEach((categoryId, bitmap) -> {
+            long count = RoaringBitmap.andCardinality(hits, bitmap);
+            if (count > 0) {
+                categoryHits.put(categoryId, count);
+            }
+        });
+        authors.forEach((author, bitmap) -> {
+            long count = RoaringBitmap.andCardinality(hits, bitmap);
+            if (count > 0) {
+                authorHits.put(author, count);
+            }
+        });
+        for (int i = 0; i < PRICE_BANDS.length; i++) {
+            priceHits[i] = RoaringBitmap.andCardinality(hits, priceBands[i]);
+        }
+    }
+
+    private Counts toCounts(Map<Long, Long> categoryHits, Map<String, Long> authorHits,
+                            long[] priceHits) {
+        Map<Long, Long> categoryCounts = new LinkedHashMap<>();
+        categoryHits.entrySet().stream()
+                .sorted(Map.Entry.<Long, Long>comparingByValue().reversed()
+                        .thenComparing(Map.Entry.comparingByKey()))
+                .forEach(entry -> categoryCounts.put(entry.getKey(), entry.getValue()));
+
+        List<FacetCountDto> authorCounts = authorHits.entrySet().stream()
+                .map(entry -> new FacetCountDto(entry.getKey(), entry.getValue()))
+                .sorted(BY_COUNT)
+                .limit(MAX_AUTHOR_FACETS)
+                .toList();
+
+        List<FacetCountDto> priceCounts = new ArrayList<>(PRICE_BANDS.length);
+        for (int i = 0; i < PRICE_BANDS.length; i++) {
+            if (priceHits[i] > 0) {
+                priceCounts.add(new FacetCountDto(PRICE_BANDS[i], priceHits[i]));
+            }
+        }
+        return new Counts(categoryCounts, authorCounts, priceCounts);
+    }
+
+    private void removeKeys(int id, FacetKeys keys) {
+        if (keys == null) {
+            return;
+        }
+        keys.categoryIds().forEach(categoryId -> removeFrom(categories, categoryId, id));
+        if (keys.author() != null) {
+            removeFrom(authors, keys.author(), id);
+        }
+        if (keys.priceBand() >= 0) {
+            priceBands[keys.priceBand()].remove(id);
+        }
+    }
+
+    private <K> void removeFrom(Map<K, RoaringBitmap> bitmaps, K key, int id) {
+        RoaringBitmap bitmap = bitmaps.get(key);
+        if (bitmap != null) {
+            bitmap.remove(id);
+            if (bitmap.isEmpty()) {
+                bitmaps.remove(key);
+            }
+        }
+    }
+
+    private int priceBand(BigDecimal price) {
+        if (price == null) {
+            return -1;
+        }
+        for (int i = 0; i < PRICE_BOUNDS.length; i++) {
+            if (price.compareTo(PRICE_BOUNDS[i]) < 0) {
+                return i;
+            }
+        }
+        return PRICE_BOUNDS.length;
+    }
+
+    // 32-bit bitmaps keep andCardinality cheap; ids past Integer.MAX_VALUE are not faceted.
+    private static boolean isIndexable(Long bookId) {
+        return bookId >= 0 && bookId <= Integer.MAX_VALUE;
+    }
+
+    private static int toBitmapId(Long bookId) {
+        return bookId.intValue();
+    }
+
+    public record Counts(Map<Long, Long> categories,
+                         List<FacetCountDto> authors,
+                         List<FacetCountDto> priceBands) {
+    }
+
+    private record FacetKeys(Set<Long> categoryIds, String author, int priceBand) {
+    }
+}
@@ -0,0 +1,9 @@
+package bookrepo.search;
+
+import bookrepo.model.Book;
+
+public interface BookIndex {
+    void index(Book book);
+
+    void remove(Long bookId);
+}
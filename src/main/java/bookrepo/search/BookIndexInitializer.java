@@ -0,0 +1,62 @@
+package bookrepo.search;
+
+import bookrepo.model.Book;
+import bookrepo.model.Category;
+import bookrepo.repository.book.BookRepository;
+import jakarta.persistence.EntityManager;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Stream;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+@Component
+@RequiredArgsConstructor
+public class BookIndexInitializer {
+    public static final int BATCH_SIZE = 500;
+    private final BookRepository bookRepository;
+    private final List<BookIndex> bookIndexes;
+    private final EntityManager entityManager;
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void buildIndexes() {
+        List<Book> batch = new ArrayList<>(BATCH_SIZE);
+        try (Stream<Book> books = bookRepository.streamAllBy()) {
+            books.forEach(book -> {
+                entityManager.detach(book);
+                batch.add(book);
+                if (batch.size() == BATCH_SIZE) {
+                    indexBatch(batch);
+                    batch.clear();
+                }
+            });
+        }
+        if (!batch.isEmpty()) {
+            indexBatch(batch);
+        }
+    }
+
+    // Category ids come from one query per batch instead of a lazy load per book.
+    private void indexBatch(List<Book> books) {
+        Map<Long, Set<Category>> categories = new HashMap<>();
+        bookRepository.findCategoryIdsByBookIds(books.stream().map(Book::getId).toList())
+                .forEach(row -> {
+                    Category category = new Category();
+                    category.setId(row.categoryId());
+                    categories.computeIfAbsent(row.bookId(), bookId -> new HashSet<>())
+                            .add(category);
+                });
+        books.forEach(book -> {
+            book.setCategories(categories.getOrDefault(book.getId(), new HashSet<>()));
+            bookIndexes.forEach(index -> index.index(book));
+        });
+    }
+}
@@ -0,0 +1,125 @@
+package bookrepo.search;
+
+import bookrepo.model.Book;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+
+@Component
+public class BookInvertedIndex implements BookIndex {
+    private static final float TITLE_WEIGHT = 3.0f;
+    private static final float AUTHOR_WEIGHT = 2.0f;
+    private static final float DESCRIPTION_WEIGHT = 1.0f;
+    private static final Comparator<ScoredBook> BY_RELEVANCE = Comparator
+            .comparingDouble(ScoredBook::score)
+            .reversed()
+            .thenComparing(ScoredBook::bookId);
+
+    private final Map<String, Map<Long, Float>> postings = new HashMap<>();
+    private final Map<Long, Map<String, Float>> documentTerms = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    @Override
+    public void index(Book book) {
+        Map<String, Float> terms = new HashMap<>();
+        addTerms(terms, book.getTitle(), TITLE_WEIGHT);
+        addTerms(terms, book.getAuthor(), AUTHOR_WEIGHT);
+        addTerms(terms, book.getDescription(), DESCRIPTION_WEIGHT);
+
+        lock.writeLock().lock();
+        try {
+            removeDocument(book.getId());
+            terms.forEach((term, weight) ->
+                    postings.computeIfAbsent(term, t -> new HashMap<>()).put(book.getId(), weight));
+            documentTerms.put(book.getId(), terms);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void remove(Long bookId) {
+        lock.writeLock().lock();
+        try {
+            removeDocument(bookId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public Page<Long> search(String query, Pageable pageable) {
+        List<String> queryTerms = TextNormalizer.tokenize(query).stream()
+                .distinct()
+                .toList();
+        Map<Long, Float> scores = new HashMap<>();
+
+        lock.readLock().lock();
+        try {
+            int documentCount = documentTerms.size();
+            for (String term : queryTerms) {
+                Map<Long, Float> termPostings = postings.get(term);
+                if (termPostings == null) {
+                    continue;
+                }
+                float idf = (float) Math.log(1.0 + (double) documentCount / termPostings.size());
+                termPostings.forEach((bookId, weight) ->
+                        scores.merge(bookId, weight * idf, Float::sum));
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return new PageImpl<>(topHits(scores, pageable), pageable, scores.size());
+    }
+
+    private List<Long> topHits(Map<Long, Float> scores, Pageable pageable) {
+        long limit = pageable.getOffset() + pageable.getPageSize();
+        if (pageable.getOffset() >= scores.size()) {
+            return List.of();
+        }
+        PriorityQueue<ScoredBook> top = new PriorityQueue<>(BY_RELEVANCE.reversed());
+        scores.forEach((bookId, score) -> {
+            top.offer(new ScoredBook(bookId, score));
+            if (top.size() > limit) {
+                top.poll();
+            }
+        });
+        List<ScoredBook> ranked = new ArrayList<>(top);
+        ranked.sort(BY_RELEVANCE);
+        return ranked.stream()
+                .skip(pageable.getOffset())
+                .map(ScoredBook::bookId)
+                .toList();
+    }
+
+    private void addTerms(Map<String, Float> terms, String text, float weight) {
+        for (String token : TextNormalizer.tokenize(text)) {
+            terms.merge(token, weight, Float::sum);
+        }
+    }
+
+    private void removeDocument(Long bookId) {
+        Map<String, Float> terms = documentTerms.remove(bookId);
+        if (terms == null) {
+            return;
+        }
+        for (String term : terms.keySet()) {
+            Map<Long, Float> termPostings = postings.get(term);
+            termPostings.remove(bookId);
+            if (termPostings.isEmpty()) {
+                postings.remove(term);
+            }
+        }
+    }
+
+    private record ScoredBook(Long bookId, float score) {
+    }
+}
@@ -0,0 +1,189 @@
+package bookrepo.search;
+
+import bookrepo.dto.book.BookSuggestionDto;
+import bookrepo.model.Book;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import org.springframework.stereotype.Component;
+
+@Component
+public class BookSuggestionIndex implements BookIndex {
+    public static final int MAX_SUGGESTIONS = 10;
+    private static final Comparator<BookSuggestionDto> BY_WEIGHT = Comparator
+            .comparingLong(BookSuggestionDto::weight)
+            .reversed()
+            .thenComparing(BookSuggestionDto::text)
+            .thenComparing(BookSuggestionDto::type);
+
+    private final Node root = new Node();
+    private final Map<Long, List<Key>> bookKeys = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    @Override
+    public void index(Book book) {
+        List<Key> keys = new ArrayList<>(2);
+        addKey(keys, book.getTitle(), BookSuggestionDto.Type.TITLE);
+        addKey(keys, book.getAuthor(), BookSuggestionDto.Type.AUTHOR);
+
+        lock.writeLock().lock();
+        try {
+            removeKeys(bookKeys.remove(book.getId()));
+            keys.forEach(key -> update(key, 1));
+            bookKeys.put(book.getId(), keys);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void remove(Long bookId) {
+        lock.writeLock().lock();
+        try {
+            removeKeys(bookKeys.remove(bookId));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public List<BookSuggestionDto> suggest(String prefix, int limit) {
+        String normalized = TextNormalizer.normalize(prefix);
+        if (normalized.isEmpty()) {
+            return List.of();
+        }
+        lock.readLock().lock();
+        try {
+            Node node = root;
+            for (int i = 0; i < normalized.length() && node != null; i++) {
+                node = node.child(normalized.charAt(i));
+            }
+            if (node == null) {
+                return List.of();
+            }
+            List<BookSuggestionDto> top = node.top;
+            return top.subList(0, Math.max(0, Math.min(limit, top.size())));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void addKey(List<Key> keys, String text, BookSuggestionDto.Type type) {
+        String normalized = TextNormalizer.normalize(text);
+        if (!normalized.isEmpty()) {
+            keys.add(new Key(normalized, text.trim(), type));
+        }
+    }
+
+    private void removeKeys(List<Key> keys) {
+        if (keys != null) {
+            keys.forEach(key -> update(key, -1));
+        }
+    }
+
+    private void update(Key key, int delta) {
+        Deque<Node> path = new ArrayDeque<>(key.normalized().length() + 1);
+        Node node = root;
+        path.push(node);
+        for (int i = 0; i < key.normalized().length(); i++) {
+            node = node.getOrCreateChild(key.normalized().charAt(i));
+            path.push(node);
+        }
+
+        BookSuggestionDto current = node.terminals.get(key.type());
+        long weight = (current == null ? 0 : current.weight()) + delta;
+        if (weight > 0) {
+            String text = current == null ? key.display() : current.text();
+            node.terminals.put(key.type(), new BookSuggestionDto(text, key.type(), weight));
+        } else {
+            node.terminals.remove(key.type());
+        }
+
+        int depth = key.normalized().length();
+        while (!path.isEmpty()) {
+            Node visited = path.pop();
+            visited.recomputeTop();
+            if (depth > 0 && visited.isEmpty()) {
+                path.peek().removeChild(key.normalized().charAt(depth - 1));
+            }
+            depth--;
+        }
+    }
+
+    private record Key(String normalized, String display, BookSuggestionDto.Type type) {
+    }
+
+    private static final class Node {
+        private static final char[] NO_KEYS = new char[0];
+        private static final Node[] NO_CHILDREN = new Node[0];
+
+        private char[] keys = NO_KEYS;
+        private Node[] children = NO_CHILDREN;
+        private final Map<BookSuggestionDto.Type, BookSuggestionDto> terminals =
+                new EnumMap<>(BookSuggestionDto.Type.class);
+        private List<BookSuggestionDto> top = List.of();
+
+        private Node child(char key) {
+            int index = Arrays.binarySearch(keys, key);
+            return index >= 0 ? children[index] : null;
+        }
+
+        private Node getOrCreateChild(char key) {
+            int index = Arrays.binarySearch(keys, key);
+            if (index >= 0) {
+                return children[index];
+            }
+            int insertAt = -index - 1;
+            char[] newKeys = new char[keys.length + 1];
+            Node[] newChildren = new Node[children.length + 1];
+            System.arraycopy(keys, 0, newKeys, 0, insertAt);
+            System.arraycopy(children, 0, newChildren, 0, insertAt);
+            System.arraycopy(keys, insertAt, newKeys, insertAt + 1, keys.length - insertAt);
+            System.arraycopy(children, insertAt, newChildren, insertAt + 1,
+                    children.length - insertAt);
+            Node child = new Node();
+            newKeys[insertAt] = key;
+            newChildren[insertAt] = child;
+            keys = newKeys;
+            children = newChildren;
+            return child;
+        }
+
+        private void removeChild(char key) {
+            int index = Arrays.binarySearch(keys, key);
+            if (index < 0) {
+                return;
+            }
+            char[] newKeys = new char[keys.length - 1];
+            Node[] newChildren = new Node[children.length - 1];
+            System.arraycopy(keys, 0, newKeys, 0, index);
+            System.arraycopy(children, 0, newChildren, 0, index);
+            System.arraycopy(keys, index + 1, newKeys, index, keys.length - index - 1);
+            System.arraycopy(children, index + 1, newChildren, index,
+                    children.length - index - 1);
+            keys = newKeys;
+            children = newChildren;
+        }
+
+        private boolean isEmpty() {
+            return keys.length == 0 && terminals.isEmpty();
+        }
+
+        private void recomputeTop() {
+            List<BookSuggestionDto> candidates = new ArrayList<>(terminals.values());
+            for (Node child : children) {
+                candidates.addAll(child.top);
+            }
+            candidates.sort(BY_WEIGHT);
+            top = List.copyOf(candidates.subList(0,
+                    Math.min(MAX_SUGGESTIONS, candidates.size())));
+        }
+    }
+}
@@ -0,0 +1,183 @@
+package bookrepo.search;
+
+import bookrepo.model.Book;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import org.springframework.stereotype.Component;
+
+@Component
+public class BookTrigramIndex implements BookIndex {
+    public static final int MAX_RESULTS = 50;
+    public static final float MIN_SIMILARITY = 0.3f;
+    private static final int MIN_WORD_LENGTH = 3;
+    private static final Comparator<Match> BY_SIMILARITY = Comparator
+            .comparingDouble(Match::similarity)
+            .thenComparing(Match::bookId, Comparator.reverseOrder());
+
+    private final Map<String, Entry> entries = new HashMap<>();
+    private final Map<String, Set<Entry>> postings = new HashMap<>();
+    private final Map<Long, Set<String>> bookEntries = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    @Override
+    public void index(Book book) {
+        Set<String> keys = new LinkedHashSet<>();
+        addKeys(keys, book.getTitle());
+        addKeys(keys, book.getAuthor());
+
+        lock.writeLock().lock();
+        try {
+            removeEntries(book.getId(), bookEntries.remove(book.getId()));
+            for (String key : keys) {
+                entries.computeIfAbsent(key, this::createEntry).bookIds.add(book.getId());
+            }
+            bookEntries.put(book.getId(), keys);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void remove(Long bookId) {
+        lock.writeLock().lock();
+        try {
+            removeEntries(bookId, bookEntries.remove(bookId));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public List<Long> search(String query, int limit) {
+        String normalized = TextNormalizer.normalize(query);
+        int size = Math.min(limit, MAX_RESULTS);
+        if (normalized.isEmpty() || size <= 0) {
+            return List.of();
+        }
+        List<String> words = TextNormalizer.tokenize(normalized);
+
+        lock.readLock().lock();
+        try {
+            Map<Long, Float> best = similarities(normalized, MIN_SIMILARITY);
+            if (words.size() > 1) {
+                Map<Long, Float> wordScores = new HashMap<>();
+                for (String word : words) {
+                    similarities(word, 0).forEach((bookId, similarity) ->
+                            wordScores.merge(bookId, similarity / words.size(), Float::sum));
+                }
+                wordScores.forEach((bookId, score) -> {
+                    if (score >= MIN_SIMILARITY) {
+                        best.merge(bookId, score, Math::max);
+                    }
+                });
+            }
+
+            PriorityQueue<Match> top = new PriorityQueue<>(size + 1, BY_SIMILARITY);
+            best.forEach((bookId, similarity) -> {
+                top.offer(new Match(bookId, similarity));
+                if (top.size() > size) {
+                    top.poll();
+                }
+            });
+            List<Long> result = new ArrayList<>(top.size());
+            while (!top.isEmpty()) {
+                result.add(top.poll().bookId());
+            }
+            Collections.reverse(result);
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private Map<Long, Float> similarities(String term, float threshold) {
+        Set<String> termTrigrams = trigrams(term);
+        Map<Entry, Integer> shared = new HashMap<>();
+        for (String trigram : termTrigrams) {
+            Set<Entry> posting = postings.get(trigram);
+            if (posting != null) {
+                posting.forEach(entry -> shared.merge(entry, 1, Integer::sum));
+            }
+        }
+
+        Map<Long, Float> best = new HashMap<>();
+        shared.forEach((entry, count) -> {
+            float similarity = (float) count
+                    / (termTrigrams.size() + entry.trigrams.size() - count);
+            if (similarity >= threshold) {
+                entry.bookIds.forEach(bookId -> best.merge(bookId, similarity, Math::max));
+            }
+        });
+        return best;
+    }
+
+    static Set<String> trigrams(String normalized) {
+        String padded = "  " + normalized + " ";
+        Set<String> trigrams = new HashSet<>();
+        for (int i = 0; i + 3 <= padded.length(); i++) {
+            trigrams.add(padded.substring(i, i + 3));
+        }
+        return trigrams;
+    }
+
+    private void addKeys(Set<String> keys, String text) {
+        String normalized = TextNormalizer.normalize(text);
+        if (normalized.isEmpty()) {
+            return;
+        }
+        keys.add(normalized);
+        for (String word : TextNormalizer.tokenize(normalized)) {
+            if (word.length() >= MIN_WORD_LENGTH) {
+                keys.add(word);
+            }
+        }
+    }
+
+    private Entry createEntry(String key) {
+        Entry entry = new Entry(trigrams(key));
+        entry.trigrams.forEach(trigram ->
+                postings.computeIfAbsent(trigram, t -> new HashSet<>()).add(entry));
+        return entry;
+    }
+
+    private void removeEntries(Long bookId, Set<String> keys) {
+        if (keys == null) {
+            return;
+        }
+        for (String key : keys) {
+            Entry entry = entries.get(key);
+            entry.bookIds.remove(bookId);
+            if (entry.bookIds.isEmpty()) {
+                entries.remove(key);
+                for (String trigram : entry.trigrams) {
+                    Set<Entry> posting = postings.get(trigram);
+                    posting.remove(entry);
+                    if (posting.isEmpty()) {
+                        postings.remove(trigram);
+                    }
+                }
+            }
+        }
+    }
+
+    private record Match(Long bookId, float similarity) {
+    }
+
+    private static final class Entry {
+        private final Set<String> trigrams;
+        private final Set<Long> bookIds = new HashSet<>();
+
+        private Entry(Set<String> trigrams) {
+            this.trigrams = trigrams;
+        }
+    }
+}
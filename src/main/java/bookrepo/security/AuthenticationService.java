@@ -4,11 +4,20 @@ import bookrepo.dto.user.UserLoginRequestDto;
 import bookrepo.dto.user.UserLoginResponseDto;
 import bookrepo.exception.EntityNotFoundException;
 import bookrepo.model.User;
+import bookrepo.repository.token.RefreshSessionRepository;
 import bookrepo.repository.user.UserRepository;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.UUID;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 
@@ -19,6 +28,8 @@ public class AuthenticationService {
     private final JwtUtil jwtUtil;
     private final AuthenticationManager authenticationManager;
     private final UserRepository userRepository;
+    private final TokenRevocationList tokenRevocationList;
+    private final RefreshSessionRepository refreshSessionRepository;
 
     public UserLoginResponseDto authenticate(UserLoginRequestDto requestDto) {
         Authentication authentication = authenticationManager.authenticate(
@@ -28,8 +39,40 @@ public class AuthenticationService {
                 )
         );
 
-        String token = jwtUtil.generateToken(authentication.getName());
-        return new UserLoginResponseDto(token);
+        String sessionId = UUID.randomUUID().toString();
+        refreshSessionRepository.create(sessionId, refreshExpiresAt());
+        return issueTokens((User) authentication.getPrincipal(), sessionId, 0);
+    }
+
+    public UserLoginResponseDto refresh(String refreshToken) {
+        Claims claims = verifyRefreshToken(refreshToken);
+        String sessionId = jwtUtil.getSessionId(claims);
+        long generation = jwtUtil.getGeneration(claims);
+        if (refreshSessionRepository.rotate(sessionId, generation, refreshExpiresAt()) == 0) {
+            // The token was used before, so one of its holders may have stolen it: end the
+            // session for both of them.
+            refreshSessionRepository.revoke(sessionId);
+            throw new BadCredentialsException("Invalid refresh token");
+        }
+        User user = userRepository.findByEmail(claims.getSubject())
+                .orElseThrow(() -> new BadCredentialsException("Invalid refresh token"));
+        return issueTokens(user, sessionId, generation + 1);
+    }
+
+    public void logout(String refreshToken, String authorizationHeader) {
+        Claims claims = verifyRefreshToken(refreshToken);
+        refreshSessionRepository.revoke(jwtUtil.getSessionId(claims));
+        String accessToken = JwtAuthenticationFilter.bearerToken(authorizationHeader);
+        if (accessToken != null) {
+            try {
+                Claims accessClaims = jwtUtil.verify(accessToken);
+                if (claims.getSubject().equals(accessClaims.getSubject())) {
+                    revoke(accessClaims);
+                }
+            } catch (JwtException e) {
+                // An expired or forged access token has nothing left to revoke.
+            }
+        }
     }
 
     public User getAuthenticatedUser() {
@@ -43,5 +86,38 @@ public class AuthenticationService {
                         "User with ID " + userDetails.getId() + " not found"));
     }
 
+    @Scheduled(fixedDelayString = "${jwt.refresh-session.cleanup-interval:PT1H}")
+    public void deleteExpiredSessions() {
+        refreshSessionRepository.deleteExpired(LocalDateTime.now(ZoneOffset.UTC));
+    }
+
+    private UserLoginResponseDto issueTokens(User user, String sessionId, long generation) {
+        return new UserLoginResponseDto(jwtUtil.generateToken(user),
+                jwtUtil.generateRefreshToken(user, sessionId, generation));
+    }
+
+    private LocalDateTime refreshExpiresAt() {
+        return LocalDateTime.ofInstant(
+                Instant.now().plus(jwtUtil.getRefreshExpiration()), ZoneOffset.UTC);
+    }
+
+    private Claims verifyRefreshToken(String refreshToken) {
+        Claims claims;
+        try {
+            claims = jwtUtil.verify(refreshToken);
+        } catch (JwtException e) {
+            throw new BadCredentialsException("Invalid refresh token", e);
+        }
+        if (!jwtUtil.isRefreshToken(claims) || jwtUtil.getSessionId(claims) == null
+                || jwtUtil.getGeneration(claims) == null) {
+            throw new BadCredentialsException("Invalid refresh token");
+        }
+        return claims;
+    }
+
+    private void revoke(Claims claims) {
+        tokenRevocationList.revoke(claims.getId(), claims.getExpiration().toInstant());
+    }
+
 }
 
@@ -0,0 +1,160 @@
+package bookrepo.security;
+
+import bookrepo.exception.PasswordHashingUnavailableException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+public class BoundedPasswordEncoder implements PasswordEncoder, AutoCloseable {
+    public static final String METRIC_PREFIX = "auth.password.hash";
+    private static final String ENCODE = "encode";
+    private static final String MATCHES = "matches";
+    private static final String TOO_MANY_REQUESTS =
+            "Too many authentication requests, try again later";
+    private static final int AVERAGE_WEIGHT = 8;
+
+    private final PasswordEncoder delegate;
+    private final ThreadPoolExecutor executor;
+    private final Duration timeout;
+    private final Timer encodeTimer;
+    private final Timer matchesTimer;
+    private final Timer queueTimer;
+    private final Counter rejected;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicLong averageHashNanos = new AtomicLong();
+
+    public BoundedPasswordEncoder(PasswordEncoder delegate, int poolSize, int queueCapacity,
+                                  Duration timeout, MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.timeout = timeout;
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), threadFactory(),
+                new ThreadPoolExecutor.AbortPolicy());
+        this.encodeTimer = hashTimer(ENCODE, meterRegistry);
+        this.matchesTimer = hashTimer(MATCHES, meterRegistry);
+        this.queueTimer = Timer.builder(METRIC_PREFIX + ".queue")
+                .description("Time password hashing tasks wait for a worker")
+                .register(meterRegistry);
+        this.rejected = Counter.builder(METRIC_PREFIX + ".rejected")
+                .description("Password hashing tasks refused because the queue was full "
+                        + "or would not be served within the timeout")
+                .register(meterRegistry);
+        Gauge.builder(METRIC_PREFIX + ".queue.size", executor, e -> e.getQueue().size())
+                .register(meterRegistry);
+        Gauge.builder(METRIC_PREFIX + ".active", executor, ThreadPoolExecutor::getActiveCount)
+                .register(meterRegistry);
+        Gauge.builder(METRIC_PREFIX + ".in-flight", inFlight, AtomicInteger::get)
+                .description("Hashing tasks queued or running, including abandoned ones")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return submit(encodeTimer, () -> delegate.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return submit(matchesTimer, () -> delegate.matches(rawPassword, encodedPassword));
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+
+    @Override
+    public void close() {
+        executor.shutdownNow();
+    }
+
+    private <T> T submit(Timer timer, Callable<T> hash) {
+        if (estimatedWaitNanos() > timeout.toNanos()) {
+            rejected.increment();
+            throw new PasswordHashingUnavailableException(TOO_MANY_REQUESTS);
+        }
+        long queuedAt = System.nanoTime();
+        AtomicBoolean abandoned = new AtomicBoolean();
+        Future<T> result;
+        inFlight.incrementAndGet();
+        try {
+            result = executor.submit(() -> {
+                try {
+                    queueTimer.record(System.nanoTime() - queuedAt, TimeUnit.NANOSECONDS);
+                    if (abandoned.get()) {
+                        return null;
+                    }
+                    long startedAt = System.nanoTime();
+                    T value = timer.recordCallable(hash);
+                    recordHashTime(System.nanoTime() - startedAt);
+                    return value;
+                } finally {
+                    inFlight.decrementAndGet();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            inFlight.decrementAndGet();
+            rejected.increment();
+            throw new PasswordHashingUnavailableException(TOO_MANY_REQUESTS, e);
+        }
+        try {
+            return result.get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            // BCrypt ignores interrupts, so a started hash runs to the end and stays in
+            // flight; a queued one is skipped when a worker picks it up.
+            abandoned.set(true);
+            throw new PasswordHashingUnavailableException(
+                    "Password hashing timed out after " + timeout, e);
+        } catch (InterruptedException e) {
+            abandoned.set(true);
+            Thread.currentThread().interrupt();
+            throw new PasswordHashingUnavailableException("Password hashing interrupted", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException("Password hashing failed", e.getCause());
+        }
+    }
+
+    // The tasks in flight run poolSize at a time before this one gets a worker.
+    private long estimatedWaitNanos() {
+        return (inFlight.get() / executor.getMaximumPoolSize() + 1) * averageHashNanos.get();
+    }
+
+    private void recordHashTime(long nanos) {
+        averageHashNanos.accumulateAndGet(nanos, (average, sample) ->
+                average == 0 ? sample : average + (sample - average) / AVERAGE_WEIGHT);
+    }
+
+    private static Timer hashTimer(String operation, MeterRegistry meterRegistry) {
+        return Timer.builder(METRIC_PREFIX)
+                .description("Time spent hashing or verifying a password")
+                .tag("operation", operation)
+                .register(meterRegistry);
+    }
+
+    private static ThreadFactory threadFactory() {
+        AtomicInteger count = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, "password-hash-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
@@ -0,0 +1,45 @@
+package bookrepo.security;
+
+import bookrepo.exception.EntityNotFoundException;
+import bookrepo.model.ShoppingCart;
+import bookrepo.model.User;
+import bookrepo.repository.shoppingcart.ShoppingCartRepository;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.annotation.RequestScope;
+
+/**
+ * Resolves the authenticated user and their shopping cart once per request. With
+ * open-in-view the cart stays managed for the whole request, so every transaction of the
+ * request reads and writes the same instance. Without it each transaction has its own
+ * persistence context, and a cart from an earlier one is loaded again rather than
+ * changed while detached.
+ */
+@Component
+@RequestScope
+@RequiredArgsConstructor
+public class CurrentUserContext {
+    private final AuthenticationService authenticationService;
+    private final ShoppingCartRepository shoppingCartRepository;
+    private final EntityManager entityManager;
+    private User user;
+    private ShoppingCart shoppingCart;
+
+    public User getUser() {
+        if (user == null) {
+            user = authenticationService.getAuthenticatedUser();
+        }
+        return user;
+    }
+
+    public ShoppingCart getShoppingCart() {
+        if (shoppingCart == null || !entityManager.contains(shoppingCart)) {
+            Long userId = getUser().getId();
+            shoppingCart = shoppingCartRepository.findByUserId(userId)
+                    .orElseThrow(() -> new EntityNotFoundException(
+                            "Shopping cart not found for user id: " + userId));
+        }
+        return shoppingCart;
+    }
+}
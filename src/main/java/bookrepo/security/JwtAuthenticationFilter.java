@@ -1,5 +1,7 @@
 package bookrepo.security;
 
+import bookrepo.model.User;
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -21,6 +23,8 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     private static final String TOKEN_HEADER = "Bearer ";
     private final JwtUtil jwtUtil;
     private final UserDetailsService userDetailsService;
+    private final UserStatusCache userStatusCache;
+    private final TokenRevocationList tokenRevocationList;
 
     @Override
     protected void doFilterInternal(HttpServletRequest request, 
@@ -29,21 +33,38 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     ) throws ServletException, IOException {
         String token = getToken(request);
 
-        if (token != null && jwtUtil.isValidToken(token)) {
-            String userEmail = jwtUtil.getEmailFromToken(token);
-            UserDetails userDetails = userDetailsService.loadUserByUsername(userEmail);
-            Authentication authentication = new UsernamePasswordAuthenticationToken(userDetails,
-                    null, userDetails.getAuthorities()
-            );
-            SecurityContextHolder.getContext().setAuthentication(authentication);
+        if (token != null) {
+            Claims claims = jwtUtil.verify(token);
+            UserDetails userDetails = isUsableAccessToken(claims) ? resolvePrincipal(claims) : null;
+            if (userDetails != null) {
+                Authentication authentication = new UsernamePasswordAuthenticationToken(
+                        userDetails, null, userDetails.getAuthorities());
+                SecurityContextHolder.getContext().setAuthentication(authentication);
+            }
         }
         filterChain.doFilter(request, response);
     }
 
+    private boolean isUsableAccessToken(Claims claims) {
+        return !jwtUtil.isRefreshToken(claims) && !tokenRevocationList.isRevoked(claims.getId());
+    }
+
+    private UserDetails resolvePrincipal(Claims claims) {
+        User user = jwtUtil.toPrincipal(claims);
+        if (user == null) {
+            // Tokens issued before the id and role claims were added.
+            return userDetailsService.loadUserByUsername(claims.getSubject());
+        }
+        return userStatusCache.isCurrent(user) ? user : null;
+    }
+
     private String getToken(HttpServletRequest request) {
-        String bearerToken = request.getHeader(HttpHeaders.AUTHORIZATION);
-        if (bearerToken != null && bearerToken.startsWith(TOKEN_HEADER)) {
-            return bearerToken.substring(TOKEN_HEADER.length());
+        return bearerToken(request.getHeader(HttpHeaders.AUTHORIZATION));
+    }
+
+    static String bearerToken(String authorizationHeader) {
+        if (authorizationHeader != null && authorizationHeader.startsWith(TOKEN_HEADER)) {
+            return authorizationHeader.substring(TOKEN_HEADER.length());
         }
         return null;
     }
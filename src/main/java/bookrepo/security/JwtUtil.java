@@ -1,60 +1,159 @@
 package bookrepo.security;
 
+import bookrepo.model.Role;
+import bookrepo.model.RoleName;
+import bookrepo.model.User;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import io.jsonwebtoken.Claims;
-import io.jsonwebtoken.Jws;
+import io.jsonwebtoken.JwtBuilder;
 import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
 import java.nio.charset.StandardCharsets;
 import java.security.Key;
+import java.time.Duration;
 import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 @Component
 public class JwtUtil {
+    private static final String USER_ID_CLAIM = "uid";
+    private static final String ROLES_CLAIM = "roles";
+    private static final String TYPE_CLAIM = "typ";
+    private static final String REFRESH_TYPE = "refresh";
+    private static final String SESSION_CLAIM = "sid";
+    private static final String GENERATION_CLAIM = "gen";
     private final Key secret;
+    private final JwtParser parser;
+    private final Cache<String, Claims> verifiedTokens;
 
     @Value("${jwt.expiration}")
     private Long expiration;
 
-    public JwtUtil(@Value("${jwt.secret}") String secretString) {
+    @Value("${jwt.refresh-expiration:1209600000}")
+    private Long refreshExpiration;
+
+    public JwtUtil(@Value("${jwt.secret}") String secretString,
+                   @Value("${jwt.cache.max-size:10000}") long cacheMaxSize) {
         secret = Keys.hmacShaKeyFor(secretString.getBytes(StandardCharsets.UTF_8));
+        parser = Jwts.parserBuilder()
+                .setSigningKey(secret)
+                .build();
+        verifiedTokens = Caffeine.newBuilder()
+                .maximumSize(cacheMaxSize)
+                .expireAfter(new UntilTokenExpires())
+                .build();
     }
 
-    public String generateToken(String email) {
-        return Jwts.builder()
-            .setSubject(email)
-            .setIssuedAt(new Date(System.currentTimeMillis()))
-            .setExpiration(new Date(System.currentTimeMillis() + expiration))
-            .signWith(secret)
+    public String generateToken(User user) {
+        return builder(user, expiration)
+            .claim(ROLES_CLAIM, user.getRoles().stream()
+                    .map(role -> role.getName().name())
+                    .toList())
+            .compact();
+    }
+
+    public String generateRefreshToken(User user, String sessionId, long generation) {
+        return builder(user, refreshExpiration)
+            .claim(TYPE_CLAIM, REFRESH_TYPE)
+            .claim(SESSION_CLAIM, sessionId)
+            .claim(GENERATION_CLAIM, generation)
             .compact();
     }
 
-    public boolean isValidToken(String token) {
+    public Duration getRefreshExpiration() {
+        return Duration.ofMillis(refreshExpiration);
+    }
+
+    public Claims verify(String token) {
+        Claims claims = verifiedTokens.getIfPresent(token);
+        if (claims == null) {
+            claims = parse(token);
+            verifiedTokens.put(token, claims);
+        }
+        return claims;
+    }
+
+    public boolean isRefreshToken(Claims claims) {
+        return REFRESH_TYPE.equals(claims.get(TYPE_CLAIM, String.class));
+    }
+
+    public String getSessionId(Claims claims) {
+        return claims.get(SESSION_CLAIM, String.class);
+    }
+
+    public Long getGeneration(Claims claims) {
+        Number generation = claims.get(GENERATION_CLAIM, Number.class);
+        return generation == null ? null : generation.longValue();
+    }
+
+    public User toPrincipal(Claims claims) {
+        Number userId = claims.get(USER_ID_CLAIM, Number.class);
+        List<?> roleNames = claims.get(ROLES_CLAIM, List.class);
+        if (userId == null || roleNames == null) {
+            return null;
+        }
+        User user = new User();
+        user.setId(userId.longValue());
+        user.setEmail(claims.getSubject());
+        user.setRoles(roleNames.stream()
+                .map(name -> {
+                    Role role = new Role();
+                    role.setName(RoleName.valueOf(name.toString()));
+                    return role;
+                })
+                .collect(Collectors.toSet()));
+        return user;
+    }
+
+    private JwtBuilder builder(User user, long validity) {
+        long now = System.currentTimeMillis();
+        return Jwts.builder()
+            .setId(UUID.randomUUID().toString())
+            .setSubject(user.getEmail())
+            .claim(USER_ID_CLAIM, user.getId())
+            .setIssuedAt(new Date(now))
+            .setExpiration(new Date(now + validity))
+            .signWith(secret);
+    }
+
+    private Claims parse(String token) {
         try {
-            Jws<Claims> claimsJws = Jwts.parserBuilder()
-                    .setSigningKey(secret)
-                    .build()
-                    .parseClaimsJws(token);
-            return !claimsJws.getBody().getExpiration().before(new Date());
+            Claims claims = parser.parseClaimsJws(token).getBody();
+            if (claims.getExpiration() == null) {
+                throw new JwtException("Token has no expiration");
+            }
+            return claims;
         } catch (JwtException | IllegalArgumentException e) {
             throw new JwtException("Invalid or expired JWT token");
         }
     }
 
-    public String getEmailFromToken(String token) {
-        return getClaimFromToken(token, Claims::getSubject);
-    }
+    private static class UntilTokenExpires implements Expiry<String, Claims> {
+        @Override
+        public long expireAfterCreate(String token, Claims claims, long currentTime) {
+            long remaining = claims.getExpiration().getTime() - System.currentTimeMillis();
+            return TimeUnit.MILLISECONDS.toNanos(Math.max(0, remaining));
+        }
 
-    private <T> T getClaimFromToken(String token,
-                                    java.util.function.Function<Claims,
-                                            T> claimsResolver) {
-        Claims claims = Jwts.parserBuilder()
-                .setSigningKey(secret)
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
-        return claimsResolver.apply(claims);
+        @Override
+        public long expireAfterUpdate(String token, Claims claims, long currentTime,
+                                      long currentDuration) {
+            return expireAfterCreate(token, claims, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String token, Claims claims, long currentTime,
+                                    long currentDuration) {
+            return currentDuration;
+        }
     }
 }
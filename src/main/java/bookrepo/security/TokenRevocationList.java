@@ -0,0 +1,105 @@
+package bookrepo.security;
+
+import bookrepo.model.RevokedToken;
+import bookrepo.repository.token.RevokedTokenRepository;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Component
+public class TokenRevocationList {
+    private static final int MIN_CAPACITY = 1024;
+    // Rows committed late or stamped by an instance with a skewed clock are read again.
+    private static final Duration REVOKED_AT_OVERLAP = Duration.ofMinutes(1);
+
+    private final RevokedTokenRepository revokedTokenRepository;
+    private final double falsePositiveRate;
+    private final Duration fullRebuildInterval;
+    private final Set<String> revokedSinceRebuild = ConcurrentHashMap.newKeySet();
+    private volatile BloomFilter filter;
+    private int capacity;
+    private int insertions;
+    private LocalDateTime lastRebuild;
+    private LocalDateTime nextFullRebuild;
+
+    public TokenRevocationList(
+            RevokedTokenRepository revokedTokenRepository,
+            @Value("${jwt.revocation.false-positive-rate:0.01}") double falsePositiveRate,
+            @Value("${jwt.revocation.full-rebuild-interval:PT1H}")
+            Duration fullRebuildInterval) {
+        this.revokedTokenRepository = revokedTokenRepository;
+        this.falsePositiveRate = falsePositiveRate;
+        this.fullRebuildInterval = fullRebuildInterval;
+    }
+
+    public boolean isRevoked(String jti) {
+        if (jti == null) {
+            return false;
+        }
+        BloomFilter current = filter;
+        if (current != null && !current.mightContain(jti)) {
+            return false;
+        }
+        return revokedSinceRebuild.contains(jti) || revokedTokenRepository.existsById(jti);
+    }
+
+    public void revoke(String jti, Instant expiresAt) {
+        if (jti == null) {
+            return;
+        }
+        revokedTokenRepository.save(
+                new RevokedToken(jti, toUtc(expiresAt), toUtc(Instant.now())));
+        revokedSinceRebuild.add(jti);
+        BloomFilter current = filter;
+        if (current != null) {
+            current.put(jti);
+        }
+    }
+
+    /**
+     * Adds the tokens other instances revoked since the last run to the filter. Expired
+     * entries only leave it on a full rebuild, which runs once the filter is at capacity
+     * or the full rebuild interval has passed.
+     */
+    @Scheduled(fixedDelayString = "${jwt.revocation.rebuild-interval:PT1M}")
+    public synchronized void rebuild() {
+        LocalDateTime now = toUtc(Instant.now());
+        if (filter == null || insertions >= capacity || !now.isBefore(nextFullRebuild)) {
+            rebuildFully(now);
+        } else {
+            List<String> jtis = revokedTokenRepository.findJtisRevokedSince(
+                    lastRebuild.minus(REVOKED_AT_OVERLAP));
+            BloomFilter current = filter;
+            jtis.forEach(current::put);
+            insertions += jtis.size();
+        }
+        lastRebuild = now;
+    }
+
+    private void rebuildFully(LocalDateTime now) {
+        revokedTokenRepository.deleteExpired(now);
+        Set<String> pending = Set.copyOf(revokedSinceRebuild);
+        List<String> jtis = revokedTokenRepository.findActiveJtis(now);
+
+        // Leave room for the tokens revoked before the next full rebuild.
+        capacity = Math.max(MIN_CAPACITY, 2 * jtis.size());
+        BloomFilter rebuilt = BloomFilter.create(capacity, falsePositiveRate);
+        jtis.forEach(rebuilt::put);
+        filter = rebuilt;
+        revokedSinceRebuild.forEach(rebuilt::put);
+        revokedSinceRebuild.removeAll(pending);
+        insertions = jtis.size();
+        nextFullRebuild = now.plus(fullRebuildInterval);
+    }
+
+    private static LocalDateTime toUtc(Instant instant) {
+        return LocalDateTime.ofInstant(instant, ZoneOffset.UTC);
+    }
+}
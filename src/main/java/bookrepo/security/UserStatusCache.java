@@ -0,0 +1,71 @@
+package bookrepo.security;
+
+import bookrepo.model.Role;
+import bookrepo.model.RoleName;
+import bookrepo.model.User;
+import bookrepo.repository.user.UserRepository;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+@Component
+public class UserStatusCache {
+    // The roles of each active user; empty once the user is deleted.
+    private final LoadingCache<Long, Optional<Set<RoleName>>> activeUsers;
+
+    public UserStatusCache(@Lazy UserRepository userRepository,
+                           @Value("${jwt.user-status.max-size:10000}") long maxSize,
+                           @Value("${jwt.user-status.ttl:30s}") Duration ttl) {
+        this.activeUsers = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .build(userId -> userRepository.findWithRolesById(userId)
+                        .map(UserStatusCache::roleNames));
+    }
+
+    /**
+     * Checks that the user of a token still exists and still has the roles the token was
+     * issued with, so a deleted or demoted user is rejected within the cache TTL instead
+     * of when the token expires.
+     */
+    public boolean isCurrent(User principal) {
+        return activeUsers.get(principal.getId())
+                .map(roles -> roles.equals(roleNames(principal)))
+                .orElse(false);
+    }
+
+    public void invalidate(Long userId) {
+        activeUsers.invalidate(userId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(
+                    new TransactionSynchronization() {
+                        @Override
+                        public void afterCommit() {
+                            activeUsers.invalidate(userId);
+                        }
+                    });
+        }
+    }
+
+    @PostUpdate
+    @PostRemove
+    public void onUserChanged(User user) {
+        invalidate(user.getId());
+    }
+
+    private static Set<RoleName> roleNames(User user) {
+        return user.getRoles().stream()
+                .map(Role::getName)
+                .collect(Collectors.toUnmodifiableSet());
+    }
+}
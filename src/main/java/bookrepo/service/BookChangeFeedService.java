@@ -0,0 +1,9 @@
+package bookrepo.service;
+
+import java.io.OutputStream;
+
+public interface BookChangeFeedService {
+    long getSyncVersion(long since);
+
+    void streamChanges(long since, long until, OutputStream output);
+}
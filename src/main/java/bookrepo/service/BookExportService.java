@@ -0,0 +1,8 @@
+package bookrepo.service;
+
+import bookrepo.exporter.BookExportFormat;
+import java.io.OutputStream;
+
+public interface BookExportService {
+    void export(BookExportFormat format, OutputStream output);
+}
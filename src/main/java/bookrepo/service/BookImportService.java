@@ -0,0 +1,9 @@
+package bookrepo.service;
+
+import bookrepo.dto.book.BookImportReportDto;
+import bookrepo.importer.BookImportFormat;
+import java.io.InputStream;
+
+public interface BookImportService {
+    BookImportReportDto importBooks(InputStream input, BookImportFormat format);
+}
@@ -1,10 +1,17 @@
 package bookrepo.service;
 
+import bookrepo.dto.book.BestsellerDto;
 import bookrepo.dto.book.BookDto;
 import bookrepo.dto.book.BookDtoWithoutCategoryIds;
+import bookrepo.dto.book.BookFacetedSearchDto;
 import bookrepo.dto.book.BookSearchParameters;
+import bookrepo.dto.book.BookSuggestionDto;
 import bookrepo.dto.book.CreateBookRequestDto;
+import bookrepo.dto.page.CursorPageDto;
+import bookrepo.dto.page.ScrollRequestDto;
+import bookrepo.recommendation.BestsellerWindow;
 import java.util.List;
+import java.util.function.Consumer;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
@@ -13,13 +20,34 @@ public interface BookService {
 
     public Page<BookDto> findAll(Pageable pageable);
 
+    CursorPageDto<BookDto> scroll(BookSearchParameters params, ScrollRequestDto scrollRequest);
+
     BookDto getById(Long id);
 
+    String getETag(Long id);
+
     BookDto update(Long id, CreateBookRequestDto requestDto);
 
     void deleteById(Long id);
 
     List<BookDto> search(BookSearchParameters params);
 
-    List<BookDtoWithoutCategoryIds> findAllByCategoryId(Long id);
+    BookFacetedSearchDto searchWithFacets(BookSearchParameters params);
+
+    void searchStream(BookSearchParameters params, Consumer<BookDto> consumer);
+
+    Page<BookDto> searchRanked(String query, Pageable pageable);
+
+    List<BookDto> searchFuzzy(String query, int limit);
+
+    List<BookSuggestionDto> suggest(String prefix, int limit);
+
+    List<BookDto> findRelated(Long id, int limit);
+
+    List<BestsellerDto> findBestsellers(BestsellerWindow window, Long categoryId, int limit);
+
+    CursorPageDto<BookDtoWithoutCategoryIds> findAllByCategoryId(Long id,
+                                                                ScrollRequestDto scrollRequest);
+
+    String getCategoryPageETag(Long id, ScrollRequestDto scrollRequest);
 }
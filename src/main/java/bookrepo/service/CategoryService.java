@@ -1,12 +1,18 @@
 package bookrepo.service;
 
 import bookrepo.dto.category.CategoryDto;
+import bookrepo.dto.page.CursorPageDto;
+import bookrepo.dto.page.ScrollRequestDto;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
 public interface CategoryService {
     Page<CategoryDto> findAll(Pageable pageable);
 
+    String getPageETag(Pageable pageable);
+
+    CursorPageDto<CategoryDto> scroll(ScrollRequestDto scrollRequest);
+
     CategoryDto getById(Long id);
 
     CategoryDto save(CategoryDto categoryDto);
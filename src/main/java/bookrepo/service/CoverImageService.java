@@ -0,0 +1,7 @@
+package bookrepo.service;
+
+import bookrepo.cover.CoverFile;
+
+public interface CoverImageService {
+    CoverFile getCover(Long bookId);
+}
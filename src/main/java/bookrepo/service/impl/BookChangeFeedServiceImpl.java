@@ -0,0 +1,60 @@
+package bookrepo.service.impl;
+
+import bookrepo.exception.DataProcessingException;
+import bookrepo.exception.InvalidRequestException;
+import bookrepo.repository.catalog.CatalogChangeRepository;
+import bookrepo.service.BookChangeFeedService;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+@Service
+@RequiredArgsConstructor
+public class BookChangeFeedServiceImpl implements BookChangeFeedService {
+    public static final int FETCH_SIZE = 1000;
+    private static final int WRITE_BUFFER_SIZE = 64 * 1024;
+    private static final char NEW_LINE = '\n';
+
+    private final CatalogChangeRepository catalogChangeRepository;
+    private final ObjectMapper objectMapper;
+
+    @Override
+    public long getSyncVersion(long since) {
+        if (since < 0) {
+            throw new InvalidRequestException("Catalog version must not be negative: " + since);
+        }
+        return catalogChangeRepository.getCurrentVersion();
+    }
+
+    @Override
+    public void streamChanges(long since, long until, OutputStream output) {
+        try {
+            Writer writer = new BufferedWriter(
+                    new OutputStreamWriter(output, StandardCharsets.UTF_8), WRITE_BUFFER_SIZE);
+            JsonGenerator generator = objectMapper.getFactory().createGenerator(writer)
+                    .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                    .disable(JsonGenerator.Feature.FLUSH_PASSED_TO_STREAM)
+                    .setRootValueSeparator(null);
+            catalogChangeRepository.forEachBookChange(since, until, FETCH_SIZE, change -> {
+                try {
+                    objectMapper.writeValue(generator, change);
+                    generator.flush();
+                    writer.write(NEW_LINE);
+                } catch (IOException e) {
+                    throw new DataProcessingException("Can't write change of book "
+                            + change.id(), e);
+                }
+            });
+            writer.flush();
+        } catch (IOException e) {
+            throw new DataProcessingException("Can't write book changes", e);
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package bookrepo.service.impl;
+
+import bookrepo.exception.DataProcessingException;
+import bookrepo.exporter.BookExportFormat;
+import bookrepo.exporter.BookExportWriter;
+import bookrepo.exporter.CsvBookExportWriter;
+import bookrepo.exporter.NdjsonBookExportWriter;
+import bookrepo.repository.book.BookBatchRepository;
+import bookrepo.service.BookExportService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+@Service
+@RequiredArgsConstructor
+public class BookExportServiceImpl implements BookExportService {
+    public static final int FETCH_SIZE = 1000;
+    private static final int WRITE_BUFFER_SIZE = 64 * 1024;
+
+    private final BookBatchRepository bookBatchRepository;
+    private final ObjectMapper objectMapper;
+
+    @Override
+    public void export(BookExportFormat format, OutputStream output) {
+        try {
+            Writer writer = new BufferedWriter(
+                    new OutputStreamWriter(output, StandardCharsets.UTF_8), WRITE_BUFFER_SIZE);
+            BookExportWriter exportWriter = switch (format) {
+                case CSV -> new CsvBookExportWriter(writer);
+                case NDJSON -> new NdjsonBookExportWriter(writer, objectMapper);
+            };
+            bookBatchRepository.forEachLiveBook(FETCH_SIZE, book -> {
+                try {
+                    exportWriter.write(book);
+                } catch (IOException e) {
+                    throw new DataProcessingException("Can't write book " + book.getId(), e);
+                }
+            });
+            exportWriter.flush();
+        } catch (IOException e) {
+            throw new DataProcessingException("Can't write book export", e);
+        }
+    }
+}
@@ -0,0 +1,208 @@
+package bookrepo.service.impl;
+
+import bookrepo.dto.book.BookImportErrorDto;
+import bookrepo.dto.book.BookImportReportDto;
+import bookrepo.dto.book.CreateBookRequestDto;
+import bookrepo.exception.DataProcessingException;
+import bookrepo.importer.BookImportFormat;
+import bookrepo.importer.BookImportRow;
+import bookrepo.importer.BookRowReader;
+import bookrepo.importer.CsvBookRowReader;
+import bookrepo.importer.NdjsonBookRowReader;
+import bookrepo.mapper.BookMapper;
+import bookrepo.model.Book;
+import bookrepo.model.CatalogEntityType;
+import bookrepo.model.Category;
+import bookrepo.repository.book.BookBatchRepository;
+import bookrepo.repository.catalog.CatalogChangeRepository;
+import bookrepo.search.BookIndex;
+import bookrepo.service.BookImportService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class BookImportServiceImpl implements BookImportService {
+    public static final int BATCH_SIZE = 1000;
+    public static final int MAX_REPORTED_ERRORS = 1000;
+    private static final int READ_BUFFER_SIZE = 64 * 1024;
+
+    private final BookBatchRepository bookBatchRepository;
+    private final BookMapper bookMapper;
+    private final List<BookIndex> bookIndexes;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final TransactionTemplate transactionTemplate;
+    private final CatalogChangeRepository catalogChangeRepository;
+
+    @Override
+    public BookImportReportDto importBooks(InputStream input, BookImportFormat format) {
+        long start = System.currentTimeMillis();
+        Progress progress = new Progress();
+        try (BookRowReader reader = openReader(input, format)) {
+            List<BookImportRow> batch = new ArrayList<>(BATCH_SIZE);
+            BookImportRow row;
+            while ((row = reader.next()) != null) {
+                batch.add(row);
+                if (batch.size() == BATCH_SIZE) {
+                    importBatch(batch, progress);
+                    batch.clear();
+                }
+            }
+            if (!batch.isEmpty()) {
+                importBatch(batch, progress);
+            }
+        } catch (IOException e) {
+            throw new DataProcessingException("Can't read book import after line "
+                    + progress.processed, e);
+        }
+        progress.errors.sort(Comparator.comparingLong(BookImportErrorDto::line));
+        long elapsed = System.currentTimeMillis() - start;
+        log.info("Book import finished: {} rows, {} imported, {} failed in {} ms",
+                progress.processed, progress.imported, progress.failed, elapsed);
+        return new BookImportReportDto(progress.processed, progress.imported, progress.failed,
+                progress.batches, elapsed, progress.errors);
+    }
+
+    private BookRowReader openReader(InputStream input, BookImportFormat format)
+            throws IOException {
+        BufferedReader reader = new BufferedReader(
+                new InputStreamReader(input, StandardCharsets.UTF_8), READ_BUFFER_SIZE);
+        return switch (format) {
+            case CSV -> new CsvBookRowReader(reader);
+            case NDJSON -> new NdjsonBookRowReader(reader, objectMapper.reader());
+        };
+    }
+
+    private void importBatch(List<BookImportRow> rows, Progress progress) {
+        progress.batches++;
+        progress.processed += rows.size();
+
+        Map<String, BookImportRow> accepted = new LinkedHashMap<>();
+        for (BookImportRow row : rows) {
+            String error = row.error() != null ? row.error() : validate(row.book());
+            if (error == null && accepted.containsKey(row.book().getIsbn())) {
+                error = "Duplicate ISBN in import: " + row.book().getIsbn();
+            }
+            if (error != null) {
+                progress.fail(row, error);
+            } else {
+                accepted.put(row.book().getIsbn(), row);
+            }
+        }
+
+        Set<String> existingIsbns = bookBatchRepository.findExistingIsbns(accepted.keySet());
+        Set<Long> requestedCategoryIds = accepted.values().stream()
+                .flatMap(row -> row.book().getCategoryIds().stream())
+                .collect(Collectors.toSet());
+        Set<Long> existingCategoryIds =
+                bookBatchRepository.findExistingCategoryIds(requestedCategoryIds);
+        accepted.values().removeIf(row -> {
+            if (existingIsbns.contains(row.book().getIsbn())) {
+                progress.fail(row, "Book with ISBN " + row.book().getIsbn() + " already exists");
+                return true;
+            }
+            Set<Long> missing = new TreeSet<>(row.book().getCategoryIds());
+            missing.removeAll(existingCategoryIds);
+            if (!missing.isEmpty()) {
+                progress.fail(row, "Can't find categories by ids: " + missing);
+                return true;
+            }
+            return false;
+        });
+        if (accepted.isEmpty()) {
+            return;
+        }
+
+        List<CreateBookRequestDto> books = accepted.values().stream()
+                .map(BookImportRow::book)
+                .toList();
+        Map<String, Long> ids;
+        try {
+            ids = transactionTemplate.execute(status -> insert(books));
+        } catch (DataAccessException e) {
+            accepted.values().forEach(row ->
+                    progress.fail(row, "Batch rejected by database: "
+                            + e.getMostSpecificCause().getMessage()));
+            return;
+        }
+        progress.imported += books.size();
+        books.forEach(dto -> index(dto, ids.get(dto.getIsbn())));
+        log.info("Book import batch {}: {} rows processed, {} imported, {} failed",
+                progress.batches, progress.processed, progress.imported, progress.failed);
+    }
+
+    private Map<String, Long> insert(List<CreateBookRequestDto> books) {
+        bookBatchRepository.insertBooks(books, BATCH_SIZE);
+        Map<String, Long> ids = bookBatchRepository.findIdsByIsbn(
+                books.stream().map(CreateBookRequestDto::getIsbn).toList());
+        Map<Long, Set<Long>> categoryIdsByBookId = new HashMap<>();
+        books.forEach(book -> categoryIdsByBookId.put(ids.get(book.getIsbn()),
+                book.getCategoryIds()));
+        bookBatchRepository.insertBookCategories(categoryIdsByBookId, BATCH_SIZE);
+        catalogChangeRepository.record(CatalogEntityType.BOOK, ids.values(), false);
+        return ids;
+    }
+
+    private void index(CreateBookRequestDto dto, Long id) {
+        Book book = bookMapper.toModel(dto);
+        book.setId(id);
+        Set<Category> categories = new HashSet<>();
+        dto.getCategoryIds().forEach(categoryId -> {
+            Category category = new Category();
+            category.setId(categoryId);
+            categories.add(category);
+        });
+        book.setCategories(categories);
+        bookIndexes.forEach(index -> index.index(book));
+    }
+
+    private String validate(CreateBookRequestDto book) {
+        Set<ConstraintViolation<CreateBookRequestDto>> violations = validator.validate(book);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                .sorted()
+                .collect(Collectors.joining(", "));
+    }
+
+    private static final class Progress {
+        private final List<BookImportErrorDto> errors = new ArrayList<>();
+        private long processed;
+        private long imported;
+        private long failed;
+        private int batches;
+
+        private void fail(BookImportRow row, String error) {
+            failed++;
+            if (errors.size() < MAX_REPORTED_ERRORS) {
+                errors.add(new BookImportErrorDto(row.line(),
+                        row.book() == null ? null : row.book().getIsbn(), error));
+            }
+        }
+    }
+}
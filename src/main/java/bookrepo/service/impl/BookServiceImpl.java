@@ -1,34 +1,95 @@
 package bookrepo.service.impl;
 
+import bookrepo.cache.BookCache;
+import bookrepo.dto.book.BestsellerDto;
 import bookrepo.dto.book.BookDto;
 import bookrepo.dto.book.BookDtoWithoutCategoryIds;
+import bookrepo.dto.book.BookFacetedSearchDto;
+import bookrepo.dto.book.BookFacetsDto;
 import bookrepo.dto.book.BookSearchParameters;
+import bookrepo.dto.book.BookSuggestionDto;
+import bookrepo.dto.book.BookView;
 import bookrepo.dto.book.CreateBookRequestDto;
+import bookrepo.dto.book.FacetCountDto;
+import bookrepo.dto.page.CursorPageDto;
+import bookrepo.dto.page.ScrollRequestDto;
 import bookrepo.exception.EntityNotFoundException;
+import bookrepo.exception.InvalidRequestException;
 import bookrepo.mapper.BookMapper;
 import bookrepo.model.Book;
 import bookrepo.model.Category;
+import bookrepo.recommendation.BestsellerTracker;
+import bookrepo.recommendation.BestsellerWindow;
+import bookrepo.recommendation.BookSales;
+import bookrepo.recommendation.CoPurchaseIndex;
+import bookrepo.repository.EntityVersion;
+import bookrepo.repository.KeysetCursorCodec;
 import bookrepo.repository.book.BookRepository;
-import bookrepo.repository.book.BookSpecificationBuilder;
+import bookrepo.repository.book.CategoryBookRepository;
 import bookrepo.repository.category.CategoryRepository;
+import bookrepo.search.BookFacetIndex;
+import bookrepo.search.BookIndex;
+import bookrepo.search.BookInvertedIndex;
+import bookrepo.search.BookSuggestionIndex;
+import bookrepo.search.BookTrigramIndex;
 import bookrepo.service.BookService;
-import jakarta.transaction.Transactional;
+import java.math.BigDecimal;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.KeysetScrollPosition;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 @Service
 @Transactional
 @RequiredArgsConstructor
 public class BookServiceImpl implements BookService {
+    private static final String ID = "id";
+    private static final String PRICE = "price";
+    private static final Map<String, Function<String, Object>> SCROLL_KEY_PARSERS = Map.of(
+            ID, Long::valueOf,
+            "title", value -> value,
+            "author", value -> value,
+            PRICE, BigDecimal::new
+    );
+    private static final Map<String, Function<BookView, Object>> SORT_KEYS = Map.of(
+            ID, BookView::id,
+            "title", BookView::title,
+            "author", BookView::author,
+            PRICE, BookView::price
+    );
+    private static final int STREAM_FETCH_SIZE = 500;
     private final BookRepository bookRepository;
     private final BookMapper bookMapper;
-    private final BookSpecificationBuilder bookSpecificationBuilder;
     private final CategoryRepository categoryRepository;
+    private final BookInvertedIndex bookInvertedIndex;
+    private final BookSuggestionIndex bookSuggestionIndex;
+    private final BookTrigramIndex bookTrigramIndex;
+    private final BookFacetIndex bookFacetIndex;
+    private final List<BookIndex> bookIndexes;
+    private final KeysetCursorCodec keysetCursorCodec;
+    private final BookCache bookCache;
+    private final CategoryBookRepository categoryBookRepository;
+    private final CoPurchaseIndex coPurchaseIndex;
+    private final BestsellerTracker bestsellerTracker;
 
     @Override
     public BookDto save(CreateBookRequestDto requestDto) {
@@ -38,20 +99,48 @@ public class BookServiceImpl implements BookService {
         book.setCategories(categories);
 
         bookRepository.save(book);
+        afterCommit(() -> bookIndexes.forEach(index -> index.index(book)));
         return bookMapper.toDto(book);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public Page<BookDto> findAll(Pageable pageable) {
-        return bookRepository.findAll(pageable)
-                .map(bookMapper::toDto);
+        Page<BookView> views = bookRepository.findAllViews(pageable);
+        return new PageImpl<>(toDtos(views.getContent()), pageable, views.getTotalElements());
     }
 
     @Override
+    @Transactional(readOnly = true)
+    public CursorPageDto<BookDto> scroll(BookSearchParameters params,
+                                         ScrollRequestDto scrollRequest) {
+        Sort.Order order = scrollOrder(scrollRequest);
+        KeysetScrollPosition position = scrollPosition(scrollRequest, order);
+        List<BookView> rows = bookRepository.scroll(params, order, position.getKeys(),
+                scrollRequest.size() + 1);
+
+        Window<BookView> window = toWindow(rows, scrollRequest.size(), order);
+        return new CursorPageDto<>(toDtos(window.getContent()),
+                keysetCursorCodec.encode(window, order), window.hasNext());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
     public BookDto getById(Long id) {
-        return bookMapper.toDto(bookRepository.findById(id).orElseThrow(
-                () -> new EntityNotFoundException("Can't find book by id: " + id)
-        ));
+        BookDto book = bookCache.get(id, this::loadBook);
+        if (book == null) {
+            throw new EntityNotFoundException("Can't find book by id: " + id);
+        }
+        return book;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public String getETag(Long id) {
+        BookDto cached = bookCache.getIfPresent(id);
+        Long version = cached != null ? cached.getVersion() : bookRepository.findVersionById(id)
+                .orElseThrow(() -> new EntityNotFoundException("Can't find book by id: " + id));
+        return EntityTags.of(id, version);
     }
 
     @Override
@@ -65,30 +154,206 @@ public class BookServiceImpl implements BookService {
         book.setCategories(categories);
 
         bookRepository.save(book);
+        afterCommit(() -> bookIndexes.forEach(index -> index.index(book)));
+        bookCache.evict(id);
         return bookMapper.toDto(book);
     }
 
     @Override
     public void deleteById(Long id) {
         bookRepository.deleteById(id);
+        afterCommit(() -> bookIndexes.forEach(index -> index.remove(id)));
+        bookCache.evict(id);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<BookDto> search(BookSearchParameters params) {
-        return bookRepository.findAll(bookSpecificationBuilder.build(params))
-                .stream()
-                .map(bookMapper::toDto)
+        return toDtos(bookRepository.search(params));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public BookFacetedSearchDto searchWithFacets(BookSearchParameters params) {
+        List<BookView> books = bookRepository.search(params);
+        BookFacetIndex.Counts counts = bookFacetIndex.count(books.stream()
+                .map(BookView::id)
+                .toList());
+        Map<Long, String> categoryNames = categoryRepository
+                .findAllById(counts.categories().keySet()).stream()
+                .collect(Collectors.toMap(Category::getId, Category::getName));
+        List<FacetCountDto> categoryCounts = counts.categories().entrySet().stream()
+                .filter(entry -> categoryNames.containsKey(entry.getKey()))
+                .map(entry -> new FacetCountDto(categoryNames.get(entry.getKey()),
+                        entry.getValue()))
+                .toList();
+        return new BookFacetedSearchDto(
+                toDtos(books),
+                new BookFacetsDto(categoryCounts, counts.authors(), counts.priceBands()));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void searchStream(BookSearchParameters params, Consumer<BookDto> consumer) {
+        bookRepository.forEachWindow(params, STREAM_FETCH_SIZE,
+                views -> toDtos(views).forEach(consumer));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Page<BookDto> searchRanked(String query, Pageable pageable) {
+        Page<Long> hits = bookInvertedIndex.search(query, pageable);
+        return new PageImpl<>(findAllInOrder(hits.getContent()), pageable,
+                hits.getTotalElements());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<BookDto> searchFuzzy(String query, int limit) {
+        return findAllInOrder(bookTrigramIndex.search(query, limit));
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public List<BookSuggestionDto> suggest(String prefix, int limit) {
+        return bookSuggestionIndex.suggest(prefix, limit);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<BookDto> findRelated(Long id, int limit) {
+        getById(id);
+        List<Long> ids = coPurchaseIndex.related(id, limit);
+        Map<Long, BookDto> books = bookCache.getAll(ids, this::loadBooks);
+        return ids.stream()
+                .map(books::get)
+                .filter(Objects::nonNull)
                 .toList();
     }
 
     @Override
-    public List<BookDtoWithoutCategoryIds> findAllByCategoryId(Long id) {
-        Category category = categoryRepository.findById(id)
-                .orElseThrow(() ->
-                        new EntityNotFoundException("Category not found with id: " + id));
-        List<Book> books = bookRepository.findAllByCategories_Id(id);
-        return books.stream()
-                .map(bookMapper::toDtoWithoutCategories)
+    @Transactional(readOnly = true)
+    public List<BestsellerDto> findBestsellers(BestsellerWindow window, Long categoryId,
+                                              int limit) {
+        List<BookSales> top = bestsellerTracker.top(window, categoryId, limit);
+        Map<Long, BookDto> books = bookCache.getAll(
+                top.stream().map(BookSales::bookId).toList(), this::loadBooks);
+        return top.stream()
+                .filter(sales -> books.containsKey(sales.bookId()))
+                .map(sales -> new BestsellerDto(books.get(sales.bookId()), sales.copies()))
+                .toList();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPageDto<BookDtoWithoutCategoryIds> findAllByCategoryId(
+            Long id, ScrollRequestDto scrollRequest) {
+        Sort.Order order = scrollOrder(scrollRequest);
+        List<BookView> rows = categoryBookRepository.findPage(id, order,
+                        scrollPosition(scrollRequest, order).getKeys(), scrollRequest.size() + 1)
+                .orElseThrow(() -> new EntityNotFoundException(
+                        "Category not found with id: " + id));
+
+        Window<BookView> window = toWindow(rows, scrollRequest.size(), order);
+        return new CursorPageDto<>(window.map(bookMapper::toDtoWithoutCategories).getContent(),
+                keysetCursorCodec.encode(window, order), window.hasNext());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public String getCategoryPageETag(Long id, ScrollRequestDto scrollRequest) {
+        Sort.Order order = scrollOrder(scrollRequest);
+        List<EntityVersion> rows = categoryBookRepository.findVersions(id, order,
+                        scrollPosition(scrollRequest, order).getKeys(), scrollRequest.size() + 1)
+                .orElseThrow(() -> new EntityNotFoundException(
+                        "Category not found with id: " + id));
+
+        // The lookahead row only decides whether there is a next page; a change to it
+        // must not invalidate this one.
+        boolean hasNext = rows.size() > scrollRequest.size();
+        List<EntityVersion> versions = rows.subList(0, Math.min(scrollRequest.size(),
+                rows.size()));
+        return EntityTags.of(versions, hasNext ? versions.size() + 1 : versions.size());
+    }
+
+    private Sort.Order scrollOrder(ScrollRequestDto scrollRequest) {
+        if (!SCROLL_KEY_PARSERS.containsKey(scrollRequest.sort())) {
+            throw new InvalidRequestException("Can't scroll books by: " + scrollRequest.sort());
+        }
+        return new Sort.Order(scrollRequest.direction(), scrollRequest.sort());
+    }
+
+    private KeysetScrollPosition scrollPosition(ScrollRequestDto scrollRequest,
+                                                Sort.Order order) {
+        return (KeysetScrollPosition) keysetCursorCodec.decode(scrollRequest.cursor(), order,
+                SCROLL_KEY_PARSERS.get(order.getProperty()));
+    }
+
+    // The indexes are not transactional, so they only see changes that were committed.
+    private void afterCommit(Runnable update) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            update.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(
+                new TransactionSynchronization() {
+                    @Override
+                    public void afterCommit() {
+                        update.run();
+                    }
+                });
+    }
+
+    private BookDto loadBook(Long id) {
+        return bookRepository.findById(id).map(bookMapper::toDto).orElse(null);
+    }
+
+    // Loads the cache misses in one query, with the versions the ETags are derived from.
+    private Map<Long, BookDto> loadBooks(Set<? extends Long> ids) {
+        return bookRepository.findAllByIdWithCategories(ids).stream()
+                .map(bookMapper::toDto)
+                .collect(Collectors.toMap(BookDto::getId, Function.identity()));
+    }
+
+    private List<BookDto> findAllInOrder(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, BookDto> books = toDtos(bookRepository.findAllViewsById(ids)).stream()
+                .collect(Collectors.toMap(BookDto::getId, Function.identity()));
+        return ids.stream()
+                .map(books::get)
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
+    // Takes the page from a lookahead query that asked for one row more than the page size.
+    private Window<BookView> toWindow(List<BookView> rows, int size, Sort.Order order) {
+        List<BookView> views = rows.subList(0, Math.min(size, rows.size()));
+        Function<BookView, Object> sortKey = SORT_KEYS.get(order.getProperty());
+        return Window.from(views, index -> {
+            Map<String, Object> keys = new LinkedHashMap<>();
+            keys.put(order.getProperty(), sortKey.apply(views.get(index)));
+            keys.put(ID, views.get(index).id());
+            return ScrollPosition.forward(keys);
+        }, rows.size() > size);
+    }
+
+    private List<BookDto> toDtos(List<BookView> views) {
+        if (views.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, Set<Long>> categoryIds = new HashMap<>();
+        bookRepository.findCategoryIdsByBookIds(views.stream().map(BookView::id).toList())
+                .forEach(row -> categoryIds
+                        .computeIfAbsent(row.bookId(), bookId -> new HashSet<>())
+                        .add(row.categoryId()));
+        return views.stream()
+                .map(view -> {
+                    BookDto dto = bookMapper.toDto(view);
+                    dto.setCategoryIds(categoryIds.getOrDefault(view.id(), new HashSet<>()));
+                    return dto;
+                })
                 .toList();
     }
 }
@@ -1,29 +1,85 @@
 package bookrepo.service.impl;
 
+import bookrepo.cache.BookCache;
 import bookrepo.dto.category.CategoryDto;
+import bookrepo.dto.page.CursorPageDto;
+import bookrepo.dto.page.ScrollRequestDto;
 import bookrepo.exception.EntityNotFoundException;
+import bookrepo.exception.InvalidRequestException;
 import bookrepo.mapper.CategoryMapper;
+import bookrepo.model.Book;
+import bookrepo.model.CatalogEntityType;
 import bookrepo.model.Category;
+import bookrepo.repository.EntityVersion;
+import bookrepo.repository.KeysetCursorCodec;
+import bookrepo.repository.book.BookRepository;
+import bookrepo.repository.catalog.CatalogChangeRepository;
 import bookrepo.repository.category.CategoryRepository;
 import bookrepo.service.CategoryService;
+import jakarta.persistence.EntityManagerFactory;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
 import lombok.RequiredArgsConstructor;
+import org.hibernate.Cache;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 @Service
 @RequiredArgsConstructor
 public class CategoryServiceImpl implements CategoryService {
+    private static final String BOOK_CATEGORIES_ROLE = Book.class.getName() + ".categories";
+    private static final Map<String, Function<String, Object>> SCROLL_KEY_PARSERS = Map.of(
+            "id", Long::valueOf,
+            "name", value -> value
+    );
     private final CategoryRepository categoryRepository;
+    private final BookRepository bookRepository;
     private final CategoryMapper categoryMapper;
+    private final KeysetCursorCodec keysetCursorCodec;
+    private final BookCache bookCache;
+    private final EntityManagerFactory entityManagerFactory;
+    private final CatalogChangeRepository catalogChangeRepository;
 
     @Override
+    @Transactional(readOnly = true)
     public Page<CategoryDto> findAll(Pageable pageable) {
         return categoryRepository.findAll(pageable)
                 .map(categoryMapper::toDto);
     }
 
     @Override
+    @Transactional(readOnly = true)
+    public String getPageETag(Pageable pageable) {
+        Page<EntityVersion> versions = categoryRepository.findAllVersions(pageable);
+        return EntityTags.of(versions.getContent(), versions.getTotalElements());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPageDto<CategoryDto> scroll(ScrollRequestDto scrollRequest) {
+        Function<String, Object> keyParser = SCROLL_KEY_PARSERS.get(scrollRequest.sort());
+        if (keyParser == null) {
+            throw new InvalidRequestException("Can't scroll categories by: "
+                    + scrollRequest.sort());
+        }
+        Sort.Order order = new Sort.Order(scrollRequest.direction(), scrollRequest.sort());
+        Window<Category> window = categoryRepository.findBy(Specification.where(null),
+                query -> query.sortBy(Sort.by(order))
+                        .limit(scrollRequest.size())
+                        .scroll(keysetCursorCodec.decode(scrollRequest.cursor(), order,
+                                keyParser)));
+        return new CursorPageDto<>(window.map(categoryMapper::toDto).getContent(),
+                keysetCursorCodec.encode(window, order), window.hasNext());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
     public CategoryDto getById(Long id) {
         return categoryMapper.toDto(categoryRepository.findById(id).orElseThrow(
                 () -> new EntityNotFoundException("Can't find category by id: " + id)
@@ -47,7 +103,16 @@ public class CategoryServiceImpl implements CategoryService {
     }
 
     @Override
+    @Transactional
     public void deleteById(Long id) {
+        List<Long> bookIds = bookRepository.findIdsByCategoryId(id);
+        if (!bookIds.isEmpty()) {
+            bookRepository.incrementVersions(bookIds);
+            catalogChangeRepository.record(CatalogEntityType.BOOK, bookIds, false);
+        }
         categoryRepository.deleteById(id);
+        bookCache.evictByCategoryId(id);
+        entityManagerFactory.getCache().unwrap(Cache.class)
+                .evictCollectionData(BOOK_CATEGORIES_ROLE);
     }
 }
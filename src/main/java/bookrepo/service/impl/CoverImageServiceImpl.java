@@ -0,0 +1,25 @@
+package bookrepo.service.impl;
+
+import bookrepo.cover.CoverFile;
+import bookrepo.cover.CoverImageCache;
+import bookrepo.exception.EntityNotFoundException;
+import bookrepo.repository.book.BookRepository;
+import bookrepo.service.CoverImageService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+@Service
+@RequiredArgsConstructor
+public class CoverImageServiceImpl implements CoverImageService {
+    private final BookRepository bookRepository;
+    private final CoverImageCache coverImageCache;
+
+    @Override
+    public CoverFile getCover(Long bookId) {
+        String url = bookRepository.findCoverImageById(bookId)
+                .filter(coverImage -> !coverImage.isBlank())
+                .orElseThrow(() -> new EntityNotFoundException(
+                        "Can't find cover image of book by id: " + bookId));
+        return coverImageCache.get(bookId, url);
+    }
+}
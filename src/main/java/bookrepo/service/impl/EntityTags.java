@@ -0,0 +1,34 @@
+package bookrepo.service.impl;
+
+import bookrepo.repository.EntityVersion;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+
+final class EntityTags {
+    private static final int DIGEST_BYTES = 16;
+
+    private EntityTags() {
+    }
+
+    static String of(Long id, Long version) {
+        return "\"" + id + "-" + version + "\"";
+    }
+
+    static String of(List<EntityVersion> versions, long total) {
+        StringBuilder content = new StringBuilder().append(total);
+        versions.forEach(entity -> content.append(',')
+                .append(entity.id()).append(':').append(entity.version()));
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256")
+                    .digest(content.toString().getBytes(StandardCharsets.UTF_8));
+            return "\"" + Base64.getUrlEncoder().withoutPadding()
+                    .encodeToString(Arrays.copyOf(digest, DIGEST_BYTES)) + "\"";
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
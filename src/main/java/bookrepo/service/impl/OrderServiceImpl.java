@@ -11,22 +11,24 @@ import bookrepo.model.Book;
 import bookrepo.model.Order;
 import bookrepo.model.OrderItem;
 import bookrepo.model.User;
-import bookrepo.repository.book.BookRepository;
+import bookrepo.recommendation.OrderItemsChangedEvent;
 import bookrepo.repository.order.OrderItemRepository;
 import bookrepo.repository.order.OrderRepository;
-import bookrepo.security.AuthenticationService;
+import bookrepo.security.CurrentUserContext;
 import bookrepo.service.OrderService;
-import bookrepo.service.ShoppingCartService;
-import jakarta.transaction.Transactional;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 @Service
 @Transactional
@@ -34,13 +36,13 @@ import org.springframework.stereotype.Service;
 public class OrderServiceImpl implements OrderService {
     private final OrderRepository orderRepository;
     private final OrderMapper orderMapper;
-    private final AuthenticationService authenticationService;
-    private final BookRepository bookRepository;
+    private final CurrentUserContext currentUserContext;
     private final OrderItemRepository orderItemRepository;
     private final OrderItemMapper orderItemMapper;
-    private final ShoppingCartService shoppingCartService;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
+    @Transactional(readOnly = true)
     public Page<OrderDto> getAllOrders(Pageable pageable) {
         return orderRepository.findAll(pageable)
                         .map(orderMapper::toDto);
@@ -48,7 +50,7 @@ public class OrderServiceImpl implements OrderService {
 
     @Override
     public OrderDto save(CreateOrderDto orderDto) {
-        User user = authenticationService.getAuthenticatedUser();
+        User user = currentUserContext.getUser();
 
         Order order = orderRepository.findUserById(user.getId())
                 .orElseGet(() -> {
@@ -60,11 +62,9 @@ public class OrderServiceImpl implements OrderService {
                     return newOrder;
                 });
 
-        Set<OrderItem> orderItems = shoppingCartService.getShoppingCart().getCartItems().stream()
+        Set<OrderItem> orderItems = currentUserContext.getShoppingCart().getCartItems().stream()
                 .map(cartItem -> {
-                    Book book = bookRepository.findById(cartItem.getBookId())
-                            .orElseThrow(() -> new EntityNotFoundException(
-                                    "Book not found with id: " + cartItem.getBookId()));
+                    Book book = cartItem.getBook();
                     OrderItem orderItem = new OrderItem();
                     orderItem.setOrder(order);
                     orderItem.setBook(book);
@@ -73,6 +73,7 @@ public class OrderServiceImpl implements OrderService {
                     return orderItem;
                 }).collect(Collectors.toSet());
 
+        Map<Long, Integer> previousQuantities = quantities(order.getOrderItems());
         order.getOrderItems().clear();
         order.getOrderItems().addAll(orderItems);
 
@@ -82,12 +83,14 @@ public class OrderServiceImpl implements OrderService {
         order.setTotal(total);
 
         orderRepository.save(order);
+        eventPublisher.publishEvent(new OrderItemsChangedEvent(order.getId(),
+                previousQuantities, quantities(orderItems)));
         return orderMapper.toDto(order);
     }
 
     @Override
     public OrderDto update(UpdateOrderStatusDto orderDto) {
-        User user = authenticationService.getAuthenticatedUser();
+        User user = currentUserContext.getUser();
 
         Order order = orderRepository.findUserById(user.getId())
                 .orElseThrow(() -> new EntityNotFoundException(
@@ -101,6 +104,7 @@ public class OrderServiceImpl implements OrderService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<OrderItemDto> findByOrderId(Long orderId) {
         return orderItemRepository.findAllByOrderId(orderId).stream()
                 .map(orderItemMapper::toDto)
@@ -108,8 +112,9 @@ public class OrderServiceImpl implements OrderService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public OrderItemDto findSpecificOrderItem(Long orderId, Long itemId) {
-        User user = authenticationService.getAuthenticatedUser();
+        User user = currentUserContext.getUser();
         OrderItem item = orderItemRepository
                 .findByIdAndOrderIdAndUserId(orderId, itemId, user.getId());
         return orderItemMapper.toDto(item);
@@ -117,7 +122,11 @@ public class OrderServiceImpl implements OrderService {
 
     @Override
     public void deleteById(Long id) {
+        Map<Long, Integer> previousQuantities =
+                quantities(orderItemRepository.findAllByOrderId(id));
         orderRepository.deleteById(id);
+        eventPublisher.publishEvent(new OrderItemsChangedEvent(id, previousQuantities,
+                Map.of()));
     }
 
     public Order createOrder(User user, CreateOrderDto orderDto) {
@@ -132,4 +141,9 @@ public class OrderServiceImpl implements OrderService {
         orderRepository.save(order);
         return order;
     }
+
+    private static Map<Long, Integer> quantities(Collection<OrderItem> items) {
+        return items.stream().collect(Collectors.toMap(item -> item.getBook().getId(),
+                OrderItem::getQuantity, Integer::sum));
+    }
 }
@@ -12,12 +12,12 @@ import bookrepo.model.User;
 import bookrepo.repository.book.BookRepository;
 import bookrepo.repository.cartitem.CartItemRepository;
 import bookrepo.repository.shoppingcart.ShoppingCartRepository;
-import bookrepo.security.AuthenticationService;
+import bookrepo.security.CurrentUserContext;
 import bookrepo.service.ShoppingCartService;
-import jakarta.transaction.Transactional;
 import java.util.Optional;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 @Service
 @Transactional
@@ -25,28 +25,19 @@ import org.springframework.stereotype.Service;
 public class ShoppingCartServiceImpl implements ShoppingCartService {
     private final ShoppingCartRepository shoppingCartRepository;
     private final ShoppingCartMapper shoppingCartMapper;
-    private final AuthenticationService authenticationService;
+    private final CurrentUserContext currentUserContext;
     private final BookRepository bookRepository;
     private final CartItemRepository cartItemRepository;
 
     @Override
+    @Transactional(readOnly = true)
     public ShoppingCartDto getShoppingCart() {
-        User user = authenticationService.getAuthenticatedUser();
-        ShoppingCart cart = shoppingCartRepository.findByUserId(user.getId())
-                .orElseThrow(() -> new EntityNotFoundException(
-                        "Shopping cart not found for user id: "
-                        + user.getId()));
-        return shoppingCartMapper.toDto(cart);
+        return shoppingCartMapper.toDto(currentUserContext.getShoppingCart());
     }
 
     @Override
     public ShoppingCartDto save(CreateCartItemDto requestDto) {
-        User user = authenticationService.getAuthenticatedUser();
-
-        ShoppingCart cart = shoppingCartRepository.findByUserId(user.getId())
-                .orElseThrow(() -> new EntityNotFoundException(
-                        "Shopping cart not found for user id: "
-                                + user.getId()));
+        ShoppingCart cart = currentUserContext.getShoppingCart();
 
         Book book = bookRepository.findById(requestDto.getBookId())
                 .orElseThrow(() -> new EntityNotFoundException("Book: "
@@ -74,12 +65,7 @@ public class ShoppingCartServiceImpl implements ShoppingCartService {
 
     @Override
     public ShoppingCartDto update(Long cartItemId, UpdateCarItemQuantityDto quantity) {
-        User user = authenticationService.getAuthenticatedUser();
-
-        ShoppingCart cart = shoppingCartRepository.findByUserId(user.getId())
-                .orElseThrow(() -> new EntityNotFoundException(
-                        "Shopping cart not found for user id: "
-                        + user.getId()));
+        ShoppingCart cart = currentUserContext.getShoppingCart();
 
         CartItem cartItem = cartItemRepository.findByIdAndShoppingCartId(cartItemId, cart.getId())
                 .orElseThrow(() -> new EntityNotFoundException(
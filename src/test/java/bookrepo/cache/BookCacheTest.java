@@ -0,0 +1,119 @@
+package bookrepo.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import bookrepo.dto.book.BookDto;
+import bookrepo.exception.EntityNotFoundException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class BookCacheTest {
+    private final BookCache cache = new BookCache(1024 * 1024, Duration.ZERO);
+
+    @Test
+    @DisplayName("Should load a book once and serve later lookups from the cache")
+    void get_calledTwice_loadsOnce() {
+        // Given
+        AtomicInteger loads = new AtomicInteger();
+
+        // When
+        BookDto first = cache.get(1L, id -> {
+            loads.incrementAndGet();
+            return book(id, 1L);
+        });
+        BookDto second = cache.get(1L, id -> {
+            loads.incrementAndGet();
+            return book(id, 1L);
+        });
+
+        // Then
+        assertSame(first, second);
+        assertEquals(1, loads.get());
+        assertEquals(1, cache.stats().hitCount());
+        assertEquals(1, cache.stats().missCount());
+    }
+
+    @Test
+    @DisplayName("Should not cache a lookup for a missing or deleted book")
+    void get_withMissingBook_doesNotCacheFailure() {
+        // When & Then
+        assertThrows(EntityNotFoundException.class, () -> cache.get(1L, id -> {
+            throw new EntityNotFoundException("Can't find book by id: " + id);
+        }));
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    @DisplayName("Should drop only the evicted book")
+    void evict_withCachedBook_removesOnlyThatBook() {
+        // Given
+        cache.get(1L, id -> book(id, 1L));
+        cache.get(2L, id -> book(id, 1L));
+
+        // When
+        cache.evict(1L);
+
+        // Then
+        assertEquals(1, cache.size());
+        assertEquals(Set.of(1L), cache.get(2L, id -> book(id, 2L)).getCategoryIds());
+    }
+
+    @Test
+    @DisplayName("Should drop every cached book that belongs to the deleted category")
+    void evictByCategoryId_removesBooksInCategory() {
+        // Given
+        cache.get(1L, id -> book(id, 1L));
+        cache.get(2L, id -> book(id, 2L));
+        cache.get(3L, id -> book(id, 1L, 2L));
+
+        // When
+        cache.evictByCategoryId(1L);
+
+        // Then
+        assertEquals(1, cache.size());
+        assertEquals(Set.of(2L), cache.get(2L, id -> book(id)).getCategoryIds());
+    }
+
+    @Test
+    @DisplayName("Should weigh books by the size of their text fields")
+    void weigh_withLongerDescription_returnsHigherWeight() {
+        // Given
+        BookDto shortBook = book(1L, 1L);
+        BookDto longBook = book(2L, 1L);
+        longBook.setDescription("x".repeat(1000));
+
+        // When & Then
+        assertEquals(2000, BookCache.weigh(2L, longBook) - BookCache.weigh(1L, shortBook));
+    }
+
+    @Test
+    @DisplayName("Should publish cache metrics under the books cache name")
+    void bindTo_registersCacheMetrics() {
+        // Given
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        cache.bindTo(registry);
+        cache.get(1L, id -> book(id, 1L));
+        cache.get(1L, id -> book(id, 1L));
+
+        // When & Then
+        assertEquals(1, registry.get("cache.gets").tag("cache", BookCache.NAME)
+                .tag("result", "hit").functionCounter().count());
+        assertEquals(1, registry.get("cache.gets").tag("cache", BookCache.NAME)
+                .tag("result", "miss").functionCounter().count());
+    }
+
+    private static BookDto book(Long id, Long... categoryIds) {
+        BookDto book = new BookDto();
+        book.setId(id);
+        book.setTitle("Book " + id);
+        book.setAuthor("Author " + id);
+        book.setCategoryIds(Set.of(categoryIds));
+        return book;
+    }
+}
@@ -10,6 +10,7 @@ import static org.springframework.test.web.servlet.request.MockMvcRequestBuilder
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 import bookrepo.dto.book.BookDto;
@@ -31,6 +32,7 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.context.jdbc.Sql;
@@ -137,6 +139,24 @@ class BookControllerTest {
         assertEquals(expectedDto, actualDto);
     }
 
+    @WithMockUser(username = "user", authorities = {"USER"})
+    @Test
+    @DisplayName("Get book by ID with current ETag returns 304 until the book changes")
+    void getBookById_WithMatchingETag_ShouldReturnNotModified() throws Exception {
+        // Given
+        String etag = mockMvc.perform(get("/books/{id}", 1L))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getHeader(HttpHeaders.ETAG);
+        assertNotNull(etag);
+
+        // When & Then
+        mockMvc.perform(get("/books/{id}", 1L).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, etag));
+    }
+
     @WithMockUser(username = "user", authorities = {"USER"})
     @Test
     @DisplayName("Search books")
@@ -276,7 +296,8 @@ class BookControllerTest {
 
         // Then
         BookDtoWithoutCategoryIds[] books = objectMapper.readValue(
-                result.getResponse().getContentAsString(),
+                objectMapper.readTree(result.getResponse().getContentAsString())
+                        .get("content").toString(),
                 BookDtoWithoutCategoryIds[].class
         );
         assertNotNull(books);
@@ -300,7 +321,8 @@ class BookControllerTest {
 
         // Then
         BookDtoWithoutCategoryIds[] books = objectMapper.readValue(
-                result.getResponse().getContentAsString(),
+                objectMapper.readTree(result.getResponse().getContentAsString())
+                        .get("content").toString(),
                 BookDtoWithoutCategoryIds[].class
         );
 
@@ -353,12 +375,14 @@ class BookControllerTest {
                 .andReturn();
 
         BookDtoWithoutCategoryIds[] books1 = objectMapper.readValue(
-                result1.getResponse().getContentAsString(),
+                objectMapper.readTree(result1.getResponse().getContentAsString())
+                        .get("content").toString(),
                 BookDtoWithoutCategoryIds[].class
         );
 
         BookDtoWithoutCategoryIds[] books2 = objectMapper.readValue(
-                result2.getResponse().getContentAsString(),
+                objectMapper.readTree(result2.getResponse().getContentAsString())
+                        .get("content").toString(),
                 BookDtoWithoutCategoryIds[].class
         );
 
@@ -390,7 +414,8 @@ class BookControllerTest {
 
         // Then
         BookDtoWithoutCategoryIds[] books = objectMapper.readValue(
-                result.getResponse().getContentAsString(),
+                objectMapper.readTree(result.getResponse().getContentAsString())
+                        .get("content").toString(),
                 BookDtoWithoutCategoryIds[].class
         );
 
@@ -0,0 +1,150 @@
+package bookrepo.cover;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+class CoverFileWriterTest {
+    private static final String ETAG = "\"1-abcdef0123456789-256\"";
+
+    @TempDir
+    private Path directory;
+
+    private final CoverFileWriter writer = new CoverFileWriter();
+    private final byte[] content = new byte[256];
+    private CoverFile cover;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        for (int i = 0; i < content.length; i++) {
+            content[i] = (byte) i;
+        }
+        Path path = Files.write(directory.resolve("cover"), content);
+        cover = new CoverFile(path, "image/jpeg", content.length, ETAG,
+                Instant.now().truncatedTo(ChronoUnit.SECONDS));
+    }
+
+    @Test
+    @DisplayName("Should serve the whole cover with cache headers")
+    void write_withoutRange_servesWholeFile() throws IOException {
+        // Given
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // When
+        writer.write(cover, get(), response);
+
+        // Then
+        assertEquals(200, response.getStatus());
+        assertEquals("image/jpeg", response.getContentType());
+        assertEquals(ETAG, response.getHeader(HttpHeaders.ETAG));
+        assertEquals(CoverFileWriter.CACHE_CONTROL, response.getHeader(HttpHeaders.CACHE_CONTROL));
+        assertEquals("bytes", response.getHeader(HttpHeaders.ACCEPT_RANGES));
+        assertEquals("nosniff", response.getHeader("X-Content-Type-Options"));
+        assertArrayEquals(content, response.getContentAsByteArray());
+    }
+
+    @Test
+    @DisplayName("Should serve only the requested byte range")
+    void write_withRange_servesPartialContent() throws IOException {
+        // Given
+        MockHttpServletRequest request = get();
+        request.addHeader(HttpHeaders.RANGE, "bytes=10-19");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // When
+        writer.write(cover, request, response);
+
+        // Then
+        assertEquals(206, response.getStatus());
+        assertEquals("bytes 10-19/256", response.getHeader(HttpHeaders.CONTENT_RANGE));
+        assertEquals(10, response.getContentLengthLong());
+        assertArrayEquals(Arrays.copyOfRange(content, 10, 20), response.getContentAsByteArray());
+    }
+
+    @Test
+    @DisplayName("Should reject a range that starts past the end of the cover")
+    void write_withUnsatisfiableRange_returns416() throws IOException {
+        // Given
+        MockHttpServletRequest request = get();
+        request.addHeader(HttpHeaders.RANGE, "bytes=500-");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // When
+        writer.write(cover, request, response);
+
+        // Then
+        assertEquals(416, response.getStatus());
+        assertEquals("bytes */256", response.getHeader(HttpHeaders.CONTENT_RANGE));
+    }
+
+    @Test
+    @DisplayName("Should ignore the range when If-Range names a different version")
+    void write_withStaleIfRange_servesWholeFile() throws IOException {
+        // Given
+        MockHttpServletRequest request = get();
+        request.addHeader(HttpHeaders.RANGE, "bytes=10-19");
+        request.addHeader(HttpHeaders.IF_RANGE, "\"stale\"");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // When
+        writer.write(cover, request, response);
+
+        // Then
+        assertEquals(200, response.getStatus());
+        assertArrayEquals(content, response.getContentAsByteArray());
+    }
+
+    @Test
+    @DisplayName("Should answer 304 when the client already has the current cover")
+    void write_withMatchingETag_returnsNotModified() throws IOException {
+        // Given
+        MockHttpServletRequest request = get();
+        request.addHeader(HttpHeaders.IF_NONE_MATCH, ETAG);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // When
+        writer.write(cover, request, response);
+
+        // Then
+        assertEquals(304, response.getStatus());
+        assertEquals(0, response.getContentAsByteArray().length);
+    }
+
+    @Test
+    @DisplayName("Should hand the file to the container when it supports sendfile")
+    void write_withSendfileSupport_delegatesToContainer() throws IOException {
+        // Given
+        MockHttpServletRequest request = get();
+        request.setAttribute("org.apache.tomcat.sendfile.support", Boolean.TRUE);
+        request.addHeader(HttpHeaders.RANGE, "bytes=-16");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // When
+        writer.write(cover, request, response);
+
+        // Then
+        assertEquals(206, response.getStatus());
+        assertEquals(cover.path().toAbsolutePath().toString(),
+                request.getAttribute("org.apache.tomcat.sendfile.filename"));
+        assertEquals(240L, request.getAttribute("org.apache.tomcat.sendfile.start"));
+        assertEquals(256L, request.getAttribute("org.apache.tomcat.sendfile.end"));
+        assertEquals(0, response.getContentAsByteArray().length);
+    }
+
+    private static MockHttpServletRequest get() {
+        return new MockHttpServletRequest("GET", "/books/1/cover");
+    }
+}
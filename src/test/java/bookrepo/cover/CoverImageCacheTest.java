@@ -0,0 +1,235 @@
+package bookrepo.cover;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import bookrepo.exception.CoverUnavailableException;
+import com.sun.net.httpserver.HttpServer;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class CoverImageCacheTest {
+    private static final byte[] SMALL_COVER = new byte[100];
+    private static final byte[] LARGE_COVER = new byte[600];
+    private static final Duration TIMEOUT = Duration.ofSeconds(5);
+    private static final String ORIGIN_HOST = "localhost";
+
+    @TempDir
+    private Path directory;
+
+    private HttpServer origin;
+    private final Map<String, AtomicInteger> hits = new ConcurrentHashMap<>();
+
+    @BeforeEach
+    void setUp() throws IOException {
+        origin = HttpServer.create(new InetSocketAddress(ORIGIN_HOST, 0), 0);
+        serve("/small.jpg", 200, "image/jpeg", SMALL_COVER);
+        serve("/large.png", 200, "image/png", LARGE_COVER);
+        serve("/missing.jpg", 404, "text/plain", new byte[0]);
+        serve("/page.html", 200, "text/html", new byte[10]);
+        serve("/drawing.svg", 200, "image/svg+xml", new byte[10]);
+        serve("/streamed.jpg", 200, "image/jpeg; charset=binary", LARGE_COVER, true);
+        origin.createContext("/moved.jpg", exchange -> {
+            exchange.getResponseHeaders().set("Location", url("/small.jpg"));
+            exchange.sendResponseHeaders(302, -1);
+            exchange.close();
+        });
+        origin.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        origin.stop(0);
+    }
+
+    @Test
+    @DisplayName("Should fetch a cover from the origin once and serve it from disk afterwards")
+    void get_calledTwice_fetchesOnce() throws IOException {
+        // Given
+        CoverImageCache cache = cache(1000);
+
+        // When
+        CoverFile first = cache.get(1L, url("/small.jpg"));
+        CoverFile second = cache.get(1L, url("/small.jpg"));
+
+        // Then
+        assertEquals(first, second);
+        assertEquals(1, hits.get("/small.jpg").get());
+        assertEquals("image/jpeg", first.contentType());
+        assertArrayEquals(SMALL_COVER, Files.readAllBytes(first.path()));
+    }
+
+    @Test
+    @DisplayName("Should evict the least recently used covers when the size limit is reached")
+    void get_overSizeLimit_evictsLeastRecentlyUsed() {
+        // Given
+        CoverImageCache cache = cache(750);
+        CoverFile recentlyUsed = cache.get(1L, url("/small.jpg"));
+        CoverFile leastRecentlyUsed = cache.get(2L, url("/small.jpg"));
+        cache.get(1L, url("/small.jpg"));
+
+        // When
+        cache.get(3L, url("/large.png"));
+
+        // Then
+        assertEquals(2, cache.size());
+        assertEquals(700, cache.getTotalBytes());
+        assertFalse(Files.exists(leastRecentlyUsed.path()));
+        assertEquals(recentlyUsed, cache.get(1L, url("/small.jpg")));
+        assertEquals(2, hits.get("/small.jpg").get());
+    }
+
+    @Test
+    @DisplayName("Should replace the cached cover when the book's cover URL changes")
+    void get_withNewUrl_dropsPreviousCover() {
+        // Given
+        CoverImageCache cache = cache(1000);
+        CoverFile previous = cache.get(1L, url("/small.jpg"));
+
+        // When
+        CoverFile current = cache.get(1L, url("/large.png"));
+
+        // Then
+        assertNotEquals(previous.etag(), current.etag());
+        assertFalse(Files.exists(previous.path()));
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    @DisplayName("Should reject covers the origin can't serve and leave no partial files")
+    void get_withFailingOrigin_throwsException() throws IOException {
+        // Given
+        CoverImageCache cache = cache(1000);
+
+        // When & Then
+        assertThrows(CoverUnavailableException.class, () -> cache.get(1L, url("/missing.jpg")));
+        assertThrows(CoverUnavailableException.class, () -> cache.get(2L, url("/page.html")));
+        assertThrows(CoverUnavailableException.class, () -> cache.get(3L, "file:///etc/hosts"));
+        assertThrows(CoverUnavailableException.class, () -> cache.get(4L, url("/drawing.svg")));
+        try (var files = Files.list(directory)) {
+            assertEquals(0, files.count());
+        }
+    }
+
+    @Test
+    @DisplayName("""
+            Should reject covers larger than the cache by their length or, when the origin
+            sends none, while copying the body
+            """)
+    void get_withOversizedCover_throwsException() throws IOException {
+        // Given
+        CoverImageCache cache = cache(500);
+
+        // When & Then
+        assertThrows(CoverUnavailableException.class, () -> cache.get(1L, url("/large.png")));
+        assertThrows(CoverUnavailableException.class, () -> cache.get(2L, url("/streamed.jpg")));
+        try (var files = Files.list(directory)) {
+            assertEquals(0, files.count());
+        }
+    }
+
+    @Test
+    @DisplayName("Should neither follow redirects nor fetch from hosts outside the allowlist")
+    void get_withRedirectOrForeignHost_throwsException() {
+        // Given
+        CoverImageCache cache = cache(1000);
+        CoverImageCache allowlisted = new CoverImageCache(directory, 1000, TIMEOUT,
+                Set.of("covers.example.com"), true, Duration.ZERO);
+
+        // When & Then
+        assertThrows(CoverUnavailableException.class, () -> cache.get(1L, url("/moved.jpg")));
+        assertEquals(0, hits.get("/small.jpg").get());
+        assertThrows(CoverUnavailableException.class,
+                () -> allowlisted.get(2L, url("/small.jpg")));
+        assertEquals(0, hits.get("/small.jpg").get());
+    }
+
+    @Test
+    @DisplayName("Should fetch from no host at all when no hosts are allowed")
+    void get_withoutAllowedHosts_throwsException() {
+        // Given
+        CoverImageCache cache = new CoverImageCache(directory, 1000, TIMEOUT, Set.of(""), true,
+                Duration.ZERO);
+
+        // When & Then
+        assertThrows(CoverUnavailableException.class, () -> cache.get(1L, url("/small.jpg")));
+        assertEquals(0, hits.get("/small.jpg").get());
+    }
+
+    @Test
+    @DisplayName("Should refuse allowed hosts that resolve to loopback or link-local addresses")
+    void get_withInternalAddress_throwsException() {
+        // Given
+        CoverImageCache cache = new CoverImageCache(directory, 1000, TIMEOUT,
+                Set.of(ORIGIN_HOST, "169.254.169.254"), false, Duration.ZERO);
+
+        // When & Then
+        assertThrows(CoverUnavailableException.class, () -> cache.get(1L, url("/small.jpg")));
+        assertThrows(CoverUnavailableException.class,
+                () -> cache.get(2L, "http://169.254.169.254/latest/meta-data"));
+        assertEquals(0, hits.get("/small.jpg").get());
+    }
+
+    @Test
+    @DisplayName("Should keep evicted covers on disk until their grace period is over")
+    void get_withEvictionGrace_deletesEvictedCoverLater() {
+        // Given
+        CoverImageCache cache = new CoverImageCache(directory, 1000, TIMEOUT,
+                Set.of(ORIGIN_HOST), true, Duration.ofMinutes(1));
+        CoverFile previous = cache.get(1L, url("/small.jpg"));
+
+        // When
+        CoverFile current = cache.get(1L, url("/large.png"));
+        cache.deleteEvicted();
+
+        // Then
+        assertEquals(1, cache.size());
+        assertEquals(LARGE_COVER.length, cache.getTotalBytes());
+        assertTrue(Files.exists(previous.path()));
+        assertTrue(Files.exists(current.path()));
+    }
+
+    private CoverImageCache cache(long maxBytes) {
+        return new CoverImageCache(directory, maxBytes, TIMEOUT, Set.of(ORIGIN_HOST), true,
+                Duration.ZERO);
+    }
+
+    private void serve(String path, int status, String contentType, byte[] body) {
+        serve(path, status, contentType, body, false);
+    }
+
+    private void serve(String path, int status, String contentType, byte[] body,
+                       boolean chunked) {
+        hits.put(path, new AtomicInteger());
+        origin.createContext(path, exchange -> {
+            hits.get(path).incrementAndGet();
+            exchange.getResponseHeaders().set("Content-Type", contentType);
+            exchange.sendResponseHeaders(status, chunked ? 0 : body.length == 0 ? -1
+                    : body.length);
+            try (OutputStream output = exchange.getResponseBody()) {
+                output.write(body);
+            }
+        });
+    }
+
+    private String url(String path) {
+        return "http://" + ORIGIN_HOST + ":" + origin.getAddress().getPort() + path;
+    }
+}
@@ -0,0 +1,132 @@
+package bookrepo.datasource;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+class ReadWriteRoutingDataSourceTest {
+    private final Connection primaryConnection = mock(Connection.class);
+    private final Connection firstReplicaConnection = mock(Connection.class);
+    private final Connection secondReplicaConnection = mock(Connection.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private ReadWriteRoutingDataSource dataSource;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        replicas.put("replica-0", dataSource(firstReplicaConnection));
+        replicas.put("replica-1", dataSource(secondReplicaConnection));
+        dataSource = new ReadWriteRoutingDataSource(dataSource(primaryConnection), replicas,
+                new ReadYourWritesGuard(Duration.ofMinutes(1)), meterRegistry);
+        SecurityContextHolder.getContext().setAuthentication(
+                UsernamePasswordAuthenticationToken.authenticated("user@mail.com", null,
+                        List.of()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.clear();
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    @DisplayName("Should spread read-only transactions over the replicas")
+    void getConnection_inReadOnlyTransaction_usesReplicasInTurn() throws SQLException {
+        // Given
+        beginTransaction(true);
+
+        // When & Then
+        assertSame(firstReplicaConnection, dataSource.getConnection());
+        assertSame(secondReplicaConnection, dataSource.getConnection());
+        assertSame(firstReplicaConnection, dataSource.getConnection());
+        assertEquals(2, routed("replica-0"));
+        assertEquals(1, routed("replica-1"));
+    }
+
+    @Test
+    @DisplayName("Should send writes and non-transactional work to the primary")
+    void getConnection_outsideReadOnlyTransaction_usesPrimary() throws SQLException {
+        // When & Then
+        assertSame(primaryConnection, dataSource.getConnection());
+        beginTransaction(false);
+        assertSame(primaryConnection, dataSource.getConnection());
+        assertEquals(2, routed(ReadWriteRoutingDataSource.PRIMARY));
+    }
+
+    @Test
+    @DisplayName("Should keep a user's reads on the primary after their write commits")
+    void getConnection_afterCommittedWrite_pinsUserToPrimary() throws SQLException {
+        // Given
+        beginTransaction(false);
+        dataSource.getConnection();
+        commit();
+
+        // When
+        beginTransaction(true);
+
+        // Then
+        assertSame(primaryConnection, dataSource.getConnection());
+    }
+
+    @Test
+    @DisplayName("Should not pin the user when the write is rolled back")
+    void getConnection_afterRolledBackWrite_usesReplica() throws SQLException {
+        // Given
+        beginTransaction(false);
+        dataSource.getConnection();
+        complete(TransactionSynchronization.STATUS_ROLLED_BACK);
+
+        // When
+        beginTransaction(true);
+
+        // Then
+        assertSame(firstReplicaConnection, dataSource.getConnection());
+    }
+
+    private void beginTransaction(boolean readOnly) {
+        TransactionSynchronizationManager.initSynchronization();
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(readOnly);
+    }
+
+    private void commit() {
+        TransactionSynchronizationManager.getSynchronizations()
+                .forEach(TransactionSynchronization::afterCommit);
+        complete(TransactionSynchronization.STATUS_COMMITTED);
+    }
+
+    private void complete(int status) {
+        TransactionSynchronizationManager.getSynchronizations()
+                .forEach(synchronization -> synchronization.afterCompletion(status));
+        TransactionSynchronizationManager.clear();
+    }
+
+    private double routed(String pool) {
+        return meterRegistry.get(ReadWriteRoutingDataSource.ROUTED_METRIC)
+                .tag("pool", pool).counter().count();
+    }
+
+    private static DataSource dataSource(Connection connection) throws SQLException {
+        DataSource dataSource = mock(DataSource.class);
+        when(dataSource.getConnection()).thenReturn(connection);
+        return dataSource;
+    }
+}
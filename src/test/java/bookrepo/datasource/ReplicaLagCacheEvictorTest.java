@@ -0,0 +1,103 @@
+package bookrepo.datasource;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.RETURNS_DEEP_STUBS;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import jakarta.persistence.EntityManagerFactory;
+import java.time.Duration;
+import java.time.Instant;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.persister.entity.EntityPersister;
+import org.hibernate.service.spi.ServiceRegistryImplementor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+class ReplicaLagCacheEvictorTest {
+    private static final Duration LAG_WINDOW = Duration.ofSeconds(2);
+    private static final String REGION = "categories";
+
+    private final SessionFactoryImplementor sessionFactory =
+            mock(SessionFactoryImplementor.class, RETURNS_DEEP_STUBS);
+    private final TaskScheduler taskScheduler = mock(TaskScheduler.class);
+    private final EntityPersister cachedPersister = mock(EntityPersister.class,
+            RETURNS_DEEP_STUBS);
+    private ReplicaLagCacheEvictor evictor;
+
+    @BeforeEach
+    void setUp() {
+        EntityManagerFactory entityManagerFactory = mock(EntityManagerFactory.class);
+        ServiceRegistryImplementor serviceRegistry = mock(ServiceRegistryImplementor.class);
+        when(entityManagerFactory.unwrap(SessionFactoryImplementor.class))
+                .thenReturn(sessionFactory);
+        when(sessionFactory.getServiceRegistry()).thenReturn(serviceRegistry);
+        when(serviceRegistry.requireService(EventListenerRegistry.class))
+                .thenReturn(mock(EventListenerRegistry.class));
+        when(cachedPersister.canWriteToCache()).thenReturn(true);
+        when(cachedPersister.getCacheAccessStrategy().getRegion().getName()).thenReturn(REGION);
+        evictor = new ReplicaLagCacheEvictor(entityManagerFactory, taskScheduler, LAG_WINDOW);
+        TransactionSynchronizationManager.initSynchronization();
+    }
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.clear();
+    }
+
+    @Test
+    @DisplayName("""
+            Should evict the written region and the query cache one lag window after
+            the transaction commits
+            """)
+    void onPostInsert_withCachedEntity_evictsRegionAfterLagWindow() {
+        // Given
+        Instant earliest = Instant.now().plus(LAG_WINDOW);
+        evictor.onPostInsert(new PostInsertEvent(null, 1L, null, cachedPersister, null));
+        evictor.onPostUpdate(new PostUpdateEvent(null, 1L, null, null, null, cachedPersister,
+                null));
+        verify(taskScheduler, never()).schedule(any(Runnable.class), any(Instant.class));
+
+        // When
+        TransactionSynchronizationManager.getSynchronizations()
+                .forEach(TransactionSynchronization::afterCommit);
+
+        // Then
+        ArgumentCaptor<Runnable> eviction = ArgumentCaptor.forClass(Runnable.class);
+        ArgumentCaptor<Instant> at = ArgumentCaptor.forClass(Instant.class);
+        verify(taskScheduler).schedule(eviction.capture(), at.capture());
+        assertFalse(at.getValue().isBefore(earliest));
+        eviction.getValue().run();
+        verify(sessionFactory.getCache()).evictRegion(REGION);
+        verify(sessionFactory.getCache()).evictDefaultQueryRegion();
+    }
+
+    @Test
+    @DisplayName("Should schedule nothing for rolled back transactions or uncached entities")
+    void onPostInsert_withRollbackOrUncachedEntity_schedulesNothing() {
+        // Given
+        EntityPersister uncachedPersister = mock(EntityPersister.class);
+        evictor.onPostInsert(new PostInsertEvent(null, 1L, null, uncachedPersister, null));
+        evictor.onPostInsert(new PostInsertEvent(null, 2L, null, cachedPersister, null));
+
+        // When
+        TransactionSynchronizationManager.getSynchronizations().forEach(synchronization ->
+                synchronization.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+
+        // Then
+        verify(taskScheduler, never()).schedule(any(Runnable.class), any(Instant.class));
+        assertFalse(TransactionSynchronizationManager.hasResource(evictor));
+    }
+}
@@ -0,0 +1,81 @@
+package bookrepo.recommendation;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+import bookrepo.repository.book.BookRepository;
+import bookrepo.repository.order.BookSale;
+import bookrepo.repository.order.OrderItemRepository;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class BestsellerFeedTest {
+    @Mock
+    private BookRepository bookRepository;
+    @Mock
+    private OrderItemRepository orderItemRepository;
+
+    private final BestsellerTracker bestsellerTracker = new BestsellerTracker();
+    private BestsellerFeed bestsellerFeed;
+
+    @BeforeEach
+    void setUp() {
+        bestsellerFeed = new BestsellerFeed(bestsellerTracker, bookRepository,
+                orderItemRepository);
+        when(bookRepository.findCategoryIdsByBookIds(any())).thenReturn(List.of());
+    }
+
+    @Test
+    @DisplayName("Should count only the copies added when an order is saved again")
+    void onOrderItemsChanged_withResavedOrder_recordsAddedCopies() {
+        // Given
+        bestsellerFeed.onOrderItemsChanged(new OrderItemsChangedEvent(1L, Map.of(),
+                Map.of(1L, 2, 2L, 1)));
+
+        // When
+        bestsellerFeed.onOrderItemsChanged(new OrderItemsChangedEvent(1L,
+                Map.of(1L, 2, 2L, 1), Map.of(1L, 3, 2L, 1)));
+        bestsellerFeed.onOrderItemsChanged(new OrderItemsChangedEvent(1L,
+                Map.of(1L, 3, 2L, 1), Map.of()));
+
+        // Then
+        assertEquals(List.of(new BookSales(1L, 3), new BookSales(2L, 1)),
+                bestsellerTracker.top(BestsellerWindow.HOUR, null, 10));
+    }
+
+    @Test
+    @DisplayName("""
+            Should hold back orders changed during the replay and count only what the
+            replayed sales did not contain
+            """)
+    void replayLastWeek_withConcurrentOrderChanges_countsEachSaleOnce() {
+        // Given
+        LocalDateTime now = LocalDateTime.now();
+        when(orderItemRepository.streamSalesSince(any())).thenAnswer(invocation -> {
+            bestsellerFeed.onOrderItemsChanged(new OrderItemsChangedEvent(1L, Map.of(),
+                    Map.of(1L, 2)));
+            bestsellerFeed.onOrderItemsChanged(new OrderItemsChangedEvent(2L, Map.of(),
+                    Map.of(2L, 1)));
+            assertEquals(List.of(), bestsellerTracker.top(BestsellerWindow.HOUR, null, 10));
+            return Stream.of(new BookSale(1L, 1L, 2, now), new BookSale(3L, 3L, 4, now));
+        });
+
+        // When
+        bestsellerFeed.replayLastWeek();
+
+        // Then
+        assertEquals(List.of(new BookSales(3L, 4), new BookSales(1L, 2),
+                        new BookSales(2L, 1)),
+                bestsellerTracker.top(BestsellerWindow.HOUR, null, 10));
+    }
+}
@@ -0,0 +1,78 @@
+package bookrepo.recommendation;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class BestsellerTrackerTest {
+    private static final Instant NOW = Instant.parse("2024-05-01T12:00:00Z");
+
+    private final BestsellerTracker tracker =
+            new BestsellerTracker(Clock.fixed(NOW, ZoneOffset.UTC));
+
+    @Test
+    @DisplayName("Should rank books by copies sold, overall and per category")
+    void top_withSales_ranksByCopies() {
+        // Given
+        tracker.record(1L, List.of(10L), 2, NOW);
+        tracker.record(2L, List.of(10L, 20L), 5, NOW);
+        tracker.record(3L, List.of(20L), 1, NOW);
+        tracker.record(1L, List.of(10L), 4, NOW);
+
+        // When & Then
+        assertEquals(List.of(new BookSales(1L, 6), new BookSales(2L, 5),
+                        new BookSales(3L, 1)),
+                tracker.top(BestsellerWindow.HOUR, null, 10));
+        assertEquals(List.of(new BookSales(2L, 5), new BookSales(3L, 1)),
+                tracker.top(BestsellerWindow.HOUR, 20L, 10));
+        assertEquals(List.of(new BookSales(1L, 6)),
+                tracker.top(BestsellerWindow.HOUR, null, 1));
+        assertEquals(List.of(), tracker.top(BestsellerWindow.HOUR, 30L, 10));
+    }
+
+    @Test
+    @DisplayName("Should count a sale only in the windows it still falls into")
+    void top_withOlderSales_respectsWindowLength() {
+        // Given
+        tracker.record(1L, List.of(), 3, NOW.minus(Duration.ofMinutes(10)));
+        tracker.record(2L, List.of(), 5, NOW.minus(Duration.ofHours(3)));
+        tracker.record(3L, List.of(), 7, NOW.minus(Duration.ofDays(3)));
+        tracker.record(4L, List.of(), 9, NOW.minus(Duration.ofDays(8)));
+
+        // When & Then
+        assertEquals(List.of(new BookSales(1L, 3)),
+                tracker.top(BestsellerWindow.HOUR, null, 10));
+        assertEquals(List.of(new BookSales(2L, 5), new BookSales(1L, 3)),
+                tracker.top(BestsellerWindow.DAY, null, 10));
+        assertEquals(List.of(new BookSales(3L, 7), new BookSales(2L, 5),
+                        new BookSales(1L, 3)),
+                tracker.top(BestsellerWindow.WEEK, null, 10));
+    }
+
+    @Test
+    @DisplayName("Should keep heavy sellers with bounded memory over a long tail of books")
+    void top_withLongTail_keepsHeavySellers() {
+        // Given
+        for (long book = 1; book <= 10_000; book++) {
+            tracker.record(book, List.of(), 1, NOW);
+            if (book % 100 == 0) {
+                tracker.record(-book / 100, List.of(), 50, NOW);
+            }
+        }
+
+        // When
+        List<BookSales> top = tracker.top(BestsellerWindow.HOUR, null,
+                BestsellerTracker.MAX_RESULTS);
+
+        // Then
+        assertEquals(BestsellerTracker.MAX_RESULTS, top.size());
+        assertTrue(top.stream().allMatch(sales -> sales.bookId() < 0));
+    }
+}
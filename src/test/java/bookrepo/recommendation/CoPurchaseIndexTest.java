@@ -0,0 +1,99 @@
+package bookrepo.recommendation;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class CoPurchaseIndexTest {
+    private final CoPurchaseIndex index = new CoPurchaseIndex();
+
+    @Test
+    @DisplayName("Should rank related books by how many orders contain both")
+    void related_withSeveralOrders_ranksByCoPurchaseCount() {
+        // Given
+        index.record(1L, Set.of(), Set.of(1L, 2L, 3L));
+        index.record(2L, Set.of(), Set.of(1L, 3L));
+        index.record(3L, Set.of(), Set.of(2L, 4L));
+
+        // When & Then
+        assertEquals(List.of(3L, 2L), index.related(1L, 10));
+        assertEquals(List.of(3L), index.related(1L, 1));
+        assertEquals(List.of(1L, 3L, 4L), index.related(2L, 10));
+    }
+
+    @Test
+    @DisplayName("Should replace the pairs of an order whose items changed or were deleted")
+    void record_withChangedOrder_replacesPreviousPairs() {
+        // Given
+        index.record(1L, Set.of(), Set.of(1L, 2L));
+
+        // When
+        index.record(1L, Set.of(1L, 2L), Set.of(1L, 3L));
+
+        // Then
+        assertEquals(List.of(3L), index.related(1L, 10));
+        assertEquals(List.of(), index.related(2L, 10));
+
+        // When
+        index.record(1L, Set.of(1L, 3L), Set.of());
+
+        // Then
+        assertEquals(List.of(), index.related(1L, 10));
+        assertEquals(List.of(), index.related(3L, 10));
+    }
+
+    @Test
+    @DisplayName("Should match incremental updates after a full rebuild and replay orders "
+            + "recorded during it")
+    void rebuild_withOrdersRecordedMeanwhile_keepsThem() {
+        // Given
+        index.beginRebuild();
+        index.record(3L, Set.of(), Set.of(1L, 4L));
+
+        // When
+        index.rebuild(Map.of(1L, Set.of(1L, 2L), 2L, Set.of(1L, 2L, 3L)));
+
+        // Then
+        assertEquals(List.of(2L, 3L, 4L), index.related(1L, 10));
+        assertEquals(List.of(1L), index.related(4L, 10));
+
+        // When
+        index.record(2L, Set.of(1L, 2L, 3L), Set.of(1L, 3L));
+
+        // Then
+        assertEquals(List.of(2L, 3L, 4L), index.related(1L, 10));
+        assertEquals(List.of(1L), index.related(2L, 10));
+    }
+
+    @Test
+    @DisplayName("Should not count twice an order the snapshot already saw")
+    void rebuild_withOrderInSnapshotAndPending_countsItOnce() {
+        // Given
+        index.beginRebuild();
+        index.record(1L, Set.of(), Set.of(1L, 2L));
+        index.rebuild(Map.of(1L, Set.of(1L, 2L)));
+
+        // When
+        index.record(1L, Set.of(1L, 2L), Set.of());
+
+        // Then
+        assertEquals(List.of(), index.related(1L, 10));
+        assertEquals(List.of(), index.related(2L, 10));
+    }
+
+    @Test
+    @DisplayName("Should keep only the top related books per book")
+    void related_withManyCoPurchases_returnsAtMostMaxRelated() {
+        // Given
+        for (long book = 2; book <= CoPurchaseIndex.MAX_RELATED + 10; book++) {
+            index.record(book, Set.of(), Set.of(1L, book));
+        }
+
+        // When & Then
+        assertEquals(CoPurchaseIndex.MAX_RELATED, index.related(1L, 100).size());
+    }
+}
@@ -0,0 +1,170 @@
+package bookrepo.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import bookrepo.dto.book.BookSearchParameters;
+import bookrepo.dto.book.BookView;
+import bookrepo.exception.InvalidRequestException;
+import bookrepo.repository.book.BookRepository;
+import bookrepo.repository.book.BookSearchPlan;
+import bookrepo.repository.book.BookSearchPlanCache;
+import bookrepo.repository.book.BookSpecificationProviderManager;
+import bookrepo.repository.book.spec.AuthorSpecificationProvider;
+import bookrepo.repository.book.spec.CoverImageSpecificationProvider;
+import bookrepo.repository.book.spec.DescriptionSpecificationProvider;
+import bookrepo.repository.book.spec.IsbnSpecificationProvider;
+import bookrepo.repository.book.spec.PriceRangeSpecificationProvider;
+import bookrepo.repository.book.spec.PriceSpecificationProvider;
+import bookrepo.repository.book.spec.TitleSpecificationProvider;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Sort;
+
+class BookSearchPlanCacheTest {
+    private final BookSearchPlanCache cache = new BookSearchPlanCache(
+            new BookSpecificationProviderManager(List.of(
+                    new AuthorSpecificationProvider(), new TitleSpecificationProvider(),
+                    new IsbnSpecificationProvider(), new DescriptionSpecificationProvider(),
+                    new CoverImageSpecificationProvider(), new PriceSpecificationProvider(),
+                    new PriceRangeSpecificationProvider())));
+
+    @Test
+    @DisplayName("Should reuse the plan for searches with the same shape but different values")
+    void getPlan_withSameShape_returnsCachedPlan() {
+        // Given
+        BookSearchParameters first = authors("Joshua Bloch", "Robert C. Martin");
+        BookSearchParameters second = authors("Martin Fowler", "Kent Beck");
+
+        // When
+        BookSearchPlan firstPlan = cache.getPlan(first);
+        BookSearchPlan secondPlan = cache.getPlan(second);
+
+        // Then
+        assertSame(firstPlan, secondPlan);
+        assertEquals(1, cache.getHitCount());
+        assertEquals(1, cache.getMissCount());
+        assertEquals(0.5, cache.getHitRatio());
+    }
+
+    @Test
+    @DisplayName("Should compile a separate plan when the number of values differs")
+    void getPlan_withDifferentValueCount_compilesNewPlan() {
+        // When
+        BookSearchPlan onePlan = cache.getPlan(authors("Joshua Bloch"));
+        BookSearchPlan twoPlan = cache.getPlan(authors("Joshua Bloch", "Kent Beck"));
+
+        // Then
+        assertNotSame(onePlan, twoPlan);
+        assertEquals(2, cache.size());
+        assertEquals("SELECT b FROM Book b WHERE b.author IN (:author0, :author1)",
+                twoPlan.getJpql());
+    }
+
+    @Test
+    @DisplayName("Should render price bounds and ordering into the plan")
+    void getPlan_withPriceRangeAndSort_rendersBoundsAndOrder() {
+        // Given
+        BookSearchParameters params = new BookSearchParameters(null, null, null, null, null,
+                null, BigDecimal.ONE, BigDecimal.TEN, Sort.Direction.DESC);
+
+        // When
+        BookSearchPlan plan = cache.getPlan(params);
+
+        // Then
+        assertEquals("SELECT b FROM Book b WHERE b.price >= :minPrice AND b.price <= :maxPrice"
+                + " ORDER BY b.price DESC, b.id ASC", plan.getJpql());
+    }
+
+    @Test
+    @DisplayName("Should validate price bounds with the same provider the scroll search uses")
+    void createViewQuery_withMinAboveMax_throwsInvalidRequestException() {
+        // Given
+        BookSearchParameters params = new BookSearchParameters(null, null, null, null, null,
+                null, BigDecimal.TEN, BigDecimal.ONE, null);
+        EntityManager entityManager = mock(EntityManager.class);
+        when(entityManager.createQuery(anyString(), eq(BookView.class)))
+                .thenReturn(mock(TypedQuery.class));
+
+        // When & Then
+        assertThrows(InvalidRequestException.class,
+                () -> cache.getPlan(params).createViewQuery(entityManager, params));
+    }
+
+    @Test
+    @DisplayName("Should select the book views after the keyset position without the price sort")
+    void createScrollQuery_withKeyset_selectsViewsAfterPosition() {
+        // Given
+        BookSearchParameters params = new BookSearchParameters(new String[] {"Joshua Bloch"},
+                null, null, null, null, null, null, null, Sort.Direction.DESC);
+        EntityManager entityManager = mock(EntityManager.class);
+        TypedQuery<BookView> query = mock(TypedQuery.class);
+        when(entityManager.createQuery(anyString(), eq(BookView.class))).thenReturn(query);
+
+        // When
+        cache.getPlan(params).createScrollQuery(entityManager, params,
+                Sort.Order.asc("title"), Map.of("title", "Effective Java", "id", 1L));
+
+        // Then
+        verify(entityManager).createQuery(BookRepository.BOOK_VIEW
+                + "FROM Book b WHERE b.author IN (:author0) AND (b.title > :afterKey"
+                + " OR (b.title = :afterKey AND b.id > :afterId))"
+                + " ORDER BY b.title ASC, b.id ASC", BookView.class);
+        verify(query).setParameter("afterKey", "Effective Java");
+        verify(query).setParameter("afterId", 1L);
+    }
+
+    @Test
+    @DisplayName("Should keep caching with a bounded number of plans once the limit is reached")
+    void getPlan_beyondMaxPlans_staysBoundedAndKeepsCaching() {
+        // Given
+        for (int i = 1; i <= BookSearchPlanCache.MAX_PLANS + 50; i++) {
+            cache.getPlan(authors(new String[i]));
+        }
+
+        // When
+        BookSearchPlan first = cache.getPlan(authors("Joshua Bloch"));
+        BookSearchPlan second = cache.getPlan(authors("Kent Beck"));
+
+        // Then
+        assertTrue(cache.size() <= BookSearchPlanCache.MAX_PLANS);
+        assertSame(first, second);
+    }
+
+    @Test
+    @DisplayName("Should publish hit and miss counters to the meter registry")
+    void bindTo_afterLookups_exposesHitAndMissCounters() {
+        // Given
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        cache.bindTo(registry);
+
+        // When
+        cache.getPlan(authors("Joshua Bloch"));
+        cache.getPlan(authors("Kent Beck"));
+        cache.getPlan(authors("Martin Fowler"));
+
+        // Then
+        assertEquals(2, registry.get("book.search.plan.cache.gets")
+                .tag("result", "hit").functionCounter().count());
+        assertEquals(1, registry.get("book.search.plan.cache.gets")
+                .tag("result", "miss").functionCounter().count());
+    }
+
+    private static BookSearchParameters authors(String... authors) {
+        return new BookSearchParameters(authors, null, null, null, null, null, null, null, null);
+    }
+}
@@ -11,6 +11,7 @@ import static org.mockito.Mockito.when;
 import bookrepo.dto.book.BookSearchParameters;
 import bookrepo.model.Book;
 import bookrepo.repository.book.BookSpecificationBuilder;
+import java.math.BigDecimal;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
@@ -34,7 +35,7 @@ class BookSpecificationBuilderTest {
     void build_WithAuthorParameters_ShouldAddAuthorSpecification() {
         // Given
         BookSearchParameters searchParameters = new BookSearchParameters(
-                new String[]{"Author1", "Author2"}, null, null, null, null, null
+                new String[]{"Author1", "Author2"}, null, null, null, null, null, null, null, null
         );
 
         when(bookSpecificationProviderManager.getSpecificationProvider("author"))
@@ -55,7 +56,7 @@ class BookSpecificationBuilderTest {
     void build_WithTitleParameters_ShouldAddTitleSpecification() {
         // Given
         BookSearchParameters searchParameters = new BookSearchParameters(
-                null, new String[]{"Title1", "Title2"}, null, null, null, null
+                null, new String[]{"Title1", "Title2"}, null, null, null, null, null, null, null
         );
 
         when(bookSpecificationProviderManager.getSpecificationProvider("title"))
@@ -79,7 +80,7 @@ class BookSpecificationBuilderTest {
                 new String[]{"Author1"},
                 new String[]{"Title1"},
                 new String[]{"ISBN123"},
-                null, null, null
+                null, null, null, null, null, null
         );
 
         when(bookSpecificationProviderManager.getSpecificationProvider("author"))
@@ -103,7 +104,7 @@ class BookSpecificationBuilderTest {
     void build_WithNullParameters_ShouldReturnBaseSpecification() {
         // Given
         BookSearchParameters searchParameters = new BookSearchParameters(
-                null, null, null, null, null, null
+                null, null, null, null, null, null, null, null, null
         );
 
         // When
@@ -113,4 +114,24 @@ class BookSpecificationBuilderTest {
         assertNotNull(result);
         verifyNoInteractions(bookSpecificationProviderManager);
     }
+
+    @Test
+    void build_WithOpenEndedPriceRange_ShouldPassBoundsToPriceRangeSpecification() {
+        // Given
+        BookSearchParameters searchParameters = new BookSearchParameters(
+                null, null, null, null, null, null, new BigDecimal("10.50"), null, null
+        );
+
+        when(bookSpecificationProviderManager.getSpecificationProvider("priceRange"))
+                .thenReturn(specificationProvider);
+        when(specificationProvider.getSpecification(any()))
+                .thenReturn((root, query, cb) -> cb.conjunction());
+
+        // When
+        Specification<Book> result = bookSpecificationBuilder.build(searchParameters);
+
+        // Then
+        assertNotNull(result);
+        verify(specificationProvider).getSpecification(new String[]{"10.50", null});
+    }
 }
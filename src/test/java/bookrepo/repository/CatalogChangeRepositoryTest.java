@@ -0,0 +1,87 @@
+package bookrepo.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import bookrepo.dto.book.BookChangeDto;
+import bookrepo.repository.catalog.CatalogChangeRepository;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.jdbc.Sql;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Sql(scripts = {
+        "classpath:database/catalog/delete-catalog-changes.sql",
+        "classpath:database/delete-data-from-tables.sql",
+        "classpath:database/category/add-categories-to-category-table.sql",
+        "classpath:database/book/add-books-to-table.sql",
+        "classpath:database/add-categories-to-books.sql",
+        "classpath:database/catalog/add-book-changes.sql"
+}, executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+@Sql(scripts = {
+        "classpath:database/catalog/delete-catalog-changes.sql",
+        "classpath:database/delete-data-from-tables.sql"
+}, executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD)
+class CatalogChangeRepositoryTest {
+    private static final int FETCH_SIZE = 1;
+
+    @Autowired
+    private CatalogChangeRepository catalogChangeRepository;
+
+    @Test
+    @DisplayName("""
+            Should stream one change per book in version order, folding the category rows
+            of a book into its ids and reporting missing or soft deleted books as deleted
+            """)
+    void forEachBookChange_withChangesInRange_returnsBookChanges() {
+        // Given
+        List<BookChangeDto> changes = new ArrayList<>();
+
+        // When
+        catalogChangeRepository.forEachBookChange(3, 6, FETCH_SIZE, changes::add);
+
+        // Then
+        assertEquals(3, changes.size());
+        BookChangeDto changed = changes.get(0);
+        assertEquals(4, changed.version());
+        assertEquals(1L, changed.id());
+        assertFalse(changed.deleted());
+        assertEquals("Effective Java", changed.book().getTitle());
+        assertEquals(0, new BigDecimal("49.99").compareTo(changed.book().getPrice()));
+        assertEquals(Set.of(1L, 2L), changed.book().getCategoryIds());
+        assertDeleted(changes.get(1), 5, 2L);
+        assertDeleted(changes.get(2), 6, 3L);
+    }
+
+    @Test
+    @DisplayName("Should leave out changes at or below the since version")
+    void forEachBookChange_withSinceAtLastChange_returnsNothing() {
+        // Given
+        List<BookChangeDto> changes = new ArrayList<>();
+
+        // When
+        catalogChangeRepository.forEachBookChange(6, 10, FETCH_SIZE, changes::add);
+
+        // Then
+        assertTrue(changes.isEmpty());
+    }
+
+    private void assertDeleted(BookChangeDto change, long version, Long id) {
+        assertEquals(version, change.version());
+        assertEquals(id, change.id());
+        assertTrue(change.deleted());
+        assertNull(change.book());
+    }
+}
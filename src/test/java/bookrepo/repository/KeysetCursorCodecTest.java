@@ -0,0 +1,90 @@
+package bookrepo.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import bookrepo.exception.InvalidRequestException;
+import java.math.BigDecimal;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+
+class KeysetCursorCodecTest {
+    private static final Sort.Order BY_PRICE = Sort.Order.asc("price");
+
+    private final KeysetCursorCodec codec = new KeysetCursorCodec();
+
+    @Test
+    void encode_ThenDecode_ShouldRestoreLastSortKeyAndId() {
+        // Given
+        Window<Map<String, Object>> window = Window.from(
+                List.of(keys(new BigDecimal("9.99"), 3L), keys(new BigDecimal("12.50"), 7L)),
+                index -> ScrollPosition.forward(keys(index == 0
+                        ? new BigDecimal("9.99") : new BigDecimal("12.50"), index == 0 ? 3L : 7L)),
+                true);
+
+        // When
+        String cursor = codec.encode(window, BY_PRICE);
+        ScrollPosition position = codec.decode(cursor, BY_PRICE, BigDecimal::new);
+
+        // Then
+        Map<String, Object> restored = ((KeysetScrollPosition) position).getKeys();
+        assertEquals(new BigDecimal("12.50"), restored.get("price"));
+        assertEquals(7L, restored.get("id"));
+    }
+
+    @Test
+    void encode_WithLastWindow_ShouldReturnNull() {
+        // Given
+        Window<Map<String, Object>> window = Window.from(
+                List.of(keys(BigDecimal.ONE, 1L)),
+                index -> ScrollPosition.forward(keys(BigDecimal.ONE, 1L)),
+                false);
+
+        // When & Then
+        assertNull(codec.encode(window, BY_PRICE));
+    }
+
+    @Test
+    void decode_WithoutCursor_ShouldStartFromBeginning() {
+        // When
+        ScrollPosition position = codec.decode(null, BY_PRICE, BigDecimal::new);
+
+        // Then
+        assertTrue(position.isInitial());
+    }
+
+    @Test
+    void decode_WithCursorForAnotherSort_ShouldThrowException() {
+        // Given
+        Window<Map<String, Object>> window = Window.from(
+                List.of(keys(BigDecimal.ONE, 1L)),
+                index -> ScrollPosition.forward(keys(BigDecimal.ONE, 1L)),
+                true);
+        String cursor = codec.encode(window, BY_PRICE);
+
+        // When & Then
+        assertThrows(InvalidRequestException.class,
+                () -> codec.decode(cursor, Sort.Order.desc("price"), BigDecimal::new));
+    }
+
+    @Test
+    void decode_WithGarbage_ShouldThrowException() {
+        assertThrows(InvalidRequestException.class,
+                () -> codec.decode("not-a-cursor", BY_PRICE, BigDecimal::new));
+    }
+
+    private static Map<String, Object> keys(BigDecimal price, Long id) {
+        Map<String, Object> keys = new LinkedHashMap<>();
+        keys.put("price", price);
+        keys.put("id", id);
+        return keys;
+    }
+}
@@ -0,0 +1,121 @@
+package bookrepo.search;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import bookrepo.dto.book.FacetCountDto;
+import bookrepo.model.Book;
+import bookrepo.model.Category;
+import bookrepo.util.TestUtil;
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class BookFacetIndexTest {
+    private final BookFacetIndex index = new BookFacetIndex();
+
+    @Test
+    @DisplayName("Should count only the hits in every category, author and price band")
+    void count_withSubsetOfBooks_countsOnlyHits() {
+        // Given
+        Category programming = TestUtil.createProgrammingCategory();
+        Book effectiveJava = TestUtil.createBookEffectiveJava();
+        effectiveJava.setCategories(Set.of(programming));
+        effectiveJava.setPrice(new BigDecimal("45.00"));
+        Book cleanCode = TestUtil.createBookCleanCode();
+        cleanCode.setCategories(Set.of(programming));
+        cleanCode.setPrice(new BigDecimal("120.00"));
+        index.index(effectiveJava);
+        index.index(cleanCode);
+
+        // When
+        BookFacetIndex.Counts counts = index.count(List.of(effectiveJava.getId()));
+
+        // Then
+        assertEquals(Map.of(programming.getId(), 1L), counts.categories());
+        assertEquals(List.of(new FacetCountDto("Joshua Bloch", 1)), counts.authors());
+        assertEquals(List.of(new FacetCountDto("25-50", 1)), counts.priceBands());
+    }
+
+    @Test
+    @DisplayName("Should count a hit set larger than the facet values through the bitmaps")
+    void count_withMoreHitsThanFacetValues_countsAllHits() {
+        // Given
+        Category programming = TestUtil.createProgrammingCategory();
+        Book effectiveJava = TestUtil.createBookEffectiveJava();
+        effectiveJava.setCategories(Set.of(programming));
+        effectiveJava.setPrice(new BigDecimal("45.00"));
+        Book cleanCode = TestUtil.createBookCleanCode();
+        cleanCode.setCategories(Set.of(programming));
+        cleanCode.setAuthor("Joshua Bloch");
+        cleanCode.setPrice(new BigDecimal("120.00"));
+        index.index(effectiveJava);
+        index.index(cleanCode);
+
+        // When
+        BookFacetIndex.Counts counts =
+                index.count(List.of(effectiveJava.getId(), cleanCode.getId()));
+
+        // Then
+        assertEquals(Map.of(programming.getId(), 2L), counts.categories());
+        assertEquals(List.of(new FacetCountDto("Joshua Bloch", 2)), counts.authors());
+        assertEquals(List.of(new FacetCountDto("25-50", 1), new FacetCountDto("100+", 1)),
+                counts.priceBands());
+    }
+
+    @Test
+    @DisplayName("Should move a reindexed book between facet values and drop removed books")
+    void count_afterReindexAndRemove_reflectsLatestState() {
+        // Given
+        Book effectiveJava = TestUtil.createBookEffectiveJava();
+        Book cleanCode = TestUtil.createBookCleanCode();
+        cleanCode.setPrice(new BigDecimal("5.00"));
+        index.index(effectiveJava);
+        index.index(cleanCode);
+
+        // When
+        cleanCode.setAuthor("Joshua Bloch");
+        cleanCode.setPrice(new BigDecimal("30.00"));
+        index.index(cleanCode);
+        index.remove(effectiveJava.getId());
+        BookFacetIndex.Counts counts =
+                index.count(List.of(effectiveJava.getId(), cleanCode.getId()));
+
+        // Then
+        assertEquals(List.of(new FacetCountDto("Joshua Bloch", 1)), counts.authors());
+        assertEquals(List.of(new FacetCountDto("25-50", 1)), counts.priceBands());
+    }
+
+    @Test
+    @DisplayName("Should return no facet values for an empty result set")
+    void count_withNoHits_returnsEmptyFacets() {
+        // Given
+        index.index(TestUtil.createBookEffectiveJava());
+
+        // When
+        BookFacetIndex.Counts counts = index.count(List.of());
+
+        // Then
+        assertTrue(counts.categories().isEmpty());
+        assertTrue(counts.authors().isEmpty());
+        assertTrue(counts.priceBands().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should skip books whose id does not fit the 32-bit bitmaps")
+    void index_withIdAboveIntRange_skipsBook() {
+        // Given
+        Book book = TestUtil.createBookEffectiveJava();
+        book.setId(Integer.MAX_VALUE + 1L);
+
+        // When
+        index.index(book);
+        BookFacetIndex.Counts counts = index.count(List.of(book.getId()));
+
+        // Then
+        assertTrue(counts.authors().isEmpty());
+    }
+}
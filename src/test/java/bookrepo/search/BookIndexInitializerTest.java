@@ -0,0 +1,68 @@
+package bookrepo.search;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import bookrepo.model.Book;
+import bookrepo.model.Category;
+import bookrepo.repository.book.BookCategoryId;
+import bookrepo.repository.book.BookRepository;
+import bookrepo.util.TestUtil;
+import jakarta.persistence.EntityManager;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class BookIndexInitializerTest {
+    @Mock
+    private BookRepository bookRepository;
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private BookIndex bookIndex;
+
+    private BookIndexInitializer initializer;
+
+    @BeforeEach
+    void setUp() {
+        initializer = new BookIndexInitializer(bookRepository, List.of(bookIndex), entityManager);
+    }
+
+    @Test
+    @DisplayName("Should load category ids for a batch of books in one query")
+    void buildIndexes_withBooks_loadsCategoryIdsPerBatch() {
+        // Given
+        Book effectiveJava = TestUtil.createBookEffectiveJava();
+        Book cleanCode = TestUtil.createBookCleanCode();
+        when(bookRepository.streamAllBy()).thenReturn(Stream.of(effectiveJava, cleanCode));
+        when(bookRepository.findCategoryIdsByBookIds(anyList())).thenReturn(List.of(
+                new BookCategoryId(effectiveJava.getId(), 1L),
+                new BookCategoryId(effectiveJava.getId(), 2L)));
+
+        // When
+        initializer.buildIndexes();
+
+        // Then
+        verify(bookRepository, times(1)).findCategoryIdsByBookIds(
+                List.of(effectiveJava.getId(), cleanCode.getId()));
+        verify(bookIndex).index(effectiveJava);
+        verify(bookIndex).index(cleanCode);
+        assertEquals(Set.of(1L, 2L), effectiveJava.getCategories().stream()
+                .map(Category::getId)
+                .collect(Collectors.toSet()));
+        assertEquals(Set.of(), cleanCode.getCategories());
+    }
+}
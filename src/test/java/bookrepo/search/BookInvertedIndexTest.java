@@ -0,0 +1,88 @@
+package bookrepo.search;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import bookrepo.model.Book;
+import bookrepo.util.TestUtil;
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+
+class BookInvertedIndexTest {
+    private final BookInvertedIndex index = new BookInvertedIndex();
+
+    @Test
+    @DisplayName("Should rank title matches above description matches")
+    void search_withTermInTitleAndDescription_ranksTitleMatchFirst() {
+        // Given
+        Book effectiveJava = TestUtil.createBookEffectiveJava();
+        Book cleanCode = TestUtil.createBookCleanCode();
+        cleanCode.setDescription("Examples are written in Java.");
+        index.index(effectiveJava);
+        index.index(cleanCode);
+
+        // When
+        Page<Long> result = index.search("java", PageRequest.of(0, 10));
+
+        // Then
+        assertEquals(2, result.getTotalElements());
+        assertEquals(List.of(effectiveJava.getId(), cleanCode.getId()), result.getContent());
+    }
+
+    @Test
+    @DisplayName("Should match tokens regardless of case and diacritics")
+    void search_withDifferentCaseAndAccents_findsBook() {
+        // Given
+        Book book = TestUtil.createBookCleanCode();
+        book.setAuthor("Robert C. Märtin");
+        index.index(book);
+
+        // When
+        Page<Long> result = index.search("MARTIN", PageRequest.of(0, 10));
+
+        // Then
+        assertEquals(List.of(book.getId()), result.getContent());
+    }
+
+    @Test
+    @DisplayName("Should stop returning a book once it is removed or reindexed without the term")
+    void search_afterRemoveAndReindex_reflectsLatestState() {
+        // Given
+        Book effectiveJava = TestUtil.createBookEffectiveJava();
+        Book cleanCode = TestUtil.createBookCleanCode();
+        index.index(effectiveJava);
+        index.index(cleanCode);
+
+        // When
+        index.remove(effectiveJava.getId());
+        cleanCode.setTitle("Refactoring");
+        index.index(cleanCode);
+
+        // Then
+        assertTrue(index.search("effective", PageRequest.of(0, 10)).isEmpty());
+        assertTrue(index.search("clean", PageRequest.of(0, 10)).isEmpty());
+        assertEquals(List.of(cleanCode.getId()),
+                index.search("refactoring", PageRequest.of(0, 10)).getContent());
+    }
+
+    @Test
+    @DisplayName("Should page through hits while reporting the total hit count")
+    void search_withSecondPage_returnsRemainingHits() {
+        // Given
+        Book effectiveJava = TestUtil.createBookEffectiveJava();
+        Book cleanCode = TestUtil.createBookCleanCode();
+        cleanCode.setTitle("Clean Java");
+        index.index(effectiveJava);
+        index.index(cleanCode);
+
+        // When
+        Page<Long> result = index.search("java", PageRequest.of(1, 1));
+
+        // Then
+        assertEquals(2, result.getTotalElements());
+        assertEquals(1, result.getContent().size());
+    }
+}
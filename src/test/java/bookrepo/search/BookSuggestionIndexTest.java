@@ -0,0 +1,90 @@
+package bookrepo.search;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import bookrepo.dto.book.BookSuggestionDto;
+import bookrepo.model.Book;
+import bookrepo.util.TestUtil;
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class BookSuggestionIndexTest {
+    private final BookSuggestionIndex index = new BookSuggestionIndex();
+
+    @Test
+    @DisplayName("Should complete titles and authors from a normalized prefix")
+    void suggest_withPrefix_returnsMatchingTitlesAndAuthors() {
+        // Given
+        index.index(TestUtil.createBookEffectiveJava());
+        index.index(TestUtil.createBookCleanCode());
+
+        // When
+        List<BookSuggestionDto> titles = index.suggest("EFF", 10);
+        List<BookSuggestionDto> authors = index.suggest("rob", 10);
+
+        // Then
+        assertEquals(List.of(new BookSuggestionDto("Effective Java",
+                BookSuggestionDto.Type.TITLE, 1)), titles);
+        assertEquals(List.of(new BookSuggestionDto("Robert C. Martin",
+                BookSuggestionDto.Type.AUTHOR, 1)), authors);
+    }
+
+    @Test
+    @DisplayName("Should rank completions shared by more books first")
+    void suggest_withSharedAuthor_ranksByWeight() {
+        // Given
+        Book first = TestUtil.createBookCleanCode();
+        Book second = TestUtil.createBookCleanCode();
+        second.setId(3L);
+        second.setTitle("Clean Architecture");
+        Book third = TestUtil.createBookEffectiveJava();
+        third.setTitle("Robotics Primer");
+        index.index(first);
+        index.index(second);
+        index.index(third);
+
+        // When
+        List<BookSuggestionDto> result = index.suggest("ro", 10);
+
+        // Then
+        assertEquals(List.of(
+                new BookSuggestionDto("Robert C. Martin", BookSuggestionDto.Type.AUTHOR, 2),
+                new BookSuggestionDto("Robotics Primer", BookSuggestionDto.Type.TITLE, 1)),
+                result);
+    }
+
+    @Test
+    @DisplayName("Should drop completions once no live book references them")
+    void suggest_afterRemoveAndRetitle_reflectsLatestState() {
+        // Given
+        Book effectiveJava = TestUtil.createBookEffectiveJava();
+        Book cleanCode = TestUtil.createBookCleanCode();
+        index.index(effectiveJava);
+        index.index(cleanCode);
+
+        // When
+        index.remove(effectiveJava.getId());
+        cleanCode.setTitle("Refactoring");
+        index.index(cleanCode);
+
+        // Then
+        assertTrue(index.suggest("eff", 10).isEmpty());
+        assertTrue(index.suggest("jos", 10).isEmpty());
+        assertTrue(index.suggest("clean", 10).isEmpty());
+        assertEquals("Refactoring", index.suggest("ref", 10).get(0).text());
+    }
+
+    @Test
+    @DisplayName("Should cap the number of completions to the requested limit")
+    void suggest_withLimit_returnsAtMostLimit() {
+        // Given
+        index.index(TestUtil.createBookEffectiveJava());
+        index.index(TestUtil.createBookCleanCode());
+
+        // When & Then
+        assertEquals(1, index.suggest("e", 1).size());
+        assertTrue(index.suggest("zzz", 10).isEmpty());
+    }
+}
@@ -0,0 +1,84 @@
+package bookrepo.search;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import bookrepo.model.Book;
+import bookrepo.util.TestUtil;
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class BookTrigramIndexTest {
+    private final BookTrigramIndex index = new BookTrigramIndex();
+
+    @Test
+    @DisplayName("Should find a book by a misspelled author name")
+    void search_withMisspelledAuthor_findsBook() {
+        // Given
+        Book effectiveJava = TestUtil.createBookEffectiveJava();
+        Book cleanCode = TestUtil.createBookCleanCode();
+        index.index(effectiveJava);
+        index.index(cleanCode);
+
+        // When
+        List<Long> result = index.search("Robret Martn", 10);
+
+        // Then
+        assertEquals(List.of(cleanCode.getId()), result);
+    }
+
+    @Test
+    @DisplayName("Should rank the closest title first")
+    void search_withTypoInTitle_ranksMostSimilarFirst() {
+        // Given
+        Book effectiveJava = TestUtil.createBookEffectiveJava();
+        Book cleanCode = TestUtil.createBookCleanCode();
+        cleanCode.setTitle("Effective Kotlin");
+        index.index(effectiveJava);
+        index.index(cleanCode);
+
+        // When
+        List<Long> result = index.search("efective jaava", 10);
+
+        // Then
+        assertEquals(effectiveJava.getId(), result.get(0));
+    }
+
+    @Test
+    @DisplayName("Should forget titles and authors of removed or reindexed books")
+    void search_afterRemoveAndReindex_reflectsLatestState() {
+        // Given
+        Book effectiveJava = TestUtil.createBookEffectiveJava();
+        Book cleanCode = TestUtil.createBookCleanCode();
+        index.index(effectiveJava);
+        index.index(cleanCode);
+
+        // When
+        index.remove(effectiveJava.getId());
+        cleanCode.setAuthor("Martin Fowler");
+        index.index(cleanCode);
+
+        // Then
+        assertTrue(index.search("Joshua Bloch", 10).isEmpty());
+        assertTrue(index.search("Robert", 10).isEmpty());
+        assertEquals(List.of(cleanCode.getId()), index.search("Fowlr", 10));
+    }
+
+    @Test
+    @DisplayName("Should return at most the requested number of candidates")
+    void search_withLimit_returnsTopCandidatesOnly() {
+        // Given
+        Book effectiveJava = TestUtil.createBookEffectiveJava();
+        Book cleanCode = TestUtil.createBookCleanCode();
+        cleanCode.setAuthor("Joshua Blach");
+        index.index(effectiveJava);
+        index.index(cleanCode);
+
+        // When
+        List<Long> result = index.search("Joshua Bloch", 1);
+
+        // Then
+        assertEquals(List.of(effectiveJava.getId()), result);
+    }
+}
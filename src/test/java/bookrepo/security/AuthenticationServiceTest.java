@@ -0,0 +1,114 @@
+package bookrepo.security;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import bookrepo.dto.user.UserLoginResponseDto;
+import bookrepo.model.User;
+import bookrepo.repository.token.RefreshSessionRepository;
+import bookrepo.repository.user.UserRepository;
+import io.jsonwebtoken.Claims;
+import java.util.Optional;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.BadCredentialsException;
+
+@ExtendWith(MockitoExtension.class)
+class AuthenticationServiceTest {
+    @Mock
+    private AuthenticationManager authenticationManager;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private TokenRevocationList tokenRevocationList;
+
+    @Mock
+    private RefreshSessionRepository refreshSessionRepository;
+
+    private JwtUtil jwtUtil;
+    private AuthenticationService authenticationService;
+
+    @BeforeEach
+    void setUp() {
+        jwtUtil = JwtUtilTest.jwtUtil(60_000L);
+        authenticationService = new AuthenticationService(jwtUtil, authenticationManager,
+                userRepository, tokenRevocationList, refreshSessionRepository);
+    }
+
+    @Test
+    @DisplayName("Should move the session to the next generation when refreshing")
+    void refresh_withCurrentToken_returnsNextGenerationToken() {
+        // Given
+        User user = JwtUtilTest.user();
+        String refreshToken = jwtUtil.generateRefreshToken(user, "session", 3);
+        when(refreshSessionRepository.rotate(eq("session"), eq(3L), any())).thenReturn(1);
+        when(userRepository.findByEmail(user.getEmail())).thenReturn(Optional.of(user));
+
+        // When
+        UserLoginResponseDto tokens = authenticationService.refresh(refreshToken);
+
+        // Then
+        Claims refreshed = jwtUtil.verify(tokens.refreshToken());
+        assertEquals("session", jwtUtil.getSessionId(refreshed));
+        assertEquals(4L, jwtUtil.getGeneration(refreshed));
+        verifyNoInteractions(tokenRevocationList);
+    }
+
+    @Test
+    @DisplayName("Should end the whole session when a refresh token is used twice")
+    void refresh_withUsedToken_revokesSessionAndThrowsException() {
+        // Given
+        String refreshToken = jwtUtil.generateRefreshToken(JwtUtilTest.user(), "session", 3);
+        when(refreshSessionRepository.rotate(eq("session"), eq(3L), any())).thenReturn(0);
+
+        // When & Then
+        assertThrows(BadCredentialsException.class,
+                () -> authenticationService.refresh(refreshToken));
+        verify(refreshSessionRepository).revoke("session");
+        verify(userRepository, never()).findByEmail(anyString());
+    }
+
+    @Test
+    @DisplayName("Should reject a refresh token issued without a session")
+    void refresh_withoutSession_throwsException() {
+        // Given
+        String accessToken = jwtUtil.generateToken(JwtUtilTest.user());
+
+        // When & Then
+        assertThrows(BadCredentialsException.class,
+                () -> authenticationService.refresh(accessToken));
+        verifyNoInteractions(refreshSessionRepository);
+    }
+
+    @Test
+    @DisplayName("Should end the session and revoke only the access token on logout")
+    void logout_withBothTokens_revokesSessionAndAccessToken() {
+        // Given
+        User user = JwtUtilTest.user();
+        String refreshToken = jwtUtil.generateRefreshToken(user, "session", 0);
+        String accessToken = jwtUtil.generateToken(user);
+
+        // When
+        authenticationService.logout(refreshToken, "Bearer " + accessToken);
+
+        // Then
+        verify(refreshSessionRepository).revoke("session");
+        verify(tokenRevocationList).revoke(eq(jwtUtil.verify(accessToken).getId()), any());
+        verify(tokenRevocationList, never())
+                .revoke(eq(jwtUtil.verify(refreshToken).getId()), any());
+    }
+}
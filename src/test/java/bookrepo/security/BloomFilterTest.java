@@ -0,0 +1,46 @@
+package bookrepo.security;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.UUID;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class BloomFilterTest {
+    @Test
+    @DisplayName("Should report every inserted value as possibly present")
+    void mightContain_withInsertedValues_returnsTrue() {
+        // Given
+        BloomFilter filter = BloomFilter.create(1000, 0.01);
+        String[] values = IntStream.range(0, 1000)
+                .mapToObj(i -> UUID.randomUUID().toString())
+                .toArray(String[]::new);
+
+        // When
+        for (String value : values) {
+            filter.put(value);
+        }
+
+        // Then
+        for (String value : values) {
+            assertTrue(filter.mightContain(value));
+        }
+    }
+
+    @Test
+    @DisplayName("Should keep false positives near the configured rate")
+    void mightContain_withUnknownValues_staysNearFalsePositiveRate() {
+        // Given
+        BloomFilter filter = BloomFilter.create(1000, 0.01);
+        IntStream.range(0, 1000).forEach(i -> filter.put(UUID.randomUUID().toString()));
+
+        // When
+        long falsePositives = IntStream.range(0, 10_000)
+                .filter(i -> filter.mightContain(UUID.randomUUID().toString()))
+                .count();
+
+        // Then
+        assertTrue(falsePositives < 300, "false positives: " + falsePositives);
+    }
+}
@@ -0,0 +1,153 @@
+package bookrepo.security;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import bookrepo.exception.PasswordHashingUnavailableException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+class BoundedPasswordEncoderTest {
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final CountDownLatch release = new CountDownLatch(1);
+    private BoundedPasswordEncoder encoder;
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        encoder.close();
+    }
+
+    @Test
+    @DisplayName("Should hash and verify passwords on the worker pool")
+    void matches_withEncodedPassword_returnsTrue() {
+        // Given
+        encoder = new BoundedPasswordEncoder(new BCryptPasswordEncoder(4), 2, 4,
+                Duration.ofSeconds(5), registry);
+
+        // When
+        String hash = encoder.encode("secret");
+
+        // Then
+        assertTrue(encoder.matches("secret", hash));
+        assertFalse(encoder.matches("other", hash));
+        assertEquals(1, registry.get(BoundedPasswordEncoder.METRIC_PREFIX)
+                .tag("operation", "encode").timer().count());
+        assertEquals(2, registry.get(BoundedPasswordEncoder.METRIC_PREFIX)
+                .tag("operation", "matches").timer().count());
+        assertEquals(3, registry.get(BoundedPasswordEncoder.METRIC_PREFIX + ".queue")
+                .timer().count());
+    }
+
+    @Test
+    @DisplayName("Should refuse hashing at once when every worker and queue slot is taken")
+    void encode_withSaturatedPool_throwsException() throws Exception {
+        // Given
+        encoder = new BoundedPasswordEncoder(blockingEncoder(), 1, 1,
+                Duration.ofSeconds(5), registry);
+        CompletableFuture<String> running = CompletableFuture.supplyAsync(
+                () -> encoder.encode("first"));
+        CompletableFuture<String> queued = CompletableFuture.supplyAsync(
+                () -> encoder.encode("second"));
+        awaitQueueSize(1);
+
+        // When & Then
+        assertThrows(PasswordHashingUnavailableException.class, () -> encoder.encode("third"));
+        assertEquals(1, registry.get(BoundedPasswordEncoder.METRIC_PREFIX + ".rejected")
+                .counter().count());
+        release.countDown();
+        assertEquals("first", running.get(5, TimeUnit.SECONDS));
+        assertEquals("second", queued.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    @DisplayName("Should give up on a hash that does not finish within the timeout")
+    void encode_exceedingTimeout_throwsException() {
+        // Given
+        encoder = new BoundedPasswordEncoder(blockingEncoder(), 1, 1,
+                Duration.ofMillis(50), registry);
+
+        // When & Then
+        assertThrows(PasswordHashingUnavailableException.class, () -> encoder.encode("slow"));
+    }
+
+    @Test
+    @DisplayName("""
+            Should refuse hashing up front when the hashes still running, including abandoned
+            ones, would not leave time to finish within the timeout
+            """)
+    void encode_withAbandonedHashRunning_rejectsWithoutQueueing() {
+        // Given
+        encoder = new BoundedPasswordEncoder(slowEncoder(Duration.ofMillis(300)), 1, 4,
+                Duration.ofMillis(500), registry);
+        encoder.encode("fast");
+        assertThrows(PasswordHashingUnavailableException.class, () -> encoder.encode("slow"));
+
+        // When & Then
+        assertThrows(PasswordHashingUnavailableException.class, () -> encoder.encode("fast"));
+        assertEquals(1, registry.get(BoundedPasswordEncoder.METRIC_PREFIX + ".rejected")
+                .counter().count());
+        assertEquals(1, registry.get(BoundedPasswordEncoder.METRIC_PREFIX + ".in-flight")
+                .gauge().value());
+    }
+
+    private void awaitQueueSize(int size) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (registry.get(BoundedPasswordEncoder.METRIC_PREFIX + ".queue.size")
+                .gauge().value() < size && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+    }
+
+    private PasswordEncoder slowEncoder(Duration hashTime) {
+        PasswordEncoder blocking = blockingEncoder();
+        return new PasswordEncoder() {
+            @Override
+            public String encode(CharSequence rawPassword) {
+                if ("slow".contentEquals(rawPassword)) {
+                    return blocking.encode(rawPassword);
+                }
+                try {
+                    Thread.sleep(hashTime.toMillis());
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return rawPassword.toString();
+            }
+
+            @Override
+            public boolean matches(CharSequence rawPassword, String encodedPassword) {
+                return encode(rawPassword).equals(encodedPassword);
+            }
+        };
+    }
+
+    private PasswordEncoder blockingEncoder() {
+        return new PasswordEncoder() {
+            @Override
+            public String encode(CharSequence rawPassword) {
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return rawPassword.toString();
+            }
+
+            @Override
+            public boolean matches(CharSequence rawPassword, String encodedPassword) {
+                return encode(rawPassword).equals(encodedPassword);
+            }
+        };
+    }
+}
@@ -0,0 +1,90 @@
+package bookrepo.security;
+
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import bookrepo.exception.EntityNotFoundException;
+import bookrepo.model.ShoppingCart;
+import bookrepo.model.User;
+import bookrepo.repository.shoppingcart.ShoppingCartRepository;
+import jakarta.persistence.EntityManager;
+import java.util.Optional;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class CurrentUserContextTest {
+    @Mock
+    private AuthenticationService authenticationService;
+
+    @Mock
+    private ShoppingCartRepository shoppingCartRepository;
+
+    @Mock
+    private EntityManager entityManager;
+
+    @InjectMocks
+    private CurrentUserContext currentUserContext;
+
+    @Test
+    @DisplayName("Should resolve the user and shopping cart once per request")
+    void getShoppingCart_calledTwice_loadsUserAndCartOnce() {
+        // Given
+        User user = JwtUtilTest.user();
+        ShoppingCart cart = new ShoppingCart();
+        when(authenticationService.getAuthenticatedUser()).thenReturn(user);
+        when(shoppingCartRepository.findByUserId(user.getId())).thenReturn(Optional.of(cart));
+        when(entityManager.contains(cart)).thenReturn(true);
+
+        // When
+        ShoppingCart first = currentUserContext.getShoppingCart();
+        ShoppingCart second = currentUserContext.getShoppingCart();
+
+        // Then
+        assertSame(cart, first);
+        assertSame(cart, second);
+        assertSame(user, currentUserContext.getUser());
+        verify(authenticationService, times(1)).getAuthenticatedUser();
+        verify(shoppingCartRepository, times(1)).findByUserId(user.getId());
+    }
+
+    @Test
+    @DisplayName("Should load the cart again once the persistence context it came from is gone")
+    void getShoppingCart_withDetachedCart_reloadsCart() {
+        // Given
+        User user = JwtUtilTest.user();
+        ShoppingCart detached = new ShoppingCart();
+        ShoppingCart managed = new ShoppingCart();
+        when(authenticationService.getAuthenticatedUser()).thenReturn(user);
+        when(shoppingCartRepository.findByUserId(user.getId()))
+                .thenReturn(Optional.of(detached), Optional.of(managed));
+        when(entityManager.contains(detached)).thenReturn(false);
+        currentUserContext.getShoppingCart();
+
+        // When
+        ShoppingCart cart = currentUserContext.getShoppingCart();
+
+        // Then
+        assertSame(managed, cart);
+        verify(shoppingCartRepository, times(2)).findByUserId(user.getId());
+    }
+
+    @Test
+    @DisplayName("Should fail when the current user has no shopping cart")
+    void getShoppingCart_withoutCart_throwsException() {
+        // Given
+        User user = JwtUtilTest.user();
+        when(authenticationService.getAuthenticatedUser()).thenReturn(user);
+        when(shoppingCartRepository.findByUserId(user.getId())).thenReturn(Optional.empty());
+
+        // When & Then
+        assertThrows(EntityNotFoundException.class, currentUserContext::getShoppingCart);
+    }
+}
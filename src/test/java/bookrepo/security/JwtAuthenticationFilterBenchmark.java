@@ -0,0 +1,79 @@
+package bookrepo.security;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import jakarta.servlet.FilterChain;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+/**
+ * Measures the per-request cost of {@link JwtAuthenticationFilter}. A cache size of zero
+ * verifies the signature on every request; the default size serves repeat tokens from memory.
+ * Run with {@code mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=bookrepo.security.JwtAuthenticationFilterBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtAuthenticationFilterBenchmark {
+    private static final String SECRET = "MyJwtSecretKeyj98ty4j98hgj95j98hgj98hj";
+    private static final FilterChain NO_OP_CHAIN = (request, response) -> { };
+
+    @Param({"0", "10000"})
+    private long cacheMaxSize;
+
+    private JwtAuthenticationFilter filter;
+    private MockHttpServletRequest request;
+
+    @Setup
+    public void setUp() {
+        JwtUtil jwtUtil = new JwtUtil(SECRET, cacheMaxSize);
+        ReflectionTestUtils.setField(jwtUtil, "expiration", TimeUnit.HOURS.toMillis(1));
+        UserStatusCache userStatusCache = mock(UserStatusCache.class);
+        when(userStatusCache.isCurrent(any())).thenReturn(true);
+        TokenRevocationList tokenRevocationList = mock(TokenRevocationList.class);
+        filter = new JwtAuthenticationFilter(jwtUtil, email -> {
+            throw new IllegalStateException("The principal must come from the token");
+        }, userStatusCache, tokenRevocationList);
+        request = new MockHttpServletRequest("GET", "/books");
+        request.addHeader(HttpHeaders.AUTHORIZATION,
+                "Bearer " + jwtUtil.generateToken(JwtUtilTest.user()));
+    }
+
+    @Benchmark
+    public Object authenticate() throws Exception {
+        filter.doFilter(request, new MockHttpServletResponse(), NO_OP_CHAIN);
+        Object authentication = SecurityContextHolder.getContext().getAuthentication();
+        SecurityContextHolder.clearContext();
+        return authentication;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(JwtAuthenticationFilterBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,120 @@
+package bookrepo.security;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import bookrepo.model.User;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.test.util.ReflectionTestUtils;
+
+@ExtendWith(MockitoExtension.class)
+class JwtAuthenticationFilterTest {
+    @Mock
+    private UserDetailsService userDetailsService;
+
+    @Mock
+    private UserStatusCache userStatusCache;
+
+    @Mock
+    private TokenRevocationList tokenRevocationList;
+
+    private JwtUtil jwtUtil;
+    private JwtAuthenticationFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        jwtUtil = new JwtUtil("MyJwtSecretKeyj98ty4j98hgj95j98hgj98hj", 10);
+        ReflectionTestUtils.setField(jwtUtil, "expiration", 60_000L);
+        ReflectionTestUtils.setField(jwtUtil, "refreshExpiration", 60_000L);
+        filter = new JwtAuthenticationFilter(jwtUtil, userDetailsService, userStatusCache,
+                tokenRevocationList);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    @DisplayName("Should build the principal from the token without loading the user")
+    void doFilter_withActiveUser_authenticatesFromClaims() throws Exception {
+        // Given
+        when(userStatusCache.isCurrent(argThat(user -> user.getId() == 7L))).thenReturn(true);
+
+        // When
+        filter.doFilter(request(jwtUtil.generateToken(JwtUtilTest.user())),
+                new MockHttpServletResponse(), new MockFilterChain());
+
+        // Then
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        assertEquals(7L, ((User) authentication.getPrincipal()).getId());
+        assertEquals("USER", authentication.getAuthorities().iterator().next().getAuthority());
+        verifyNoInteractions(userDetailsService);
+    }
+
+    @Test
+    @DisplayName("""
+            Should not authenticate a user that was deleted or whose roles changed after
+            the token was issued
+            """)
+    void doFilter_withStaleUser_leavesRequestUnauthenticated() throws Exception {
+        // Given
+        when(userStatusCache.isCurrent(argThat(user -> user.getId() == 7L))).thenReturn(false);
+
+        // When
+        filter.doFilter(request(jwtUtil.generateToken(JwtUtilTest.user())),
+                new MockHttpServletResponse(), new MockFilterChain());
+
+        // Then
+        assertNull(SecurityContextHolder.getContext().getAuthentication());
+    }
+
+    @Test
+    @DisplayName("Should not authenticate a request carrying a revoked access token")
+    void doFilter_withRevokedToken_leavesRequestUnauthenticated() throws Exception {
+        // Given
+        String token = jwtUtil.generateToken(JwtUtilTest.user());
+        when(tokenRevocationList.isRevoked(jwtUtil.verify(token).getId())).thenReturn(true);
+
+        // When
+        filter.doFilter(request(token), new MockHttpServletResponse(), new MockFilterChain());
+
+        // Then
+        assertNull(SecurityContextHolder.getContext().getAuthentication());
+        verifyNoInteractions(userStatusCache, userDetailsService);
+    }
+
+    @Test
+    @DisplayName("Should not accept a refresh token as an access token")
+    void doFilter_withRefreshToken_leavesRequestUnauthenticated() throws Exception {
+        // When
+        filter.doFilter(request(jwtUtil.generateRefreshToken(JwtUtilTest.user(), "session", 0)),
+                new MockHttpServletResponse(), new MockFilterChain());
+
+        // Then
+        assertNull(SecurityContextHolder.getContext().getAuthentication());
+        verifyNoInteractions(tokenRevocationList, userStatusCache, userDetailsService);
+    }
+
+    private MockHttpServletRequest request(String token) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/books");
+        request.addHeader(HttpHeaders.AUTHORIZATION, "Bearer " + token);
+        return request;
+    }
+}
@@ -0,0 +1,117 @@
+package bookrepo.security;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import bookrepo.model.Role;
+import bookrepo.model.RoleName;
+import bookrepo.model.User;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import java.util.Set;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.test.util.ReflectionTestUtils;
+
+class JwtUtilTest {
+    private static final String SECRET = "MyJwtSecretKeyj98ty4j98hgj95j98hgj98hj";
+
+    @Test
+    @DisplayName("Should verify a token once and serve repeated requests from the cache")
+    void verify_calledTwice_returnsCachedClaims() {
+        // Given
+        JwtUtil jwtUtil = jwtUtil(60_000L);
+        String token = jwtUtil.generateToken(user());
+
+        // When
+        Claims first = jwtUtil.verify(token);
+        Claims second = jwtUtil.verify(token);
+
+        // Then
+        assertEquals("user@mail.com", first.getSubject());
+        assertSame(first, second);
+    }
+
+    @Test
+    @DisplayName("Should rebuild the principal from the id and role claims")
+    void toPrincipal_withClaims_returnsUserWithRoles() {
+        // Given
+        JwtUtil jwtUtil = jwtUtil(60_000L);
+        Claims claims = jwtUtil.verify(jwtUtil.generateToken(user()));
+
+        // When
+        User principal = jwtUtil.toPrincipal(claims);
+
+        // Then
+        assertEquals(7L, principal.getId());
+        assertEquals("user@mail.com", principal.getUsername());
+        assertEquals(Set.of(new SimpleGrantedAuthority(RoleName.USER.name())),
+                principal.getAuthorities());
+    }
+
+    @Test
+    @DisplayName("Should reject a token signed with another key")
+    void verify_withForeignSignature_throwsJwtException() {
+        // Given
+        String token = jwtUtil("AnotherJwtSecretKeyj98ty4j98hgj95j98hgj98", 60_000L)
+                .generateToken(user());
+
+        // When & Then
+        assertThrows(JwtException.class, () -> jwtUtil(60_000L).verify(token));
+    }
+
+    @Test
+    @DisplayName("Should reject an expired token")
+    void verify_withExpiredToken_throwsJwtException() {
+        // Given
+        JwtUtil jwtUtil = jwtUtil(-1_000L);
+        String token = jwtUtil.generateToken(user());
+
+        // When & Then
+        assertThrows(JwtException.class, () -> jwtUtil.verify(token));
+    }
+
+    @Test
+    @DisplayName("Should tell refresh tokens apart from access tokens")
+    void isRefreshToken_withBothTokenTypes_flagsOnlyRefreshToken() {
+        // Given
+        JwtUtil jwtUtil = jwtUtil(60_000L);
+        Claims access = jwtUtil.verify(jwtUtil.generateToken(user()));
+        Claims refresh = jwtUtil.verify(jwtUtil.generateRefreshToken(user(), "session", 0));
+
+        // When & Then
+        assertFalse(jwtUtil.isRefreshToken(access));
+        assertTrue(jwtUtil.isRefreshToken(refresh));
+        assertEquals("session", jwtUtil.getSessionId(refresh));
+        assertEquals(0L, jwtUtil.getGeneration(refresh));
+        assertNotEquals(access.getId(), refresh.getId());
+        assertNull(jwtUtil.toPrincipal(refresh));
+    }
+
+    static User user() {
+        Role role = new Role();
+        role.setName(RoleName.USER);
+        User user = new User();
+        user.setId(7L);
+        user.setEmail("user@mail.com");
+        user.setRoles(Set.of(role));
+        return user;
+    }
+
+    static JwtUtil jwtUtil(long expiration) {
+        return jwtUtil(SECRET, expiration);
+    }
+
+    private static JwtUtil jwtUtil(String secret, long expiration) {
+        JwtUtil jwtUtil = new JwtUtil(secret, 10);
+        ReflectionTestUtils.setField(jwtUtil, "expiration", expiration);
+        ReflectionTestUtils.setField(jwtUtil, "refreshExpiration", expiration);
+        return jwtUtil;
+    }
+}
@@ -0,0 +1,123 @@
+package bookrepo.security;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import bookrepo.model.RevokedToken;
+import bookrepo.repository.token.RevokedTokenRepository;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class TokenRevocationListTest {
+    @Mock
+    private RevokedTokenRepository revokedTokenRepository;
+
+    private TokenRevocationList revocationList;
+
+    @BeforeEach
+    void setUp() {
+        revocationList = new TokenRevocationList(revokedTokenRepository, 0.01,
+                Duration.ofHours(1));
+    }
+
+    @Test
+    @DisplayName("Should answer from the filter without a lookup for tokens never revoked")
+    void isRevoked_withFilterMiss_skipsRepository() {
+        // Given
+        when(revokedTokenRepository.findActiveJtis(any())).thenReturn(List.of("revoked"));
+        revocationList.rebuild();
+
+        // When & Then
+        assertFalse(revocationList.isRevoked("active"));
+        verify(revokedTokenRepository, never()).existsById("active");
+    }
+
+    @Test
+    @DisplayName("Should confirm a filter hit against the store")
+    void isRevoked_withRevokedToken_returnsTrue() {
+        // Given
+        when(revokedTokenRepository.findActiveJtis(any())).thenReturn(List.of("revoked"));
+        when(revokedTokenRepository.existsById("revoked")).thenReturn(true);
+        revocationList.rebuild();
+
+        // When & Then
+        assertTrue(revocationList.isRevoked("revoked"));
+    }
+
+    @Test
+    @DisplayName("Should treat a token revoked here as revoked before the next rebuild")
+    void revoke_beforeRebuild_isVisibleImmediately() {
+        // Given
+        when(revokedTokenRepository.findActiveJtis(any())).thenReturn(List.of());
+        revocationList.rebuild();
+
+        // When
+        revocationList.revoke("logout", Instant.now().plusSeconds(60));
+
+        // Then
+        assertTrue(revocationList.isRevoked("logout"));
+        verify(revokedTokenRepository).save(any(RevokedToken.class));
+        verify(revokedTokenRepository, never()).existsById("logout");
+    }
+
+    @Test
+    @DisplayName("Should drop expired entries from the store when rebuilding")
+    void rebuild_deletesExpiredTokens() {
+        // Given
+        when(revokedTokenRepository.findActiveJtis(any())).thenReturn(List.of());
+
+        // When
+        revocationList.rebuild();
+
+        // Then
+        verify(revokedTokenRepository).deleteExpired(any());
+    }
+
+    @Test
+    @DisplayName("Should only read the tokens revoked since the last run between full rebuilds")
+    void rebuild_withinFullRebuildInterval_addsNewlyRevokedTokens() {
+        // Given
+        when(revokedTokenRepository.findActiveJtis(any())).thenReturn(List.of());
+        when(revokedTokenRepository.findJtisRevokedSince(any()))
+                .thenReturn(List.of("elsewhere"));
+        when(revokedTokenRepository.existsById("elsewhere")).thenReturn(true);
+        revocationList.rebuild();
+
+        // When
+        revocationList.rebuild();
+
+        // Then
+        assertTrue(revocationList.isRevoked("elsewhere"));
+        verify(revokedTokenRepository, times(1)).findActiveJtis(any());
+        verify(revokedTokenRepository, times(1)).deleteExpired(any());
+    }
+
+    @Test
+    @DisplayName("Should rebuild the whole filter once the full rebuild interval has passed")
+    void rebuild_afterFullRebuildInterval_reloadsActiveTokens() {
+        // Given
+        revocationList = new TokenRevocationList(revokedTokenRepository, 0.01, Duration.ZERO);
+        when(revokedTokenRepository.findActiveJtis(any())).thenReturn(List.of());
+        revocationList.rebuild();
+
+        // When
+        revocationList.rebuild();
+
+        // Then
+        verify(revokedTokenRepository, times(2)).findActiveJtis(any());
+        verify(revokedTokenRepository, never()).findJtisRevokedSince(any());
+    }
+}
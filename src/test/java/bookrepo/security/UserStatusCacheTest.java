@@ -0,0 +1,75 @@
+package bookrepo.security;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import bookrepo.model.Role;
+import bookrepo.model.RoleName;
+import bookrepo.model.User;
+import bookrepo.repository.user.UserRepository;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.Set;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class UserStatusCacheTest {
+    @Mock
+    private UserRepository userRepository;
+
+    private UserStatusCache userStatusCache;
+
+    @BeforeEach
+    void setUp() {
+        userStatusCache = new UserStatusCache(userRepository, 100, Duration.ofMinutes(1));
+    }
+
+    @Test
+    @DisplayName("Should accept a token principal whose roles match, loading the user once")
+    void isCurrent_withSameRoles_returnsTrue() {
+        // Given
+        User principal = JwtUtilTest.user();
+        when(userRepository.findWithRolesById(7L)).thenReturn(Optional.of(JwtUtilTest.user()));
+
+        // When & Then
+        assertTrue(userStatusCache.isCurrent(principal));
+        assertTrue(userStatusCache.isCurrent(principal));
+        verify(userRepository, times(1)).findWithRolesById(7L);
+    }
+
+    @Test
+    @DisplayName("Should reject a token principal whose roles changed since it was issued")
+    void isCurrent_withChangedRoles_returnsFalse() {
+        // Given
+        User principal = JwtUtilTest.user();
+        principal.setRoles(Set.of(role(RoleName.ADMIN)));
+        when(userRepository.findWithRolesById(7L)).thenReturn(Optional.of(JwtUtilTest.user()));
+
+        // When & Then
+        assertFalse(userStatusCache.isCurrent(principal));
+    }
+
+    @Test
+    @DisplayName("Should reject a token principal whose user was deleted")
+    void isCurrent_withDeletedUser_returnsFalse() {
+        // Given
+        when(userRepository.findWithRolesById(7L)).thenReturn(Optional.empty());
+
+        // When & Then
+        assertFalse(userStatusCache.isCurrent(JwtUtilTest.user()));
+    }
+
+    private static Role role(RoleName name) {
+        Role role = new Role();
+        role.setName(name);
+        return role;
+    }
+}
@@ -0,0 +1,92 @@
+package bookrepo.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.when;
+
+import bookrepo.dto.book.BookChangeDto;
+import bookrepo.dto.book.BookDto;
+import bookrepo.exception.InvalidRequestException;
+import bookrepo.repository.catalog.CatalogChangeRepository;
+import bookrepo.service.impl.BookChangeFeedServiceImpl;
+import bookrepo.util.TestUtil;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.function.Consumer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class BookChangeFeedServiceTest {
+    @Mock
+    private CatalogChangeRepository catalogChangeRepository;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private BookChangeFeedServiceImpl bookChangeFeedService;
+
+    @BeforeEach
+    void setUp() {
+        bookChangeFeedService = new BookChangeFeedServiceImpl(catalogChangeRepository,
+                objectMapper);
+    }
+
+    @Test
+    @DisplayName("Should stream changed and deleted books as one JSON object per line")
+    void streamChanges_withChangedAndDeletedBooks_writesNdjson() throws Exception {
+        // Given
+        BookDto book = TestUtil.createBookDtoEffectiveJava(TestUtil.createBookEffectiveJava());
+        doAnswer(invocation -> {
+            Consumer<BookChangeDto> consumer = invocation.getArgument(3);
+            consumer.accept(new BookChangeDto(4, book.getId(), false, book));
+            consumer.accept(new BookChangeDto(6, 2L, true, null));
+            return null;
+        }).when(catalogChangeRepository).forEachBookChange(eq(3L), eq(6L), anyInt(), any());
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        // When
+        bookChangeFeedService.streamChanges(3, 6, output);
+
+        // Then
+        String[] lines = output.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(2, lines.length);
+        assertTrue(lines[1].startsWith("{"));
+        BookChangeDto changed = objectMapper.readValue(lines[0], BookChangeDto.class);
+        assertEquals(4, changed.version());
+        assertFalse(changed.deleted());
+        assertEquals(book, changed.book());
+        BookChangeDto deleted = objectMapper.readValue(lines[1], BookChangeDto.class);
+        assertEquals(2L, deleted.id());
+        assertTrue(deleted.deleted());
+        assertNull(deleted.book());
+    }
+
+    @Test
+    @DisplayName("Should return the current catalog version as the upper bound of a sync")
+    void getSyncVersion_withValidSince_returnsCurrentVersion() {
+        // Given
+        when(catalogChangeRepository.getCurrentVersion()).thenReturn(42L);
+
+        // When & Then
+        assertEquals(42L, bookChangeFeedService.getSyncVersion(0));
+    }
+
+    @Test
+    @DisplayName("Should reject a negative catalog version")
+    void getSyncVersion_withNegativeSince_throwsException() {
+        assertThrows(InvalidRequestException.class,
+                () -> bookChangeFeedService.getSyncVersion(-1));
+    }
+}
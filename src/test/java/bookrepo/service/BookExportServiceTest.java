@@ -0,0 +1,90 @@
+package bookrepo.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+
+import bookrepo.dto.book.BookDto;
+import bookrepo.exporter.BookExportFormat;
+import bookrepo.repository.book.BookBatchRepository;
+import bookrepo.service.impl.BookExportServiceImpl;
+import bookrepo.util.TestUtil;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Set;
+import java.util.function.Consumer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class BookExportServiceTest {
+    @Mock
+    private BookBatchRepository bookBatchRepository;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private BookExportServiceImpl bookExportService;
+
+    @BeforeEach
+    void setUp() {
+        bookExportService = new BookExportServiceImpl(bookBatchRepository, objectMapper);
+        BookDto effectiveJava = TestUtil.createBookDtoEffectiveJava(
+                TestUtil.createBookEffectiveJava());
+        effectiveJava.setTitle("Effective Java, \"3rd\"");
+        effectiveJava.setCategoryIds(Set.of(1L));
+        BookDto cleanCode = TestUtil.createBookDtoCleanCode(TestUtil.createBookCleanCode());
+        cleanCode.setCategoryIds(Set.of());
+        doAnswer(invocation -> {
+            Consumer<BookDto> consumer = invocation.getArgument(1);
+            consumer.accept(effectiveJava);
+            consumer.accept(cleanCode);
+            return null;
+        }).when(bookBatchRepository).forEachLiveBook(eq(BookExportServiceImpl.FETCH_SIZE),
+                any());
+    }
+
+    @Test
+    @DisplayName("Should write a header and one quoted CSV line per book")
+    void export_asCsv_writesHeaderAndEscapedRows() {
+        // Given
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        // When
+        bookExportService.export(BookExportFormat.CSV, output);
+
+        // Then
+        String[] lines = output.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(3, lines.length);
+        assertEquals("id,title,author,isbn,price,description,cover_image,category_ids",
+                lines[0]);
+        assertTrue(lines[1].startsWith("1,\"Effective Java, \"\"3rd\"\"\",Joshua Bloch,"));
+        assertTrue(lines[1].endsWith(",1"));
+        assertTrue(lines[2].startsWith("2,Clean Code,Robert C. Martin,"));
+    }
+
+    @Test
+    @DisplayName("Should write one JSON document per line")
+    void export_asNdjson_writesOneDocumentPerLine() throws Exception {
+        // Given
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        // When
+        bookExportService.export(BookExportFormat.NDJSON, output);
+
+        // Then
+        String[] lines = output.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(2, lines.length);
+        assertTrue(lines[0].startsWith("{"));
+        assertTrue(lines[1].startsWith("{"));
+        assertEquals("Effective Java, \"3rd\"",
+                objectMapper.readValue(lines[0], BookDto.class).getTitle());
+        assertEquals("Clean Code", objectMapper.readValue(lines[1], BookDto.class).getTitle());
+    }
+}
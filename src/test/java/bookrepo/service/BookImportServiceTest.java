@@ -0,0 +1,142 @@
+package bookrepo.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import bookrepo.dto.book.BookImportErrorDto;
+import bookrepo.dto.book.BookImportReportDto;
+import bookrepo.dto.book.CreateBookRequestDto;
+import bookrepo.importer.BookImportFormat;
+import bookrepo.mapper.BookMapper;
+import bookrepo.model.Book;
+import bookrepo.repository.book.BookBatchRepository;
+import bookrepo.repository.catalog.CatalogChangeRepository;
+import bookrepo.search.BookIndex;
+import bookrepo.service.impl.BookImportServiceImpl;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.Validation;
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@ExtendWith(MockitoExtension.class)
+class BookImportServiceTest {
+    private static final String CSV_HEADER =
+            "title,author,isbn,price,description,cover_image,category_ids\n";
+
+    @Mock
+    private BookBatchRepository bookBatchRepository;
+
+    @Mock
+    private BookMapper bookMapper;
+
+    @Mock
+    private BookIndex bookIndex;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Mock
+    private CatalogChangeRepository catalogChangeRepository;
+
+    private BookImportServiceImpl bookImportService;
+
+    @BeforeEach
+    void setUp() {
+        bookImportService = new BookImportServiceImpl(bookBatchRepository, bookMapper,
+                List.of(bookIndex), new ObjectMapper(),
+                Validation.buildDefaultValidatorFactory().getValidator(), transactionTemplate,
+                catalogChangeRepository);
+    }
+
+    @Test
+    @DisplayName("""
+            Should insert valid CSV rows in one batch and report invalid,
+            duplicate and already existing rows with their line numbers
+            """)
+    void importBooks_withMixedCsvRows_importsValidRowsAndReportsErrors() {
+        // Given
+        String csv = CSV_HEADER
+                + "\"Effective Java, 3rd\",Joshua Bloch,111,45.00,,,1\n"
+                + "Clean Code,Robert C. Martin,222,40.00,,,1;2\n"
+                + "Clean Code,Robert C. Martin,222,40.00,,,1\n"
+                + "Refactoring,Martin Fowler,333,abc,,,1\n"
+                + "Existing,Someone,444,10.00,,,1\n"
+                + "No Category,Someone,555,10.00,,,\n";
+        when(bookBatchRepository.findExistingIsbns(anyCollection())).thenReturn(Set.of("444"));
+        when(bookBatchRepository.findExistingCategoryIds(anyCollection()))
+                .thenReturn(Set.of(1L, 2L));
+        when(bookBatchRepository.findIdsByIsbn(anyCollection()))
+                .thenReturn(Map.of("111", 10L, "222", 11L));
+        when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+        when(bookMapper.toModel(any())).thenAnswer(invocation -> new Book());
+
+        // When
+        BookImportReportDto report = bookImportService.importBooks(stream(csv),
+                BookImportFormat.CSV);
+
+        // Then
+        assertEquals(6, report.processed());
+        assertEquals(2, report.imported());
+        assertEquals(4, report.failed());
+        assertEquals(List.of(4L, 5L, 6L, 7L), report.errors().stream()
+                .map(BookImportErrorDto::line)
+                .toList());
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<CreateBookRequestDto>> books = ArgumentCaptor.forClass(List.class);
+        verify(bookBatchRepository).insertBooks(books.capture(), anyInt());
+        assertEquals("Effective Java, 3rd", books.getValue().get(0).getTitle());
+        verify(bookBatchRepository).insertBookCategories(
+                Map.of(10L, Set.of(1L), 11L, Set.of(1L, 2L)), BookImportServiceImpl.BATCH_SIZE);
+    }
+
+    @Test
+    @DisplayName("""
+            Should report unknown categories and skip the insert when no row is left
+            """)
+    void importBooks_withUnknownCategory_reportsErrorWithoutInsert() {
+        // Given
+        String ndjson = """
+                {"title":"Effective Java","author":"Joshua Bloch","isbn":"111",\
+                "price":45.00,"categoryIds":[7]}
+
+                {"title":
+                """;
+        when(bookBatchRepository.findExistingCategoryIds(anyCollection())).thenReturn(Set.of());
+
+        // When
+        BookImportReportDto report = bookImportService.importBooks(stream(ndjson),
+                BookImportFormat.NDJSON);
+
+        // Then
+        assertEquals(2, report.processed());
+        assertEquals(0, report.imported());
+        assertEquals(1, report.errors().get(0).line());
+        assertEquals("Can't find categories by ids: [7]", report.errors().get(0).error());
+        assertEquals(3, report.errors().get(1).line());
+        verify(bookBatchRepository, never()).insertBooks(any(), anyInt());
+    }
+
+    private static InputStream stream(String text) {
+        return new ByteArrayInputStream(text.getBytes(StandardCharsets.UTF_8));
+    }
+}
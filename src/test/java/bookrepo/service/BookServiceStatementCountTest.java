@@ -0,0 +1,81 @@
+package bookrepo.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import bookrepo.dto.book.BookDto;
+import bookrepo.dto.book.BookSearchParameters;
+import jakarta.persistence.EntityManagerFactory;
+import java.util.List;
+import java.util.Set;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.jdbc.Sql;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@ActiveProfiles("test")
+@Sql(scripts = {
+        "classpath:database/delete-data-from-tables.sql",
+        "classpath:database/category/add-categories-to-category-table.sql",
+        "classpath:database/book/add-100-books-with-categories.sql"
+}, executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+@Sql(scripts = "classpath:database/delete-data-from-tables.sql",
+        executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD)
+class BookServiceStatementCountTest {
+    private static final int PAGE_SIZE = 100;
+
+    @Autowired
+    private BookService bookService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    @DisplayName("""
+            Should load a page of 100 books with their category ids using the page query,
+            the count query and a single category lookup
+            """)
+    void findAll_withPageOf100Books_executesThreeStatements() {
+        // When
+        Page<BookDto> page = bookService.findAll(PageRequest.of(0, PAGE_SIZE));
+
+        // Then
+        assertEquals(PAGE_SIZE, page.getContent().size());
+        assertEquals(Set.of(1L, 2L), page.getContent().get(1).getCategoryIds());
+        assertEquals(3, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+    }
+
+    @Test
+    @DisplayName("""
+            Should search 100 books with their category ids using two statements
+            """)
+    void search_matching100Books_executesTwoStatements() {
+        // Given
+        BookSearchParameters params = new BookSearchParameters(
+                null, null, null, null, null, null, null, null, null);
+
+        // When
+        List<BookDto> books = bookService.search(params);
+
+        // Then
+        assertEquals(PAGE_SIZE, books.size());
+        assertEquals(2, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+    }
+}
@@ -1,36 +1,68 @@
 package bookrepo.service;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import bookrepo.cache.BookCache;
 import bookrepo.dto.book.BookDto;
 import bookrepo.dto.book.BookDtoWithoutCategoryIds;
+import bookrepo.dto.book.BookFacetedSearchDto;
 import bookrepo.dto.book.BookSearchParameters;
+import bookrepo.dto.book.BookView;
 import bookrepo.dto.book.CreateBookRequestDto;
+import bookrepo.dto.book.FacetCountDto;
+import bookrepo.dto.page.CursorPageDto;
+import bookrepo.dto.page.ScrollRequestDto;
+import bookrepo.exception.EntityNotFoundException;
 import bookrepo.mapper.BookMapper;
 import bookrepo.model.Book;
 import bookrepo.model.Category;
+import bookrepo.recommendation.CoPurchaseIndex;
+import bookrepo.repository.EntityVersion;
+import bookrepo.repository.KeysetCursorCodec;
+import bookrepo.repository.book.BookCategoryId;
 import bookrepo.repository.book.BookRepository;
-import bookrepo.repository.book.BookSpecificationBuilder;
+import bookrepo.repository.book.CategoryBookRepository;
 import bookrepo.repository.category.CategoryRepository;
+import bookrepo.search.BookFacetIndex;
+import bookrepo.search.BookIndex;
+import bookrepo.search.BookInvertedIndex;
 import bookrepo.service.impl.BookServiceImpl;
 import bookrepo.util.TestUtil;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
+import java.util.function.Consumer;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
-import org.mockito.Mockito;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
-import org.springframework.data.jpa.domain.Specification;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 @ExtendWith(MockitoExtension.class)
 public class BookServiceTest {
@@ -45,11 +77,37 @@ public class BookServiceTest {
     private BookMapper bookMapper;
 
     @Mock
-    private BookSpecificationBuilder bookSpecificationBuilder;
+    private BookInvertedIndex bookInvertedIndex;
+
+    @Mock
+    private BookFacetIndex bookFacetIndex;
+
+    @Mock
+    private BookIndex bookIndex;
+
+    @Spy
+    private List<BookIndex> bookIndexes = new ArrayList<>();
+
+    @Spy
+    private BookCache bookCache = new BookCache(1024 * 1024, Duration.ZERO);
+
+    @Spy
+    private KeysetCursorCodec keysetCursorCodec;
+
+    @Mock
+    private CategoryBookRepository categoryBookRepository;
+
+    @Spy
+    private CoPurchaseIndex coPurchaseIndex = new CoPurchaseIndex();
 
     @InjectMocks
     private BookServiceImpl bookService;
 
+    @BeforeEach
+    void setUp() {
+        bookIndexes.add(bookIndex);
+    }
+
     @Test
     @DisplayName("""
             Should save a book when save is called with valid request DTO
@@ -82,6 +140,7 @@ public class BookServiceTest {
         verify(categoryRepository).findAllById(requestDto.getCategoryIds());
         verify(bookRepository).save(book);
         verify(bookMapper).toDto(book);
+        verify(bookIndex).index(book);
     }
 
     @Test
@@ -94,16 +153,23 @@ public class BookServiceTest {
         Book book1 = TestUtil.createBookEffectiveJava();
         Book book2 = TestUtil.createBookCleanCode();
 
+        BookView view1 = TestUtil.createBookView(book1);
+        BookView view2 = TestUtil.createBookView(book2);
+
         Pageable pageable = PageRequest.of(0, 10);
-        List<Book> books = List.of(book1, book2);
-        Page<Book> bookPage = new PageImpl<>(books, pageable, books.size());
+        List<BookView> views = List.of(view1, view2);
+        Page<BookView> viewPage = new PageImpl<>(views, pageable, views.size());
 
         BookDto dto1 = TestUtil.createBookDtoEffectiveJava(book1);
         BookDto dto2 = TestUtil.createBookDtoCleanCode(book2);
 
-        when(bookRepository.findAll(pageable)).thenReturn(bookPage);
-        when(bookMapper.toDto(book1)).thenReturn(dto1);
-        when(bookMapper.toDto(book2)).thenReturn(dto2);
+        when(bookRepository.findAllViews(pageable)).thenReturn(viewPage);
+        when(bookRepository.findCategoryIdsByBookIds(List.of(book1.getId(), book2.getId())))
+                .thenReturn(List.of(new BookCategoryId(book1.getId(), 1L),
+                        new BookCategoryId(book1.getId(), 2L),
+                        new BookCategoryId(book2.getId(), 1L)));
+        when(bookMapper.toDto(view1)).thenReturn(dto1);
+        when(bookMapper.toDto(view2)).thenReturn(dto2);
 
         // When
         Page<BookDto> actualPage = bookService.findAll(pageable);
@@ -114,10 +180,12 @@ public class BookServiceTest {
         assertEquals(2, actualPage.getContent().size());
         assertEquals("Effective Java", actualPage.getContent().get(0).getTitle());
         assertEquals("Clean Code", actualPage.getContent().get(1).getTitle());
+        assertEquals(Set.of(1L, 2L), actualPage.getContent().get(0).getCategoryIds());
+        assertEquals(Set.of(1L), actualPage.getContent().get(1).getCategoryIds());
 
-        verify(bookRepository).findAll(pageable);
-        verify(bookMapper).toDto(book1);
-        verify(bookMapper).toDto(book2);
+        verify(bookRepository).findAllViews(pageable);
+        verify(bookMapper).toDto(view1);
+        verify(bookMapper).toDto(view2);
     }
 
     @Test
@@ -142,6 +210,71 @@ public class BookServiceTest {
         verify(bookMapper).toDto(book);
     }
 
+    @Test
+    @DisplayName("""
+            Should derive the ETag from the version of the cached book without a query
+            """)
+    void getETag_withCachedBook_returnsVersionETagWithoutQuery() {
+        // Given
+        Book book = TestUtil.createBookEffectiveJava();
+        BookDto dto = TestUtil.createBookDtoEffectiveJava(book);
+        dto.setVersion(3L);
+        when(bookRepository.findById(book.getId())).thenReturn(Optional.of(book));
+        when(bookMapper.toDto(book)).thenReturn(dto);
+        bookService.getById(book.getId());
+
+        // When
+        String etag = bookService.getETag(book.getId());
+
+        // Then
+        assertEquals("\"" + book.getId() + "-3\"", etag);
+        verify(bookRepository, never()).findVersionById(book.getId());
+    }
+
+    @Test
+    @DisplayName("""
+            Should read only the version of a book that is not cached to derive its ETag
+            """)
+    void getETag_withUncachedBook_readsVersionOnly() {
+        // Given
+        when(bookRepository.findVersionById(1L)).thenReturn(Optional.of(5L));
+
+        // When
+        String etag = bookService.getETag(1L);
+
+        // Then
+        assertEquals("\"1-5\"", etag);
+        verify(bookRepository, never()).findById(1L);
+    }
+
+    @Test
+    @DisplayName("""
+            Should serve repeated getById calls from the cache and reload the book
+            after it is deleted
+            """)
+    void getById_calledTwice_loadsBookOnceUntilEvicted() {
+        // Given
+        Long id = 1L;
+        Book book = TestUtil.createBookEffectiveJava();
+        BookDto expectedDto = TestUtil.createBookDtoEffectiveJava(book);
+
+        when(bookRepository.findById(id)).thenReturn(java.util.Optional.of(book));
+        when(bookMapper.toDto(book)).thenReturn(expectedDto);
+
+        // When
+        bookService.getById(id);
+        BookDto cachedDto = bookService.getById(id);
+        bookService.deleteById(id);
+        when(bookRepository.findById(id)).thenReturn(java.util.Optional.empty());
+
+        // Then
+        assertEquals(expectedDto, cachedDto);
+        assertThrows(EntityNotFoundException.class, () -> bookService.getById(id));
+        verify(bookRepository, times(2)).findById(id);
+        verify(bookCache).evict(id);
+        verify(bookIndex).remove(id);
+    }
+
     @Test
     @DisplayName("""
             Should update book when update is called with valid ID and request DTO
@@ -184,6 +317,27 @@ public class BookServiceTest {
         verify(categoryRepository).findAllById(requestDto.getCategoryIds());
         verify(bookRepository).save(existingBook);
         verify(bookMapper).toDto(existingBook);
+        verify(bookCache).evict(id);
+        verify(bookIndex).index(existingBook);
+    }
+
+    @Test
+    @DisplayName("Should update the search indexes only after the transaction commits")
+    void deleteById_insideTransaction_updatesIndexesAfterCommit() {
+        // Given
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            // When
+            bookService.deleteById(1L);
+
+            // Then
+            verify(bookIndex, never()).remove(1L);
+            TransactionSynchronizationManager.getSynchronizations()
+                    .forEach(TransactionSynchronization::afterCommit);
+            verify(bookIndex).remove(1L);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
     }
 
     @Test
@@ -193,11 +347,8 @@ public class BookServiceTest {
     void search_withValidParams_returnsListOfBookDto() {
         // Given
         Book book = TestUtil.createBookEffectiveJava();
+        BookView view = TestUtil.createBookView(book);
         BookDto dto = TestUtil.createBookDtoEffectiveJava(book);
-        List<Book> books = List.of(book);
-
-        @SuppressWarnings("unchecked")
-        Specification<Book> spec = Mockito.mock(Specification.class);
 
         BookSearchParameters params = new BookSearchParameters(
                 new String[]{"Joshua Bloch"},
@@ -205,12 +356,12 @@ public class BookServiceTest {
                 new String[]{"Addison-Wesley"},
                 new String[]{"Programming"},
                 new String[]{"cover.jpg"},
-                new String[]{"45.00"}
+                new String[]{"45.00"},
+                null, null, null
         );
 
-        when(bookSpecificationBuilder.build(params)).thenReturn(spec);
-        when(bookRepository.findAll(spec)).thenReturn(books);
-        when(bookMapper.toDto(book)).thenReturn(dto);
+        when(bookRepository.search(params)).thenReturn(List.of(view));
+        when(bookMapper.toDto(view)).thenReturn(dto);
 
         // When
         List<BookDto> result = bookService.search(params);
@@ -218,38 +369,253 @@ public class BookServiceTest {
         // Then
         assertEquals(1, result.size());
         assertEquals("Effective Java", result.get(0).getTitle());
-        verify(bookSpecificationBuilder).build(params);
-        verify(bookRepository).findAll(spec);
-        verify(bookMapper).toDto(book);
+        verify(bookRepository).search(params);
+        verify(bookRepository).findCategoryIdsByBookIds(List.of(book.getId()));
+        verify(bookMapper).toDto(view);
+    }
+
+    @Test
+    @DisplayName("""
+            Should return search results with category facets resolved to names
+            """)
+    void searchWithFacets_withValidParams_returnsBooksAndFacetCounts() {
+        // Given
+        Book book = TestUtil.createBookEffectiveJava();
+        BookView view = TestUtil.createBookView(book);
+        BookDto dto = TestUtil.createBookDtoEffectiveJava(book);
+        Category category = TestUtil.createProgrammingCategory();
+        BookSearchParameters params = new BookSearchParameters(
+                null, null, null, null, null, null, null, null, null);
+        List<FacetCountDto> authors = List.of(new FacetCountDto("Joshua Bloch", 1));
+        List<FacetCountDto> priceBands = List.of(new FacetCountDto("25-50", 1));
+
+        when(bookRepository.search(params)).thenReturn(List.of(view));
+        when(bookFacetIndex.count(List.of(book.getId()))).thenReturn(new BookFacetIndex.Counts(
+                Map.of(category.getId(), 1L), authors, priceBands));
+        when(categoryRepository.findAllById(Set.of(category.getId())))
+                .thenReturn(List.of(category));
+        when(bookMapper.toDto(view)).thenReturn(dto);
+
+        // When
+        BookFacetedSearchDto result = bookService.searchWithFacets(params);
+
+        // Then
+        assertEquals(List.of(dto), result.books());
+        assertEquals(List.of(new FacetCountDto("Programming", 1)),
+                result.facets().categories());
+        assertEquals(authors, result.facets().authors());
+        assertEquals(priceBands, result.facets().priceBands());
+    }
+
+    @Test
+    @DisplayName("""
+            Should pass every streamed search result to the consumer in order
+            """)
+    void searchStream_withValidParams_passesEachBookDtoToConsumer() {
+        // Given
+        Book book1 = TestUtil.createBookEffectiveJava();
+        Book book2 = TestUtil.createBookCleanCode();
+        BookView view1 = TestUtil.createBookView(book1);
+        BookView view2 = TestUtil.createBookView(book2);
+        BookDto dto1 = TestUtil.createBookDtoEffectiveJava(book1);
+        BookDto dto2 = TestUtil.createBookDtoCleanCode(book2);
+        BookSearchParameters params = new BookSearchParameters(
+                null, null, null, null, null, null, null, null, null);
+
+        doAnswer(invocation -> {
+            Consumer<List<BookView>> windows = invocation.getArgument(2);
+            windows.accept(List.of(view1, view2));
+            return null;
+        }).when(bookRepository).forEachWindow(eq(params), anyInt(), any());
+        when(bookRepository.findCategoryIdsByBookIds(List.of(book1.getId(), book2.getId())))
+                .thenReturn(List.of(new BookCategoryId(book2.getId(), 1L)));
+        when(bookMapper.toDto(view1)).thenReturn(dto1);
+        when(bookMapper.toDto(view2)).thenReturn(dto2);
+        List<BookDto> received = new ArrayList<>();
+
+        // When
+        bookService.searchStream(params, received::add);
+
+        // Then
+        assertEquals(List.of(dto1, dto2), received);
+        assertEquals(Set.of(1L), received.get(1).getCategoryIds());
+        verify(bookRepository, times(1)).findCategoryIdsByBookIds(any());
+    }
+
+    @Test
+    @DisplayName("Should scroll book views and look up their categories in one query")
+    void scroll_withMoreBooks_returnsViewsAndNextCursor() {
+        // Given
+        Book first = TestUtil.createBookEffectiveJava();
+        Book second = TestUtil.createBookCleanCode();
+        BookView firstView = TestUtil.createBookView(first);
+        BookDto dto = TestUtil.createBookDtoEffectiveJava(first);
+        BookSearchParameters params = new BookSearchParameters(
+                null, null, null, null, null, null, null, null, null);
+        ScrollRequestDto scrollRequest = new ScrollRequestDto(null, "id", null, 1);
+
+        when(bookRepository.scroll(eq(params), any(), eq(Map.of()), eq(2)))
+                .thenReturn(List.of(firstView, TestUtil.createBookView(second)));
+        when(bookRepository.findCategoryIdsByBookIds(List.of(first.getId())))
+                .thenReturn(List.of(new BookCategoryId(first.getId(), 1L)));
+        when(bookMapper.toDto(firstView)).thenReturn(dto);
+
+        // When
+        CursorPageDto<BookDto> result = bookService.scroll(params, scrollRequest);
+
+        // Then
+        assertEquals(List.of(dto), result.content());
+        assertEquals(Set.of(1L), result.content().get(0).getCategoryIds());
+        assertTrue(result.hasNext());
+        assertNotNull(result.nextCursor());
     }
 
     @Test
     @DisplayName("""
-             Should return list of BookDtoWithoutCategoryIds\s
+            Should return books in index relevance order when searchRanked is called
+            """)
+    void searchRanked_withMatchingQuery_returnsBooksInRelevanceOrder() {
+        // Given
+        Book book1 = TestUtil.createBookEffectiveJava();
+        Book book2 = TestUtil.createBookCleanCode();
+        BookDto dto1 = TestUtil.createBookDtoEffectiveJava(book1);
+        BookDto dto2 = TestUtil.createBookDtoCleanCode(book2);
+        Pageable pageable = PageRequest.of(0, 10);
+        List<Long> rankedIds = List.of(book2.getId(), book1.getId());
+
+        when(bookInvertedIndex.search("code java", pageable))
+                .thenReturn(new PageImpl<>(rankedIds, pageable, 2));
+        BookView view1 = TestUtil.createBookView(book1);
+        BookView view2 = TestUtil.createBookView(book2);
+        when(bookRepository.findAllViewsById(rankedIds)).thenReturn(List.of(view1, view2));
+        when(bookMapper.toDto(view1)).thenReturn(dto1);
+        when(bookMapper.toDto(view2)).thenReturn(dto2);
+
+        // When
+        Page<BookDto> result = bookService.searchRanked("code java", pageable);
+
+        // Then
+        assertEquals(2, result.getTotalElements());
+        assertEquals("Clean Code", result.getContent().get(0).getTitle());
+        assertEquals("Effective Java", result.getContent().get(1).getTitle());
+        verify(bookInvertedIndex).search("code java", pageable);
+        verify(bookRepository).findAllViewsById(rankedIds);
+    }
+
+    @Test
+    @DisplayName("""
+             Should return a page of BookDtoWithoutCategoryIds\s
              when findAllByCategoryId is called with valid ID
             \s""")
-    void findAllByCategoryId_withValidId_returnsListOfBookDtoWithoutCategoryIds() {
+    void findAllByCategoryId_withValidId_returnsPageOfBookDtoWithoutCategoryIds() {
         // Given
         Long categoryId = 1L;
-        Category category = TestUtil.createProgrammingCategory();
         Book book = TestUtil.createBookEffectiveJava();
+        BookView view = TestUtil.createBookView(book);
         BookDtoWithoutCategoryIds dto = TestUtil.createBookDtoWithoutCategories(book);
+        ScrollRequestDto scrollRequest = new ScrollRequestDto(null, null, null, null);
 
-        when(categoryRepository.findById(categoryId))
-                .thenReturn(java.util.Optional.of(category));
-        when(bookRepository.findAllByCategories_Id(categoryId))
-                .thenReturn(List.of(book));
-        when(bookMapper.toDtoWithoutCategories(book))
+        when(categoryBookRepository.findPage(eq(categoryId), any(), eq(Map.of()), eq(21)))
+                .thenReturn(Optional.of(List.of(view)));
+        when(bookMapper.toDtoWithoutCategories(view))
                 .thenReturn(dto);
 
         // When
-        List<BookDtoWithoutCategoryIds> result = bookService.findAllByCategoryId(categoryId);
+        CursorPageDto<BookDtoWithoutCategoryIds> result =
+                bookService.findAllByCategoryId(categoryId, scrollRequest);
 
         // Then
-        assertEquals(1, result.size());
-        assertEquals("Effective Java", result.get(0).getTitle());
-        verify(categoryRepository).findById(categoryId);
-        verify(bookRepository).findAllByCategories_Id(categoryId);
-        verify(bookMapper).toDtoWithoutCategories(book);
+        assertEquals(1, result.content().size());
+        assertEquals("Effective Java", result.content().get(0).getTitle());
+        assertFalse(result.hasNext());
+        assertNull(result.nextCursor());
+        verify(bookMapper).toDtoWithoutCategories(view);
+    }
+
+    @Test
+    @DisplayName("Should return a cursor when the category has more books than the page size")
+    void findAllByCategoryId_withMoreBooks_returnsNextCursor() {
+        // Given
+        Long categoryId = 1L;
+        Book first = TestUtil.createBookEffectiveJava();
+        Book second = TestUtil.createBookEffectiveJava();
+        second.setId(first.getId() + 1);
+        ScrollRequestDto scrollRequest = new ScrollRequestDto(null, "id", null, 1);
+
+        when(categoryBookRepository.findPage(eq(categoryId), any(), eq(Map.of()), eq(2)))
+                .thenReturn(Optional.of(List.of(
+                        TestUtil.createBookView(first), TestUtil.createBookView(second))));
+
+        // When
+        CursorPageDto<BookDtoWithoutCategoryIds> result =
+                bookService.findAllByCategoryId(categoryId, scrollRequest);
+
+        // Then
+        assertEquals(1, result.content().size());
+        assertTrue(result.hasNext());
+        assertNotNull(result.nextCursor());
+    }
+
+    @Test
+    @DisplayName("Should throw EntityNotFoundException when the category does not exist")
+    void findAllByCategoryId_withMissingCategory_throwsEntityNotFoundException() {
+        // Given
+        Long categoryId = 99L;
+        ScrollRequestDto scrollRequest = new ScrollRequestDto(null, null, null, null);
+        when(categoryBookRepository.findPage(eq(categoryId), any(), eq(Map.of()), anyInt()))
+                .thenReturn(Optional.empty());
+
+        // When & Then
+        assertThrows(EntityNotFoundException.class,
+                () -> bookService.findAllByCategoryId(categoryId, scrollRequest));
+    }
+
+    @Test
+    @DisplayName("Should keep the page ETag when only the book after the page changes")
+    void getCategoryPageETag_withChangedLookaheadRow_returnsSameETag() {
+        // Given
+        Long categoryId = 1L;
+        ScrollRequestDto scrollRequest = new ScrollRequestDto(null, "id", null, 1);
+        when(categoryBookRepository.findVersions(eq(categoryId), any(), eq(Map.of()), eq(2)))
+                .thenReturn(Optional.of(List.of(
+                        new EntityVersion(1L, 0L), new EntityVersion(2L, 0L))),
+                        Optional.of(List.of(
+                        new EntityVersion(1L, 0L), new EntityVersion(2L, 1L))),
+                        Optional.of(List.of(new EntityVersion(1L, 1L))));
+
+        // When
+        String before = bookService.getCategoryPageETag(categoryId, scrollRequest);
+        String afterLookaheadChange = bookService.getCategoryPageETag(categoryId, scrollRequest);
+        String afterPageChange = bookService.getCategoryPageETag(categoryId, scrollRequest);
+
+        // Then
+        assertEquals(before, afterLookaheadChange);
+        assertNotEquals(before, afterPageChange);
+        verify(categoryBookRepository, never()).findPage(any(), any(), any(), anyInt());
+    }
+
+    @Test
+    @DisplayName("Should return books bought together with the given book, skipping deleted ones")
+    void findRelated_withCoPurchases_returnsRelatedBooksInOrder() {
+        // Given
+        Book book = TestUtil.createBookEffectiveJava();
+        Book related = TestUtil.createBookCleanCode();
+        BookDto bookDto = TestUtil.createBookDtoEffectiveJava(book);
+        BookDto relatedDto = TestUtil.createBookDtoCleanCode(related);
+        coPurchaseIndex.record(1L, Set.of(), Set.of(book.getId(), related.getId(), 99L));
+        coPurchaseIndex.record(2L, Set.of(), Set.of(book.getId(), related.getId()));
+
+        when(bookRepository.findById(book.getId())).thenReturn(Optional.of(book));
+        when(bookRepository.findAllByIdWithCategories(Set.of(related.getId(), 99L)))
+                .thenReturn(List.of(related));
+        when(bookMapper.toDto(book)).thenReturn(bookDto);
+        when(bookMapper.toDto(related)).thenReturn(relatedDto);
+
+        // When
+        List<BookDto> result = bookService.findRelated(book.getId(), 10);
+
+        // Then
+        assertEquals(List.of(relatedDto), result);
+        verify(bookRepository, never()).findById(related.getId());
     }
 }
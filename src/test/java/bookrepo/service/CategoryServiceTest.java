@@ -7,6 +7,7 @@ import static bookrepo.util.TestUtil.createProgrammingCategory;
 import static bookrepo.util.TestUtil.createProgrammingCategoryDto;
 import static bookrepo.util.TestUtil.createUpdatedCategoryDto;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -15,6 +16,7 @@ import bookrepo.dto.category.CategoryDto;
 import bookrepo.exception.EntityNotFoundException;
 import bookrepo.mapper.CategoryMapper;
 import bookrepo.model.Category;
+import bookrepo.repository.EntityVersion;
 import bookrepo.repository.category.CategoryRepository;
 import bookrepo.service.impl.CategoryServiceImpl;
 import java.util.List;
@@ -77,6 +79,30 @@ public class CategoryServiceTest {
         verify(categoryMapper).toDto(category2);
     }
 
+    @Test
+    @DisplayName("Should change the page ETag only when a category on the page changes")
+    void getPageETag_withChangedVersion_returnsDifferentETag() {
+        // Given
+        Pageable pageable = PageRequest.of(0, 10);
+        Page<EntityVersion> original = new PageImpl<>(List.of(
+                new EntityVersion(EXISTING_CATEGORY_ID, 0L),
+                new EntityVersion(ANOTHER_CATEGORY_ID, 0L)), pageable, 2);
+        Page<EntityVersion> updated = new PageImpl<>(List.of(
+                new EntityVersion(EXISTING_CATEGORY_ID, 1L),
+                new EntityVersion(ANOTHER_CATEGORY_ID, 0L)), pageable, 2);
+        when(categoryRepository.findAllVersions(pageable))
+                .thenReturn(original, original, updated);
+
+        // When
+        String first = categoryService.getPageETag(pageable);
+        String repeated = categoryService.getPageETag(pageable);
+        String afterUpdate = categoryService.getPageETag(pageable);
+
+        // Then
+        assertEquals(first, repeated);
+        assertNotEquals(first, afterUpdate);
+    }
+
     @Test
     @DisplayName("Should return CategoryDto when getById is called with existing ID")
     void getById_withValidId_returnsCategoryDto() {
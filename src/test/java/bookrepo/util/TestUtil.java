@@ -2,6 +2,7 @@ package bookrepo.util;
 
 import bookrepo.dto.book.BookDto;
 import bookrepo.dto.book.BookDtoWithoutCategoryIds;
+import bookrepo.dto.book.BookView;
 import bookrepo.dto.book.CreateBookRequestDto;
 import bookrepo.dto.category.CategoryDto;
 import bookrepo.model.Book;
@@ -101,6 +102,11 @@ public class TestUtil {
         return dto;
     }
 
+    public static BookView createBookView(Book book) {
+        return new BookView(book.getId(), book.getTitle(), book.getAuthor(), book.getIsbn(),
+                book.getPrice(), book.getDescription(), book.getCoverImage());
+    }
+
     public static BookDtoWithoutCategoryIds createBookDtoWithoutCategories(Book book) {
         BookDtoWithoutCategoryIds dto = new BookDtoWithoutCategoryIds();
         dto.setId(book.getId());
@@ -0,0 +1,9 @@
+insert into books (id, title, author, isbn, price, description, cover_image, is_deleted)
+with recursive seq (n) as (select 1 union all select n + 1 from seq where n < 100)
+select n, concat('Book ', n), concat('Author ', n), concat('ISBN-', n), 10.00 + n,
+       concat('Description ', n), null, false
+from seq;
+insert into books_categories (book_id, category_id)
+select id, 1 from books;
+insert into books_categories (book_id, category_id)
+select id, 2 from books where id % 2 = 0;
@@ -0,0 +1,8 @@
+insert into books (id, title, author, isbn, price, description, is_deleted) values
+(3, 'Removed Book', 'Author 3', 'ISBN-3', 15.00, 'Soft deleted book', true);
+insert into catalog_changes (entity_type, entity_id, version, deleted) values
+('BOOK', 1, 4, false),
+('BOOK', 2, 5, true),
+('BOOK', 3, 6, false),
+('BOOK', 4, 2, false),
+('CATEGORY', 1, 5, false);
@@ -0,0 +1 @@
+delete from catalog_changes;